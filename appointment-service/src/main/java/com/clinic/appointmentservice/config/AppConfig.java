@@ -1,16 +1,17 @@
 package com.clinic.appointmentservice.config;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.cloud.client.loadbalancer.LoadBalanced;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
 
-    @Bean
-    @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    // Downstream lookups block on I/O, so each one gets its own virtual thread
+    @Bean(destroyMethod = "close")
+    public ExecutorService lookupExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
     }
 }
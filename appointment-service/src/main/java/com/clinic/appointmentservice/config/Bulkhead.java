@@ -0,0 +1,73 @@
+package com.clinic.appointmentservice.config;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.clinic.appointmentservice.exception.BulkheadFullException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caps the calls in flight to one downstream service, so a slow or hung
+ * service can only tie up that many request threads. Calls beyond the cap
+ * wait up to max-wait for a permit and are then rejected.
+ */
+public class Bulkhead implements ClientHttpRequestInterceptor {
+
+    private final String downstream;
+    private final int maxConcurrentCalls;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public Bulkhead(String downstream, int maxConcurrentCalls, Duration maxWait, MeterRegistry registry) {
+        this.downstream = downstream;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrentCalls);
+
+        Gauge.builder("clinic.http.bulkhead.active", this, Bulkhead::activeCalls)
+                .tag("downstream", downstream)
+                .register(registry);
+        Gauge.builder("clinic.http.bulkhead.max", this, bulkhead -> bulkhead.maxConcurrentCalls)
+                .tag("downstream", downstream)
+                .register(registry);
+        this.rejected = Counter.builder("clinic.http.bulkhead.rejected")
+                .tag("downstream", downstream)
+                .register(registry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new BulkheadFullException(
+                        downstream + " has " + maxConcurrentCalls + " calls in flight already");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the " + downstream + " bulkhead");
+        }
+        try {
+            return execution.execute(request, body);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int activeCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+}
@@ -0,0 +1,52 @@
+package com.clinic.appointmentservice.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * HTTP client settings per downstream service, keyed by patient, doctor,
+ * billing and notification under clinic.http. Unset values fall back to
+ * the defaults below.
+ */
+@ConfigurationProperties("clinic.http")
+public class DownstreamProperties {
+
+    private Map<String, Client> clients = new HashMap<>();
+
+    public Map<String, Client> getClients() { return clients; }
+    public void setClients(Map<String, Client> clients) { this.clients = clients; }
+
+    public Client get(String downstream) {
+        return clients.getOrDefault(downstream, new Client());
+    }
+
+    public static class Client {
+
+        // Pooled keep-alive connections to all instances of the service
+        private int maxConnections = 50;
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        // How long a call may wait for a free pooled connection
+        private Duration poolTimeout = Duration.ofSeconds(1);
+        // Bulkhead: calls in flight at once, and how long an extra call waits for a permit
+        private int maxConcurrentCalls = 100;
+        private Duration maxWait = Duration.ZERO;
+
+        public int getMaxConnections() { return maxConnections; }
+        public Duration getConnectTimeout() { return connectTimeout; }
+        public Duration getReadTimeout() { return readTimeout; }
+        public Duration getPoolTimeout() { return poolTimeout; }
+        public int getMaxConcurrentCalls() { return maxConcurrentCalls; }
+        public Duration getMaxWait() { return maxWait; }
+
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+        public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+        public void setReadTimeout(Duration readTimeout) { this.readTimeout = readTimeout; }
+        public void setPoolTimeout(Duration poolTimeout) { this.poolTimeout = poolTimeout; }
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) { this.maxConcurrentCalls = maxConcurrentCalls; }
+        public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+    }
+}
@@ -0,0 +1,82 @@
+package com.clinic.appointmentservice.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * One load-balanced RestTemplate per downstream service, each with its own
+ * keep-alive connection pool, timeouts and bulkhead, so trouble in one
+ * service cannot exhaust the connections or threads used for the others.
+ */
+@Configuration
+@EnableConfigurationProperties(DownstreamProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    @LoadBalanced
+    public RestTemplate patientRestTemplate(DownstreamProperties properties, MeterRegistry registry) {
+        return restTemplate("patient", properties.get("patient"), registry);
+    }
+
+    @Bean
+    @LoadBalanced
+    public RestTemplate doctorRestTemplate(DownstreamProperties properties, MeterRegistry registry) {
+        return restTemplate("doctor", properties.get("doctor"), registry);
+    }
+
+    @Bean
+    @LoadBalanced
+    public RestTemplate billingRestTemplate(DownstreamProperties properties, MeterRegistry registry) {
+        return restTemplate("billing", properties.get("billing"), registry);
+    }
+
+    @Bean
+    @LoadBalanced
+    public RestTemplate notificationRestTemplate(DownstreamProperties properties, MeterRegistry registry) {
+        return restTemplate("notification", properties.get("notification"), registry);
+    }
+
+    private static RestTemplate restTemplate(String downstream, DownstreamProperties.Client client,
+                                             MeterRegistry registry) {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(client.getMaxConnections())
+                .setMaxConnPerRoute(client.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(client.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(client.getReadTimeout()))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(pool, downstream).bindTo(registry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(client.getPoolTimeout()))
+                        .setResponseTimeout(Timeout.of(client.getReadTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.of(30, TimeUnit.SECONDS))
+                .build();
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(new Bulkhead(downstream, client.getMaxConcurrentCalls(),
+                client.getMaxWait(), registry));
+        return restTemplate;
+    }
+}
@@ -0,0 +1,34 @@
+package com.clinic.appointmentservice.config;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens the replica to the request thread while a {@link ReplicaRead}
+ * handler runs and closes it again when the handler completes or hands
+ * the response to another thread.
+ */
+class ReplicaReadInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingDataSource.replicaReads(
+                handler instanceof HandlerMethod method && method.hasMethodAnnotation(ReplicaRead.class));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReplicaRoutingDataSource.replicaReads(false);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRoutingDataSource.replicaReads(false);
+    }
+}
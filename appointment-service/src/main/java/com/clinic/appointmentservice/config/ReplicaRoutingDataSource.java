@@ -0,0 +1,161 @@
+package com.clinic.appointmentservice.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections to read-only transactions that opted in,
+ * either through a {@link ReplicaRead} handler or
+ * {@link #readFromReplica}, and primary connections to everything else.
+ * Read-only transactions that did not opt in, such as Spring Data's own
+ * findById and existsById inside a write path, stay on the primary so a
+ * write never acts on a row the replica has not caught up with.
+ *
+ * <p>A background check reads the replica's lag every check-interval;
+ * while that lag is above max-lag or cannot be read, or the replica
+ * refuses a connection, read-only work goes to the primary too. It must
+ * sit behind a LazyConnectionDataSourceProxy so the connection is picked
+ * after the transaction's read-only flag is set.
+ *
+ * <p>doctor-service and patient-service each own a copy of the routing
+ * classes, since the services share no library module. The routing
+ * itself is tested here; their tests only check which of their
+ * endpoints read from the replica.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    enum Target { PRIMARY, REPLICA }
+
+    // Set while work that may read from the replica runs on this thread
+    private static final ThreadLocal<Boolean> replicaReads = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final ScheduledExecutorService lagChecker;
+    private volatile boolean replicaUsable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag,
+                                    Duration checkInterval, String lagQuery, String lagColumn) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        checkLag();
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = checkInterval.toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs work with its read-only transactions allowed onto the replica.
+     * For reads that leave the request thread, such as streamed exports.
+     */
+    public static <T> T readFromReplica(Supplier<T> work) {
+        Boolean outer = replicaReads.get();
+        replicaReads.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            replicaReads(outer != null);
+        }
+    }
+
+    public static void readFromReplica(Runnable work) {
+        readFromReplica(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    static void replicaReads(boolean allowed) {
+        if (allowed) {
+            replicaReads.set(Boolean.TRUE);
+        } else {
+            replicaReads.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaReads.get() != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaUsable ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (target != replica) {
+                throw e;
+            }
+            // Serve this read from the primary; the next lag check decides when to go back
+            replicaUsable(false, "unreachable: " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    void checkLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            // No row or a null lag means replication is not running
+            long lag = rs.next() ? rs.getLong(lagColumn) : -1;
+            if (lag < 0 || rs.wasNull()) {
+                replicaUsable(false, "replication lag unknown");
+            } else if (lag > maxLagSeconds) {
+                replicaUsable(false, "lagging " + lag + "s");
+            } else {
+                replicaUsable(true, "lagging " + lag + "s");
+            }
+        } catch (SQLException | RuntimeException e) {
+            replicaUsable(false, "lag check failed: " + e.getMessage());
+        }
+    }
+
+    private void replicaUsable(boolean usable, String reason) {
+        if (replicaUsable != usable) {
+            log.warn("Read replica {} ({})", usable ? "in use" : "bypassed", reason);
+        }
+        replicaUsable = usable;
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+    }
+}
@@ -1,39 +1,111 @@
 package com.clinic.appointmentservice.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.clinic.appointmentservice.config.ReplicaRead;
+import com.clinic.appointmentservice.config.ReplicaRoutingDataSource;
 import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.model.AppointmentQuery;
+import com.clinic.appointmentservice.model.AppointmentSummary;
+import com.clinic.appointmentservice.model.BatchBookingResult;
+import com.clinic.appointmentservice.model.SparseFields;
 import com.clinic.appointmentservice.repository.AppointmentRepository;
 import com.clinic.appointmentservice.service.AppointmentService;
+import com.clinic.appointmentservice.service.BatchBookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 @RestController
 @RequestMapping("/appointments")
 public class AppointmentController {
 
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String NEXT_AFTER_ID = "X-Next-After-Id";
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final AppointmentService service;
+    private final BatchBookingService batchService;
     private final AppointmentRepository repo;
+    private final ObjectMapper objectMapper;
 
     public AppointmentController(AppointmentService service,
-                                 AppointmentRepository repo) {
+                                 BatchBookingService batchService,
+                                 AppointmentRepository repo,
+                                 ObjectMapper objectMapper) {
         this.service = service;
+        this.batchService = batchService;
         this.repo = repo;
+        this.objectMapper = objectMapper;
     }
 
     // CREATE
     @PostMapping
-    public Appointment book(@RequestBody Appointment appointment) {
-        return service.bookAppointment(appointment);
+    public Appointment book(@RequestBody Appointment appointment,
+                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return service.bookAppointment(appointment, idempotencyKey);
+    }
+
+    // CREATE MANY (schedule imports)
+    @PostMapping("/batch")
+    public BatchBookingResult bookAll(@RequestBody List<Appointment> appointments) {
+        return batchService.bookAll(appointments);
     }
 
-    // READ ALL
+    // READ ALL (one keyset page; the cursor for the next page comes back in X-Next-After-Id).
+    // fields=id,startTime selects and writes only those columns.
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @GetMapping
-    public List<Appointment> getAll() {
-        return repo.findAll();
+    public ResponseEntity<MappingJacksonValue> getAll(AppointmentQuery query,
+                                                      @RequestParam(required = false) String fields) {
+        Set<String> selected = SparseFields.parse(fields, AppointmentSummary.FIELDS);
+        List<AppointmentSummary> page = repo.findPage(query, selected);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == query.effectiveLimit()) {
+            response.header(NEXT_AFTER_ID, String.valueOf(page.get(page.size() - 1).id()));
+        }
+        return response.body(SparseFields.filter(page, selected));
+    }
+
+    // READ ALL as NDJSON, streamed row by row from a JDBC cursor (exports)
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> export(AppointmentQuery query) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                ReplicaRoutingDataSource.readFromReplica(() -> repo.stream(query, appointment -> {
+                    try {
+                        writer.write(appointment);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+        };
+        return ResponseEntity.ok().header("Content-Type", NDJSON).body(body);
+    }
+
+    // COUNT
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    @GetMapping("/count")
+    public long count(AppointmentQuery query) {
+        return repo.count(query);
     }
 
     // READ ONE
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public Appointment getOne(@PathVariable Long id) {
         return repo.findById(id)
@@ -43,6 +115,6 @@ public class AppointmentController {
     // DELETE
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
-        repo.deleteById(id);
+        service.cancelAppointment(id);
     }
 }
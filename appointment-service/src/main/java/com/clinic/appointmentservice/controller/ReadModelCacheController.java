@@ -0,0 +1,29 @@
+package com.clinic.appointmentservice.controller;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.clinic.appointmentservice.service.ReadModelCache;
+
+// Change events from patient-service and doctor-service land here
+@RestController
+@RequestMapping("/cache")
+public class ReadModelCacheController {
+
+    private final ReadModelCache readModel;
+
+    public ReadModelCacheController(ReadModelCache readModel) {
+        this.readModel = readModel;
+    }
+
+    // EVICT PATIENT
+    @DeleteMapping("/patients/{id}")
+    public void evictPatient(@PathVariable Long id) {
+        readModel.evictPatient(id);
+    }
+
+    // EVICT DOCTOR
+    @DeleteMapping("/doctors/{id}")
+    public void evictDoctor(@PathVariable Long id) {
+        readModel.evictDoctor(id);
+    }
+}
@@ -2,11 +2,21 @@ package com.clinic.appointmentservice.entity;
 
 import jakarta.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Entity
-@Table(name = "appointment")
+@Table(name = "appointment",
+       uniqueConstraints = @UniqueConstraint(name = Appointment.UNIQUE_SLOT,
+               columnNames = {"doctorId", "appointmentDate", "startTime"}),
+       indexes = {
+               @Index(name = "idx_appointment_doctor_id", columnList = "doctorId, id"),
+               @Index(name = "idx_appointment_patient_id", columnList = "patientId, id"),
+               @Index(name = "idx_appointment_date_id", columnList = "appointmentDate, id")
+       })
 public class Appointment {
 
+    public static final String UNIQUE_SLOT = "uk_appointment_doctor_slot";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -14,6 +24,7 @@ public class Appointment {
     private Long doctorId;
     private Long patientId;
     private LocalDate appointmentDate;
+    private LocalTime startTime;
 
     public Appointment() {}
 
@@ -21,6 +32,7 @@ public class Appointment {
     public Long getDoctorId() { return doctorId; }
     public Long getPatientId() { return patientId; }
     public LocalDate getAppointmentDate() { return appointmentDate; }
+    public LocalTime getStartTime() { return startTime; }
 
     public void setId(Long id) { this.id = id; }
     public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
@@ -28,4 +40,5 @@ public class Appointment {
     public void setAppointmentDate(LocalDate appointmentDate) {
         this.appointmentDate = appointmentDate;
     }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
 }
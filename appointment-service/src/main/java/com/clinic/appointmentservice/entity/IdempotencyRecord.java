@@ -0,0 +1,86 @@
+package com.clinic.appointmentservice.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The booking an Idempotency-Key produced, written in the same transaction
+ * as the appointment so a retry can be answered without booking again.
+ * The appointment fields are copied so the original response can be
+ * replayed even after the appointment is cancelled.
+ */
+@Entity
+@Table(name = IdempotencyRecord.TABLE,
+       indexes = @Index(name = "idx_idempotency_created", columnList = "createdAt"))
+public class IdempotencyRecord implements Persistable<String> {
+
+    public static final String TABLE = "idempotency_record";
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @Column(length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    private Long appointmentId;
+    private Long doctorId;
+    private Long patientId;
+    private LocalDate appointmentDate;
+    private LocalTime startTime;
+    private Instant createdAt;
+
+    // Always inserted, never merged: a second booking under the same key must hit the primary key
+    @Transient
+    private boolean isNew = true;
+
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String idempotencyKey, Appointment appointment) {
+        this.idempotencyKey = idempotencyKey;
+        this.appointmentId = appointment.getId();
+        this.doctorId = appointment.getDoctorId();
+        this.patientId = appointment.getPatientId();
+        this.appointmentDate = appointment.getAppointmentDate();
+        this.startTime = appointment.getStartTime();
+        this.createdAt = Instant.now();
+    }
+
+    public Appointment toAppointment() {
+        Appointment appointment = new Appointment();
+        appointment.setId(appointmentId);
+        appointment.setDoctorId(doctorId);
+        appointment.setPatientId(patientId);
+        appointment.setAppointmentDate(appointmentDate);
+        appointment.setStartTime(startTime);
+        return appointment;
+    }
+
+    @Override
+    public String getId() { return idempotencyKey; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public Long getAppointmentId() { return appointmentId; }
+    public Long getDoctorId() { return doctorId; }
+    public Long getPatientId() { return patientId; }
+    public LocalDate getAppointmentDate() { return appointmentDate; }
+    public LocalTime getStartTime() { return startTime; }
+    public Instant getCreatedAt() { return createdAt; }
+
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+    public void setPatientId(Long patientId) { this.patientId = patientId; }
+    public void setAppointmentDate(LocalDate appointmentDate) { this.appointmentDate = appointmentDate; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
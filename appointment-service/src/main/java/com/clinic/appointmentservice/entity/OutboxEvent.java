@@ -0,0 +1,57 @@
+package com.clinic.appointmentservice.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Downstream work (billing, notification) recorded in the same transaction
+ * as the appointment and relayed asynchronously by OutboxRelay.
+ */
+@Entity
+@Table(name = "outbox_event",
+       indexes = @Index(name = "idx_outbox_due", columnList = "nextAttemptAt, id"))
+public class OutboxEvent {
+
+    public enum Type { BILL, NOTIFICATION }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    private int attempts;
+    private Instant createdAt;
+    private Instant nextAttemptAt;
+    private String lastError;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(Type type, String payload) {
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public Long getId() { return id; }
+    public Type getType() { return type; }
+    public String getPayload() { return payload; }
+    public int getAttempts() { return attempts; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public String getLastError() { return lastError; }
+
+    public void setId(Long id) { this.id = id; }
+    public void setType(Type type) { this.type = type; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
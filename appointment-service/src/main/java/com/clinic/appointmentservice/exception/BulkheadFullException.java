@@ -0,0 +1,15 @@
+package com.clinic.appointmentservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Too many calls to one downstream service are already in flight.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.clinic.appointmentservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The appointment request is missing data or does not fit the slot grid.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidAppointmentException extends RuntimeException {
+
+    public InvalidAppointmentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.clinic.appointmentservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A fields= parameter naming a property the list does not have.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
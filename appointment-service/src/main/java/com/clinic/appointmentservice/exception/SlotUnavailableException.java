@@ -0,0 +1,15 @@
+package com.clinic.appointmentservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The requested doctor slot is already booked.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SlotUnavailableException extends RuntimeException {
+
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+}
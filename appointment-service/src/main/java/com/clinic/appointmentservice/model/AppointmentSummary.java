@@ -0,0 +1,18 @@
+package com.clinic.appointmentservice.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * An appointment as listed. With fields= only the requested columns are
+ * selected; the others stay null and are left out of the JSON.
+ */
+@JsonFilter(SparseFields.FILTER)
+public record AppointmentSummary(Long id, Long doctorId, Long patientId,
+                                 LocalDate appointmentDate, LocalTime startTime) {
+
+    public static final Set<String> FIELDS = SparseFields.of(AppointmentSummary.class);
+}
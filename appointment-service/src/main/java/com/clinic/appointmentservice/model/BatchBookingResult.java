@@ -0,0 +1,28 @@
+package com.clinic.appointmentservice.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.clinic.appointmentservice.entity.Appointment;
+
+public class BatchBookingResult {
+
+    private List<Appointment> booked = new ArrayList<>();
+    private List<RejectedAppointment> rejected = new ArrayList<>();
+
+    public List<Appointment> getBooked() {
+        return booked;
+    }
+
+    public void setBooked(List<Appointment> booked) {
+        this.booked = booked;
+    }
+
+    public List<RejectedAppointment> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<RejectedAppointment> rejected) {
+        this.rejected = rejected;
+    }
+}
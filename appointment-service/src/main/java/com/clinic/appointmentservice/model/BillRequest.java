@@ -0,0 +1,45 @@
+package com.clinic.appointmentservice.model;
+
+public class BillRequest {
+
+    private Long appointmentId;
+    private Long patientId;
+    // Lets billing-service price the visit from its tariffs
+    private String specialization;
+
+    public BillRequest() {}
+
+    public BillRequest(Long appointmentId, Long patientId) {
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+    }
+
+    public BillRequest(Long appointmentId, Long patientId, String specialization) {
+        this(appointmentId, patientId);
+        this.specialization = specialization;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+}
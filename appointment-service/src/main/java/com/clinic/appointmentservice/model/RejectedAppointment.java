@@ -0,0 +1,30 @@
+package com.clinic.appointmentservice.model;
+
+public class RejectedAppointment {
+
+    private int index;
+    private String reason;
+
+    public RejectedAppointment() {}
+
+    public RejectedAppointment(int index, String reason) {
+        this.index = index;
+        this.reason = reason;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -1,7 +1,23 @@
 package com.clinic.appointmentservice.repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.clinic.appointmentservice.entity.Appointment;
 
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>,
+        AppointmentRepositoryCustom {
+
+    interface BookedSlot {
+        Long getDoctorId();
+        LocalDate getAppointmentDate();
+        LocalTime getStartTime();
+    }
+
+    @Query("select a.doctorId as doctorId, a.appointmentDate as appointmentDate, a.startTime as startTime "
+            + "from Appointment a where a.appointmentDate >= :from and a.startTime is not null")
+    List<BookedSlot> findBookedSlotsFrom(LocalDate from);
 }
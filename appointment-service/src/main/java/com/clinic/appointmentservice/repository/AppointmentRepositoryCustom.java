@@ -0,0 +1,37 @@
+package com.clinic.appointmentservice.repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.model.AppointmentQuery;
+import com.clinic.appointmentservice.model.AppointmentSummary;
+
+public interface AppointmentRepositoryCustom {
+
+    /**
+     * Inserts all appointments as one JDBC batch and assigns their generated ids.
+     */
+    List<Appointment> insertAll(List<Appointment> appointments);
+
+    /**
+     * One keyset page: rows matching the filters with id > afterId, in id order.
+     * Only the id and the given fields are selected; null selects every column.
+     */
+    List<AppointmentSummary> findPage(AppointmentQuery query, Set<String> fields);
+
+    long count(AppointmentQuery query);
+
+    /**
+     * Walks every matching row through a forward-only JDBC cursor, handing
+     * each one to the consumer without holding the result set in memory.
+     * Opens its own read-only transaction, because exports stream after the
+     * controller method has returned; it reads from the replica when run
+     * inside ReplicaRoutingDataSource.readFromReplica.
+     */
+    @Transactional(readOnly = true)
+    void stream(AppointmentQuery query, Consumer<Appointment> consumer);
+}
@@ -0,0 +1,168 @@
+package com.clinic.appointmentservice.repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.model.AppointmentQuery;
+import com.clinic.appointmentservice.model.AppointmentSummary;
+
+/**
+ * JDBC paths that JPA handles poorly: batched inserts (Hibernate cannot
+ * batch IDENTITY inserts) and cursor-based reads that must not hydrate
+ * a whole result set. With rewriteBatchedStatements on the MySQL URL a
+ * batch becomes a single multi-row INSERT; with useCursorFetch a
+ * positive fetch size makes the streaming read a server-side cursor.
+ */
+public class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "insert into appointment (doctor_id, patient_id, appointment_date, start_time) "
+            + "values (?, ?, ?, ?)";
+
+    private static final String SELECT_SQL =
+            "select id, doctor_id, patient_id, appointment_date, start_time from appointment";
+
+    // List DTO property -> column, in select order
+    private static final Map<String, String> FIELD_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        FIELD_COLUMNS.put("doctorId", "doctor_id");
+        FIELD_COLUMNS.put("patientId", "patient_id");
+        FIELD_COLUMNS.put("appointmentDate", "appointment_date");
+        FIELD_COLUMNS.put("startTime", "start_time");
+    }
+
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate streamingJdbc;
+
+    public AppointmentRepositoryImpl(JdbcTemplate jdbc,
+                                     @Value("${clinic.appointments.stream-fetch-size:500}") int streamFetchSize) {
+        this.jdbc = jdbc;
+        this.streamingJdbc = new JdbcTemplate(jdbc.getDataSource());
+        this.streamingJdbc.setFetchSize(streamFetchSize);
+    }
+
+    @Override
+    public List<Appointment> insertAll(List<Appointment> appointments) {
+        return jdbc.execute((ConnectionCallback<List<Appointment>>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Appointment appointment : appointments) {
+                    ps.setLong(1, appointment.getDoctorId());
+                    ps.setLong(2, appointment.getPatientId());
+                    ps.setObject(3, appointment.getAppointmentDate());
+                    ps.setObject(4, appointment.getStartTime());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next()) {
+                        appointments.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return appointments;
+        });
+    }
+
+    @Override
+    public List<AppointmentSummary> findPage(AppointmentQuery query, Set<String> fields) {
+        // The id is always read, because the next page's cursor comes from it
+        Set<String> selected = fields == null ? AppointmentSummary.FIELDS : fields;
+        StringBuilder columns = new StringBuilder("id");
+        FIELD_COLUMNS.forEach((field, column) -> {
+            if (selected.contains(field)) {
+                columns.append(", ").append(column);
+            }
+        });
+
+        List<Object> args = new ArrayList<>();
+        String sql = "select " + columns + " from appointment" + where(query, args)
+                + " order by id limit " + query.effectiveLimit();
+        return jdbc.query(sql, (rs, rowNum) -> new AppointmentSummary(
+                rs.getLong("id"),
+                selected.contains("doctorId") ? rs.getLong("doctor_id") : null,
+                selected.contains("patientId") ? rs.getLong("patient_id") : null,
+                selected.contains("appointmentDate") ? localDate(rs.getDate("appointment_date")) : null,
+                selected.contains("startTime") ? localTime(rs.getTime("start_time")) : null),
+                args.toArray());
+    }
+
+    @Override
+    public long count(AppointmentQuery query) {
+        List<Object> args = new ArrayList<>();
+        Long count = jdbc.queryForObject(
+                "select count(*) from appointment" + where(query, args), Long.class, args.toArray());
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public void stream(AppointmentQuery query, Consumer<Appointment> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT_SQL + where(query, args) + " order by id";
+        streamingJdbc.query(sql, (RowCallbackHandler) rs -> consumer.accept(map(rs)), args.toArray());
+    }
+
+    // Each filter is an equality or range on a column covered by one of the (column, id) indexes
+    private static String where(AppointmentQuery query, List<Object> args) {
+        List<String> clauses = new ArrayList<>();
+        if (query.getDoctorId() != null) {
+            clauses.add("doctor_id = ?");
+            args.add(query.getDoctorId());
+        }
+        if (query.getPatientId() != null) {
+            clauses.add("patient_id = ?");
+            args.add(query.getPatientId());
+        }
+        if (query.getFrom() != null) {
+            clauses.add("appointment_date >= ?");
+            args.add(Date.valueOf(query.getFrom()));
+        }
+        if (query.getTo() != null) {
+            clauses.add("appointment_date <= ?");
+            args.add(Date.valueOf(query.getTo()));
+        }
+        if (query.getAfterId() != null) {
+            clauses.add("id > ?");
+            args.add(query.getAfterId());
+        }
+        return clauses.isEmpty() ? "" : " where " + String.join(" and ", clauses);
+    }
+
+    private static Appointment map(ResultSet rs) throws SQLException {
+        Appointment appointment = new Appointment();
+        appointment.setId(rs.getLong("id"));
+        appointment.setDoctorId(rs.getLong("doctor_id"));
+        appointment.setPatientId(rs.getLong("patient_id"));
+        appointment.setAppointmentDate(localDate(rs.getDate("appointment_date")));
+        appointment.setStartTime(localTime(rs.getTime("start_time")));
+        return appointment;
+    }
+
+    private static LocalDate localDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+
+    private static LocalTime localTime(Time time) {
+        return time == null ? null : time.toLocalTime();
+    }
+}
@@ -0,0 +1,18 @@
+package com.clinic.appointmentservice.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.clinic.appointmentservice.entity.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(Instant cutoff);
+}
@@ -0,0 +1,37 @@
+package com.clinic.appointmentservice.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import com.clinic.appointmentservice.entity.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED (-2) lets several appointment-service instances drain the outbox side by side
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.attempts < :maxAttempts "
+            + "and e.nextAttemptAt <= :now order by e.id")
+    List<OutboxEvent> findDue(int maxAttempts, Instant now, Pageable page);
+
+    // Only rows still leased until this instant, so a relay whose lease ran out cannot undo another's claim
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id in :ids and e.nextAttemptAt = :lease")
+    int deleteClaimed(Collection<Long> ids, Instant lease);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.payload = :payload, e.attempts = :attempts, "
+            + "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError "
+            + "where e.id = :id and e.nextAttemptAt = :lease")
+    int releaseClaimed(Long id, Instant lease, String payload, int attempts, Instant nextAttemptAt, String lastError);
+}
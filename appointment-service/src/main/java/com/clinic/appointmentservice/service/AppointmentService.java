@@ -1,10 +1,27 @@
 package com.clinic.appointmentservice.service;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.entity.IdempotencyRecord;
+import com.clinic.appointmentservice.entity.OutboxEvent;
+import com.clinic.appointmentservice.exception.InvalidAppointmentException;
+import com.clinic.appointmentservice.exception.SlotUnavailableException;
 import com.clinic.appointmentservice.repository.AppointmentRepository;
+import com.clinic.appointmentservice.model.BillRequest;
 import com.clinic.appointmentservice.model.Notification;
 
 import com.clinic.appointmentservice.model.PatientDTO;
@@ -14,56 +31,188 @@ import com.clinic.appointmentservice.model.DoctorDTO;
 public class AppointmentService {
 
     private final AppointmentRepository repo;
-    private final RestTemplate restTemplate;
-
-    public AppointmentService(AppointmentRepository repo, RestTemplate restTemplate) {
+    private final OutboxWriter outbox;
+    private final ReadModelCache readModel;
+    private final TransactionTemplate tx;
+    private final SlotOccupancyIndex occupancy;
+    private final IdempotencyStore idempotency;
+    private final Duration lookupTimeout;
+
+    public AppointmentService(AppointmentRepository repo,
+                              OutboxWriter outbox,
+                              ReadModelCache readModel,
+                              TransactionTemplate tx,
+                              SlotOccupancyIndex occupancy,
+                              IdempotencyStore idempotency,
+                              @Value("${clinic.booking.lookup-timeout:2s}") Duration lookupTimeout) {
         this.repo = repo;
-        this.restTemplate = restTemplate;
+        this.outbox = outbox;
+        this.readModel = readModel;
+        this.tx = tx;
+        this.occupancy = occupancy;
+        this.idempotency = idempotency;
+        this.lookupTimeout = lookupTimeout;
     }
 
     public Appointment bookAppointment(Appointment appointment) {
+        return bookAppointment(appointment, null);
+    }
 
+    public Appointment bookAppointment(Appointment appointment, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return reserveAndBook(appointment, null);
+        }
+        // Checked before anything else, so an oversized key is a 400 and not a failed insert after booking
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new InvalidAppointmentException(
+                    "Idempotency-Key must be 1 to " + IdempotencyRecord.MAX_KEY_LENGTH + " characters");
+        }
+
+        // A duplicate of a booking this instance has seen waits on (or replays) the first execution
+        CompletableFuture<Appointment> booking = new CompletableFuture<>();
+        CompletableFuture<Appointment> first = idempotency.claim(idempotencyKey, booking);
+        if (first != null) {
+            return idempotency.await(first, appointment);
+        }
+
+        try {
+            Appointment result = replayOrBook(appointment, idempotencyKey);
+            booking.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            // Failures are not remembered, so the client can retry with the same key
+            idempotency.forget(idempotencyKey, booking);
+            booking.completeExceptionally(e);
+            throw e;
+        }
+    }
 
-    PatientDTO patient = restTemplate.getForObject(
-        "http://PATIENT-SERVICE/patients/" + appointment.getPatientId(),
-        PatientDTO.class
-    );
+    private Appointment replayOrBook(Appointment appointment, String idempotencyKey) {
+        Optional<Appointment> original = idempotency.replay(idempotencyKey, appointment);
+        if (original.isPresent()) {
+            return original.get();
+        }
+        try {
+            return reserveAndBook(appointment, idempotencyKey);
+        } catch (SlotUnavailableException e) {
+            // The conflict may be this key's own booking, committed through another instance
+            return idempotency.replay(idempotencyKey, appointment).orElseThrow(() -> e);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance recorded this key first
+            if (!violates(e, IdempotencyRecord.TABLE)) {
+                throw e;
+            }
+            return idempotency.replay(idempotencyKey, appointment).orElseThrow(() -> e);
+        }
+    }
 
-  
-    DoctorDTO doctor = restTemplate.getForObject(
-        "http://DOCTOR-SERVICE/doctors/" + appointment.getDoctorId(),
-        DoctorDTO.class
-    );
+    private Appointment reserveAndBook(Appointment appointment, String idempotencyKey) {
+        if (appointment.getDoctorId() == null || appointment.getPatientId() == null
+                || appointment.getAppointmentDate() == null) {
+            throw new InvalidAppointmentException("patientId, doctorId and appointmentDate are required");
+        }
+
+        // Claim the slot in memory first so conflicting requests never reach the lookups
+        int slot = occupancy.slotOf(appointment.getStartTime());
+        if (!occupancy.reserve(appointment.getDoctorId(), appointment.getAppointmentDate(), slot)) {
+            throw slotTaken(appointment);
+        }
+
+        try {
+            return book(appointment, idempotencyKey);
+        } catch (RuntimeException e) {
+            if (isSlotConflict(e)) {
+                // Booked through another instance; the bit stays set because the slot really is taken
+                throw slotTaken(appointment);
+            }
+            occupancy.release(appointment.getDoctorId(), appointment.getAppointmentDate(), slot);
+            throw e;
+        }
+    }
 
+    public void cancelAppointment(Long id) {
+        repo.findById(id).ifPresent(appointment -> {
+            repo.delete(appointment);
+            occupancy.release(appointment.getDoctorId(), appointment.getAppointmentDate(),
+                    appointment.getStartTime());
+        });
+    }
 
-    Appointment saved = repo.save(appointment);
+    private Appointment book(Appointment appointment, String idempotencyKey) {
+        // Cached records resolve immediately; misses are fetched concurrently against one deadline.
+        // The futures are shared with other callers, so a timed-out lookup is left to finish
+        // and fill the cache rather than being cancelled.
+        long deadline = System.nanoTime() + lookupTimeout.toNanos();
 
+        CompletableFuture<PatientDTO> patientLookup = readModel.patient(appointment.getPatientId());
+        CompletableFuture<DoctorDTO> doctorLookup = readModel.doctor(appointment.getDoctorId());
 
-    restTemplate.postForObject(
-        "http://BILLING-SERVICE/bills?appointmentId="
-            + saved.getId()
-            + "&patientId="
-            + saved.getPatientId(),
-        null,
-        Object.class
-    );
+        PatientDTO patient = await(patientLookup, deadline, "Patient");
+        DoctorDTO doctor = await(doctorLookup, deadline, "Doctor");
 
+        // Lookups stay outside the transaction so no connection is held while waiting on them
+        return tx.execute(status -> {
+            Appointment saved = repo.save(appointment);
+            if (idempotencyKey != null) {
+                idempotency.record(idempotencyKey, saved);
+            }
 
-    Notification notification = new Notification(
-        "Appointment booked successfully.\n\n"
-        + "Patient: " + patient.getName() + "\n"
-        + "Doctor: " + doctor.getName() + "\n"
-        + "Date: " + saved.getAppointmentDate(),
-        "patient"
-    );
+            // Billing and notification are relayed by OutboxRelay once this transaction commits
+            outbox.enqueue(OutboxEvent.Type.BILL,
+                    List.of(new BillRequest(saved.getId(), saved.getPatientId(), doctor.getSpecialization())));
 
-    restTemplate.postForObject(
-        "http://NOTIFICATION-SERVICE/notifications",
-        notification,
-        Void.class
-    );
+            outbox.enqueue(OutboxEvent.Type.NOTIFICATION,
+                    List.of(bookedNotification(saved, patient, doctor)));
 
-    return saved;
-}
+            return saved;
+        });
+    }
+
+    // The booking transaction also writes idempotency and outbox rows; only the slot key means "taken"
+    static boolean isSlotConflict(RuntimeException e) {
+        return e instanceof DataIntegrityViolationException violation && violates(violation, Appointment.UNIQUE_SLOT);
+    }
+
+    // Hibernate names the constraint where the dialect can parse it; otherwise the driver's message names it
+    static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String name = cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null ? violation.getConstraintName() : cause.getMessage();
+            if (name != null && name.toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static SlotUnavailableException slotTaken(Appointment appointment) {
+        return new SlotUnavailableException("Doctor " + appointment.getDoctorId()
+                + " is already booked at " + appointment.getAppointmentDate()
+                + " " + appointment.getStartTime());
+    }
 
-}
\ No newline at end of file
+    static Notification bookedNotification(Appointment saved, PatientDTO patient, DoctorDTO doctor) {
+        return new Notification(
+                "Appointment booked successfully.\n\n"
+                + "Patient: " + patient.getName() + "\n"
+                + "Doctor: " + doctor.getName() + "\n"
+                + "Date: " + saved.getAppointmentDate() + " " + saved.getStartTime(),
+                "patient");
+    }
+
+    static <T> T await(CompletableFuture<T> lookup, long deadline, String what) {
+        try {
+            return lookup.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new RuntimeException(what + " lookup timed out");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(what + " lookup failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(what + " lookup interrupted", e);
+        }
+    }
+}
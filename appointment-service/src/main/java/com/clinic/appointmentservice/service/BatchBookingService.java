@@ -0,0 +1,192 @@
+package com.clinic.appointmentservice.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.entity.OutboxEvent;
+import com.clinic.appointmentservice.exception.InvalidAppointmentException;
+import com.clinic.appointmentservice.model.BatchBookingResult;
+import com.clinic.appointmentservice.model.BillRequest;
+import com.clinic.appointmentservice.model.DoctorDTO;
+import com.clinic.appointmentservice.model.PatientDTO;
+import com.clinic.appointmentservice.model.RejectedAppointment;
+import com.clinic.appointmentservice.repository.AppointmentRepository;
+
+/**
+ * Books many appointments in one request: slots are claimed in memory,
+ * referenced patients and doctors come from the read-model cache (with
+ * multi-get calls for whatever it misses), and accepted rows are inserted
+ * in JDBC batches with one BILL and one NOTIFICATION outbox row per chunk.
+ * Rows are accepted or rejected individually.
+ */
+@Service
+public class BatchBookingService {
+
+    private final AppointmentRepository repo;
+    private final OutboxWriter outbox;
+    private final ReadModelCache readModel;
+    private final TransactionTemplate tx;
+    private final SlotOccupancyIndex occupancy;
+    private final int chunkSize;
+    private final Duration lookupTimeout;
+
+    public BatchBookingService(AppointmentRepository repo,
+                               OutboxWriter outbox,
+                               ReadModelCache readModel,
+                               TransactionTemplate tx,
+                               SlotOccupancyIndex occupancy,
+                               @Value("${clinic.booking.batch.chunk-size:500}") int chunkSize,
+                               @Value("${clinic.booking.batch.lookup-timeout:30s}") Duration lookupTimeout) {
+        this.repo = repo;
+        this.outbox = outbox;
+        this.readModel = readModel;
+        this.tx = tx;
+        this.occupancy = occupancy;
+        this.chunkSize = chunkSize;
+        this.lookupTimeout = lookupTimeout;
+    }
+
+    public BatchBookingResult bookAll(List<Appointment> requests) {
+        BatchBookingResult result = new BatchBookingResult();
+
+        // 1. Shape checks and in-memory slot claims, including clashes inside the batch itself
+        List<Claim> claims = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Appointment appointment = requests.get(i);
+            try {
+                if (appointment.getPatientId() == null || appointment.getDoctorId() == null
+                        || appointment.getAppointmentDate() == null) {
+                    throw new InvalidAppointmentException(
+                            "patientId, doctorId and appointmentDate are required");
+                }
+                int slot = occupancy.slotOf(appointment.getStartTime());
+                if (!occupancy.reserve(appointment.getDoctorId(), appointment.getAppointmentDate(), slot)) {
+                    throw AppointmentService.slotTaken(appointment);
+                }
+                claims.add(new Claim(i, appointment, slot));
+            } catch (RuntimeException e) {
+                reject(result, i, e);
+            }
+        }
+
+        // 2. Cached records are reused; the rest come from one multi-get per id chunk
+        Map<Long, PatientDTO> patients;
+        Map<Long, DoctorDTO> doctors;
+        try {
+            long deadline = System.nanoTime() + lookupTimeout.toNanos();
+            CompletableFuture<Map<Long, PatientDTO>> patientLookup =
+                    readModel.patients(distinct(claims, Appointment::getPatientId));
+            CompletableFuture<Map<Long, DoctorDTO>> doctorLookup =
+                    readModel.doctors(distinct(claims, Appointment::getDoctorId));
+            patients = AppointmentService.await(patientLookup, deadline, "Patient");
+            doctors = AppointmentService.await(doctorLookup, deadline, "Doctor");
+        } catch (RuntimeException e) {
+            claims.forEach(this::release);
+            throw e;
+        }
+
+        List<Claim> accepted = new ArrayList<>();
+        for (Claim claim : claims) {
+            if (!patients.containsKey(claim.appointment().getPatientId())) {
+                release(claim);
+                reject(result, claim.index(), "Patient " + claim.appointment().getPatientId() + " not found");
+            } else if (!doctors.containsKey(claim.appointment().getDoctorId())) {
+                release(claim);
+                reject(result, claim.index(), "Doctor " + claim.appointment().getDoctorId() + " not found");
+            } else {
+                accepted.add(claim);
+            }
+        }
+
+        // 3. Insert chunk by chunk; a chunk that trips the unique constraint is retried row by row
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Claim> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            try {
+                insert(chunk, patients, doctors);
+                chunk.forEach(claim -> result.getBooked().add(claim.appointment()));
+            } catch (RuntimeException e) {
+                if (AppointmentService.isSlotConflict(e)) {
+                    for (Claim claim : chunk) {
+                        claim.appointment().setId(null);
+                        insertOne(claim, patients, doctors, result);
+                    }
+                } else {
+                    for (Claim claim : chunk) {
+                        release(claim);
+                        reject(result, claim.index(), e);
+                    }
+                }
+            }
+        }
+
+        result.getRejected().sort(Comparator.comparingInt(RejectedAppointment::getIndex));
+        return result;
+    }
+
+    private void insertOne(Claim claim, Map<Long, PatientDTO> patients,
+                           Map<Long, DoctorDTO> doctors, BatchBookingResult result) {
+        try {
+            insert(List.of(claim), patients, doctors);
+            result.getBooked().add(claim.appointment());
+        } catch (RuntimeException e) {
+            if (AppointmentService.isSlotConflict(e)) {
+                // Booked through another instance; the slot really is taken so the bit stays set
+                reject(result, claim.index(), AppointmentService.slotTaken(claim.appointment()));
+            } else {
+                release(claim);
+                reject(result, claim.index(), e);
+            }
+        }
+    }
+
+    private void insert(List<Claim> chunk, Map<Long, PatientDTO> patients, Map<Long, DoctorDTO> doctors) {
+        tx.executeWithoutResult(status -> {
+            List<Appointment> saved = repo.insertAll(
+                    chunk.stream().map(Claim::appointment).collect(Collectors.toList()));
+
+            outbox.enqueue(OutboxEvent.Type.BILL, saved.stream()
+                    .map(a -> new BillRequest(a.getId(), a.getPatientId(),
+                            doctors.get(a.getDoctorId()).getSpecialization()))
+                    .toList());
+            outbox.enqueue(OutboxEvent.Type.NOTIFICATION, saved.stream()
+                    .map(a -> AppointmentService.bookedNotification(
+                            a, patients.get(a.getPatientId()), doctors.get(a.getDoctorId())))
+                    .toList());
+        });
+    }
+
+    private static List<Long> distinct(Collection<Claim> claims, Function<Appointment, Long> key) {
+        Set<Long> ids = new LinkedHashSet<>();
+        claims.forEach(claim -> ids.add(key.apply(claim.appointment())));
+        return new ArrayList<>(ids);
+    }
+
+    private void release(Claim claim) {
+        occupancy.release(claim.appointment().getDoctorId(),
+                claim.appointment().getAppointmentDate(), claim.slot());
+    }
+
+    private static void reject(BatchBookingResult result, int index, RuntimeException e) {
+        reject(result, index, e.getMessage());
+    }
+
+    private static void reject(BatchBookingResult result, int index, String reason) {
+        result.getRejected().add(new RejectedAppointment(index, reason));
+    }
+
+    private record Claim(int index, Appointment appointment, int slot) {}
+}
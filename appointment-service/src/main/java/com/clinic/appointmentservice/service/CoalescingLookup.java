@@ -0,0 +1,113 @@
+package com.clinic.appointmentservice.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * DataLoader-style client for one resource: ids requested by concurrent
+ * callers within a short window are de-duplicated and fetched with a
+ * single multi-get. A window that collects only one id uses the plain
+ * GET /{id} endpoint, so an idle system sees the same calls as before.
+ */
+final class CoalescingLookup<T> {
+
+    private final String name;
+    private final String url;
+    private final Class<T> type;
+    private final Class<T[]> arrayType;
+    private final Function<T, Long> idOf;
+    private final RestTemplate restTemplate;
+    private final Executor executor;
+    private final Executor delayed;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<T>> pending = new HashMap<>();
+
+    CoalescingLookup(String name, String url, Class<T> type, Class<T[]> arrayType, Function<T, Long> idOf,
+                     RestTemplate restTemplate, Executor executor, Duration window, int maxBatchSize) {
+        this.name = name;
+        this.url = url;
+        this.type = type;
+        this.arrayType = arrayType;
+        this.idOf = idOf;
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+        this.delayed = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, executor);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    CompletableFuture<T> load(Long id) {
+        CompletableFuture<T> future;
+        Map<Long, CompletableFuture<T>> full = null;
+        synchronized (lock) {
+            future = pending.get(id);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(id, future);
+            if (pending.size() == 1) {
+                delayed.execute(this::flush);
+            } else if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new HashMap<>();
+            }
+        }
+        if (full != null) {
+            Map<Long, CompletableFuture<T>> batch = full;
+            executor.execute(() -> fetch(batch));
+        }
+        return future;
+    }
+
+    // A timer left over from a batch that was dispatched early just flushes the next one sooner
+    private void flush() {
+        Map<Long, CompletableFuture<T>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        fetch(batch);
+    }
+
+    private void fetch(Map<Long, CompletableFuture<T>> batch) {
+        try {
+            if (batch.size() == 1) {
+                Map.Entry<Long, CompletableFuture<T>> only = batch.entrySet().iterator().next();
+                only.getValue().complete(restTemplate.getForObject(url + "/" + only.getKey(), type));
+                return;
+            }
+
+            String ids = batch.keySet().stream()
+                    .sorted()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            T[] found = restTemplate.getForObject(url + "?ids=" + ids, arrayType);
+            if (found != null) {
+                Arrays.stream(found).forEach(item -> {
+                    CompletableFuture<T> future = batch.get(idOf.apply(item));
+                    if (future != null) {
+                        future.complete(item);
+                    }
+                });
+            }
+            batch.forEach((id, future) ->
+                    future.completeExceptionally(new RuntimeException(name + " not found")));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.clinic.appointmentservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.entity.IdempotencyRecord;
+import com.clinic.appointmentservice.exception.IdempotencyKeyReusedException;
+import com.clinic.appointmentservice.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Idempotency-Key bookkeeping for POST /appointments. Keys seen by this
+ * instance map to the (possibly still running) booking in memory, so
+ * duplicates wait on the first execution instead of starting their own.
+ * Completed bookings are also persisted, which covers restarts and
+ * retries that land on another instance.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository records;
+    private final Cache<String, CompletableFuture<Appointment>> recent;
+    private final Duration ttl;
+
+    public IdempotencyStore(IdempotencyRecordRepository records,
+                            @Value("${clinic.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${clinic.idempotency.ttl:24h}") Duration ttl) {
+        this.records = records;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.ttl = ttl;
+    }
+
+    /**
+     * Registers {@code booking} for the key and returns null, or returns the
+     * booking already registered for it.
+     */
+    CompletableFuture<Appointment> claim(String key, CompletableFuture<Appointment> booking) {
+        return recent.asMap().putIfAbsent(key, booking);
+    }
+
+    // Failed bookings are not remembered, so the client may retry them
+    void forget(String key, CompletableFuture<Appointment> booking) {
+        recent.asMap().remove(key, booking);
+    }
+
+    Appointment await(CompletableFuture<Appointment> booking, Appointment request) {
+        try {
+            return sameBooking(booking.join(), request);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Read-write so the lookup goes to the primary: a retry right after the first request
+    // would miss the record on a lagging replica and book a second time
+    @Transactional
+    Optional<Appointment> replay(String key, Appointment request) {
+        return records.findById(key)
+                .map(IdempotencyRecord::toAppointment)
+                .map(original -> sameBooking(original, request));
+    }
+
+    // Called inside the booking transaction
+    void record(String key, Appointment saved) {
+        records.save(new IdempotencyRecord(key, saved));
+    }
+
+    @Scheduled(cron = "${clinic.idempotency.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        int purged = records.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private static Appointment sameBooking(Appointment original, Appointment request) {
+        if (!Objects.equals(original.getPatientId(), request.getPatientId())
+                || !Objects.equals(original.getDoctorId(), request.getDoctorId())
+                || !Objects.equals(original.getAppointmentDate(), request.getAppointmentDate())
+                || !Objects.equals(original.getStartTime(), request.getStartTime())) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key was already used for a different appointment");
+        }
+        return original;
+    }
+}
@@ -0,0 +1,284 @@
+package com.clinic.appointmentservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.clinic.appointmentservice.entity.OutboxEvent;
+import com.clinic.appointmentservice.model.BillRequest;
+import com.clinic.appointmentservice.model.Notification;
+import com.clinic.appointmentservice.model.NotificationResult;
+import com.clinic.appointmentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Drains outbox_event rows to billing-service and notification-service.
+ * Due events of one type go out together in batch calls of at most
+ * max-payloads-per-call bills or notifications. Delivery is
+ * at-least-once: failed events are retried with exponential backoff until
+ * max-attempts, after which they stay in the table for inspection.
+ * notification-service reports each notification's outcome, so an event
+ * that partly went out keeps only its unsent notifications for the retry;
+ * billing-service deduplicates by appointment, so bills are simply resent.
+ * <p>
+ * No transaction or connection is held across the HTTP calls. A short
+ * transaction claims a batch by pushing its nextAttemptAt out to a lease,
+ * which hides it from other instances; the calls are made; a second short
+ * transaction deletes what went out and reschedules the rest, touching
+ * only rows whose lease is unchanged. No call starts after half the lease
+ * has gone, so the lease must be at least twice the slowest downstream
+ * read timeout. A relay that dies mid-batch leaves its rows to be retried
+ * once the lease runs out.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final OutboxEventRepository outbox;
+    private final RestTemplate billingClient;
+    private final RestTemplate notificationClient;
+    private final ObjectReader billReader;
+    private final ObjectReader notificationReader;
+    private final ObjectWriter payloadWriter;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+    private final int maxPayloadsPerCall;
+
+    public OutboxRelay(OutboxEventRepository outbox,
+                       @Qualifier("billingRestTemplate") RestTemplate billingClient,
+                       @Qualifier("notificationRestTemplate") RestTemplate notificationClient,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate tx,
+                       @Value("${clinic.outbox.batch-size:100}") int batchSize,
+                       @Value("${clinic.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${clinic.outbox.retry-backoff:1s}") Duration retryBackoff,
+                       @Value("${clinic.outbox.lease:60s}") Duration lease,
+                       @Value("${clinic.outbox.max-payloads-per-call:100}") int maxPayloadsPerCall) {
+        this.outbox = outbox;
+        this.billingClient = billingClient;
+        this.notificationClient = notificationClient;
+        // Single objects are still accepted for rows written before payloads became lists
+        this.billReader = objectMapper.readerForListOf(BillRequest.class)
+                .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        this.notificationReader = objectMapper.readerForListOf(Notification.class)
+                .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        this.payloadWriter = objectMapper.writer();
+        this.tx = tx;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+        this.maxPayloadsPerCall = maxPayloadsPerCall;
+    }
+
+    // @Scheduled only parses ISO-8601 durations, hence PT0.5S rather than 500ms
+    @Scheduled(fixedDelayString = "${clinic.outbox.poll-interval:PT0.5S}")
+    public void drain() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    int relayBatch() {
+        Instant now = Instant.now();
+        // Whole milliseconds, so the value read back from the column still equals it
+        Instant leasedUntil = now.plus(lease).truncatedTo(ChronoUnit.MILLIS);
+        List<OutboxEvent> due = tx.execute(status -> {
+            List<OutboxEvent> claimed = outbox.findDue(maxAttempts, now, PageRequest.of(0, batchSize));
+            claimed.forEach(event -> event.setNextAttemptAt(leasedUntil));
+            return claimed;
+        });
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> delivered = new ArrayList<>();
+        List<OutboxEvent> retries = new ArrayList<>();
+        // No call starts after this, so the slowest one still finishes inside the lease
+        Instant lastCallStart = now.plus(lease.dividedBy(2));
+
+        Map<OutboxEvent.Type, List<OutboxEvent>> byType = new EnumMap<>(OutboxEvent.Type.class);
+        for (OutboxEvent event : due) {
+            byType.computeIfAbsent(event.getType(), type -> new ArrayList<>()).add(event);
+        }
+
+        byType.forEach((type, events) -> {
+            List<OutboxEvent> call = new ArrayList<>();
+            List<List<Object>> callPayloads = new ArrayList<>();
+            int callSize = 0;
+            for (OutboxEvent event : events) {
+                List<Object> own;
+                try {
+                    own = readerFor(type).readValue(event.getPayload());
+                } catch (Exception e) {
+                    failed(event, now, e.getMessage());
+                    retries.add(event);
+                    continue;
+                }
+                if (!call.isEmpty() && callSize + own.size() > maxPayloadsPerCall) {
+                    relayCall(type, call, callPayloads, lastCallStart, now, delivered, retries);
+                    call = new ArrayList<>();
+                    callPayloads = new ArrayList<>();
+                    callSize = 0;
+                }
+                call.add(event);
+                callPayloads.add(own);
+                callSize += own.size();
+            }
+            if (!call.isEmpty()) {
+                relayCall(type, call, callPayloads, lastCallStart, now, delivered, retries);
+            }
+        });
+
+        int lost = tx.execute(status -> settle(delivered, retries, leasedUntil));
+        if (lost > 0) {
+            log.warn("{} outbox events outlived their {} lease and were left to the relay that reclaimed them",
+                    lost, lease);
+        }
+        return due.size();
+    }
+
+    /**
+     * Sends the payloads of some events of one type in a single call and
+     * sorts the events into delivered and to-retry. A call failing as a
+     * whole only fails its own events; events whose call would start too
+     * late in the lease are handed back unchanged, due at once.
+     */
+    private void relayCall(OutboxEvent.Type type, List<OutboxEvent> events, List<List<Object>> eventPayloads,
+                           Instant lastCallStart, Instant now,
+                           List<OutboxEvent> delivered, List<OutboxEvent> retries) {
+        if (Instant.now().isAfter(lastCallStart)) {
+            events.forEach(event -> event.setNextAttemptAt(Instant.now()));
+            retries.addAll(events);
+            return;
+        }
+        List<Object> payloads = new ArrayList<>();
+        eventPayloads.forEach(payloads::addAll);
+        Map<Integer, String> failures;
+        try {
+            failures = deliver(type, payloads);
+        } catch (RuntimeException e) {
+            events.forEach(event -> failed(event, now, e.getMessage()));
+            retries.addAll(events);
+            return;
+        }
+
+        int offset = 0;
+        for (int i = 0; i < events.size(); i++) {
+            List<Object> own = eventPayloads.get(i);
+            List<Object> unsent = new ArrayList<>();
+            String error = null;
+            for (int j = 0; j < own.size(); j++) {
+                if (failures.containsKey(offset + j)) {
+                    unsent.add(own.get(j));
+                    error = failures.get(offset + j);
+                }
+            }
+            offset += own.size();
+            if (unsent.isEmpty()) {
+                delivered.add(events.get(i));
+            } else {
+                retryOnly(events.get(i), unsent, now, error);
+                retries.add(events.get(i));
+            }
+        }
+    }
+
+    // Deletes what went out and reschedules the rest; returns how many rows were no longer leased to us
+    private int settle(List<OutboxEvent> delivered, List<OutboxEvent> retries, Instant leasedUntil) {
+        int settled = 0;
+        if (!delivered.isEmpty()) {
+            settled += outbox.deleteClaimed(delivered.stream().map(OutboxEvent::getId).toList(), leasedUntil);
+        }
+        for (OutboxEvent event : retries) {
+            settled += outbox.releaseClaimed(event.getId(), leasedUntil, event.getPayload(), event.getAttempts(),
+                    event.getNextAttemptAt(), event.getLastError());
+        }
+        return delivered.size() + retries.size() - settled;
+    }
+
+    private ObjectReader readerFor(OutboxEvent.Type type) {
+        return switch (type) {
+            case BILL -> billReader;
+            case NOTIFICATION -> notificationReader;
+        };
+    }
+
+    // Positions in payloads that were not delivered, with the reason
+    private Map<Integer, String> deliver(OutboxEvent.Type type, List<Object> payloads) {
+        Map<Integer, String> failures = new HashMap<>();
+        switch (type) {
+            case BILL -> billingClient.postForObject(
+                "http://BILLING-SERVICE/bills/batch",
+                payloads,
+                Object.class
+            );
+            case NOTIFICATION -> {
+                NotificationResult[] results = notificationClient.postForObject(
+                    "http://NOTIFICATION-SERVICE/notifications/batch",
+                    payloads,
+                    NotificationResult[].class
+                );
+                // No body means every notification was sent
+                if (results != null) {
+                    for (NotificationResult result : results) {
+                        if (!result.isSent()) {
+                            failures.put(result.getIndex(), result.getError());
+                        }
+                    }
+                }
+            }
+        }
+        return failures;
+    }
+
+    // The notifications that did go out are dropped from the event so the retry cannot resend them
+    private void retryOnly(OutboxEvent event, List<Object> unsent, Instant now, String error) {
+        try {
+            event.setPayload(payloadWriter.writeValueAsString(unsent));
+        } catch (Exception e) {
+            log.warn("Outbox event {} could not be narrowed to its unsent payloads: {}", event.getId(), e.getMessage());
+        }
+        failed(event, now, error);
+    }
+
+    private void failed(OutboxEvent event, Instant now, String message) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(now.plus(backoff(attempts)));
+        String error = String.valueOf(message);
+        event.setLastError(error.length() > 255 ? error.substring(0, 255) : error);
+        log.warn("Outbox event {} ({}) failed on attempt {}: {}",
+                event.getId(), event.getType(), attempts, message);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+}
@@ -0,0 +1,43 @@
+package com.clinic.appointmentservice.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.clinic.appointmentservice.entity.OutboxEvent;
+import com.clinic.appointmentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Queues downstream work for OutboxRelay. Must be called inside the
+ * transaction that persists the appointments the work belongs to.
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxEventRepository outbox;
+    private final ObjectMapper objectMapper;
+    private final int maxPayloadsPerEvent;
+
+    public OutboxWriter(OutboxEventRepository outbox, ObjectMapper objectMapper,
+                        @Value("${clinic.outbox.max-payloads-per-call:100}") int maxPayloadsPerEvent) {
+        this.outbox = outbox;
+        this.objectMapper = objectMapper;
+        this.maxPayloadsPerEvent = maxPayloadsPerEvent;
+    }
+
+    // One row carries a list so a bulk booking costs a few outbox inserts, not two per appointment;
+    // no row holds more than the relay sends in one call
+    public void enqueue(OutboxEvent.Type type, List<?> payloads) {
+        for (int from = 0; from < payloads.size(); from += maxPayloadsPerEvent) {
+            List<?> part = payloads.subList(from, Math.min(from + maxPayloadsPerEvent, payloads.size()));
+            try {
+                outbox.save(new OutboxEvent(type, objectMapper.writeValueAsString(part)));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Could not serialize " + type + " outbox payload", e);
+            }
+        }
+    }
+}
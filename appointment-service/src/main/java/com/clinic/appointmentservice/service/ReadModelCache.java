@@ -0,0 +1,138 @@
+package com.clinic.appointmentservice.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.clinic.appointmentservice.model.DoctorDTO;
+import com.clinic.appointmentservice.model.PatientDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Local, size-bounded copies of the patient and doctor records bookings
+ * depend on. Entries are dropped when patient-service or doctor-service
+ * report a change, and expire after expire-after-write in case such an
+ * event is lost. Concurrent misses for the same id share one remote call,
+ * and misses for different ids are coalesced into multi-get calls.
+ */
+@Component
+public class ReadModelCache implements MeterBinder {
+
+    private final RestTemplate patientClient;
+    private final RestTemplate doctorClient;
+    private final AsyncCache<Long, PatientDTO> patients;
+    private final AsyncCache<Long, DoctorDTO> doctors;
+    private final CoalescingLookup<PatientDTO> patientLookup;
+    private final CoalescingLookup<DoctorDTO> doctorLookup;
+    private final int idsPerLookup;
+
+    public ReadModelCache(@Qualifier("patientRestTemplate") RestTemplate patientClient,
+                          @Qualifier("doctorRestTemplate") RestTemplate doctorClient,
+                          ExecutorService lookupExecutor,
+                          @Value("${clinic.read-model.maximum-size:10000}") long maximumSize,
+                          @Value("${clinic.read-model.expire-after-write:10m}") Duration expireAfterWrite,
+                          @Value("${clinic.read-model.batch-window:2ms}") Duration batchWindow,
+                          @Value("${clinic.booking.batch.ids-per-lookup:200}") int idsPerLookup) {
+        this.patientClient = patientClient;
+        this.doctorClient = doctorClient;
+        this.patients = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(lookupExecutor)
+                .recordStats()
+                .buildAsync();
+        this.doctors = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(lookupExecutor)
+                .recordStats()
+                .buildAsync();
+        this.patientLookup = new CoalescingLookup<>("Patient", "http://PATIENT-SERVICE/patients",
+                PatientDTO.class, PatientDTO[].class, PatientDTO::getId,
+                patientClient, lookupExecutor, batchWindow, idsPerLookup);
+        this.doctorLookup = new CoalescingLookup<>("Doctor", "http://DOCTOR-SERVICE/doctors",
+                DoctorDTO.class, DoctorDTO[].class, DoctorDTO::getId,
+                doctorClient, lookupExecutor, batchWindow, idsPerLookup);
+        this.idsPerLookup = idsPerLookup;
+    }
+
+    public CompletableFuture<PatientDTO> patient(Long id) {
+        return load(patients, id, patientLookup);
+    }
+
+    public CompletableFuture<DoctorDTO> doctor(Long id) {
+        return load(doctors, id, doctorLookup);
+    }
+
+    // Only the ids missing from the cache are fetched; unknown ids are absent from the result
+    public CompletableFuture<Map<Long, PatientDTO>> patients(List<Long> ids) {
+        return patients.getAll(ids, (missing, executor) -> CompletableFuture.supplyAsync(
+                () -> fetchAll(patientClient, "http://PATIENT-SERVICE/patients", missing,
+                        PatientDTO[].class, PatientDTO::getId),
+                executor));
+    }
+
+    public CompletableFuture<Map<Long, DoctorDTO>> doctors(List<Long> ids) {
+        return doctors.getAll(ids, (missing, executor) -> CompletableFuture.supplyAsync(
+                () -> fetchAll(doctorClient, "http://DOCTOR-SERVICE/doctors", missing,
+                        DoctorDTO[].class, DoctorDTO::getId),
+                executor));
+    }
+
+    public void evictPatient(Long id) {
+        patients.synchronous().invalidate(id);
+    }
+
+    public void evictDoctor(Long id) {
+        doctors.synchronous().invalidate(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, patients, "patients");
+        CaffeineCacheMetrics.monitor(registry, doctors, "doctors");
+    }
+
+    // Caffeine drops a failed load just after completing it, so an immediate retry could still see it
+    private static <T> CompletableFuture<T> load(AsyncCache<Long, T> cache, Long id, CoalescingLookup<T> lookup) {
+        CompletableFuture<T> future = cache.get(id, (key, executor) -> lookup.load(key));
+        if (future.isCompletedExceptionally()) {
+            cache.asMap().remove(id, future);
+            future = cache.get(id, (key, executor) -> lookup.load(key));
+        }
+        return future;
+    }
+
+    private <T> Map<Long, T> fetchAll(RestTemplate client, String url, Set<? extends Long> missing,
+                                      Class<T[]> type, Function<T, Long> idOf) {
+        List<Long> ids = missing.stream().sorted().collect(Collectors.toList());
+        Map<Long, T> found = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += idsPerLookup) {
+            String chunk = ids.subList(from, Math.min(from + idsPerLookup, ids.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            T[] page = client.getForObject(url + "?ids=" + chunk, type);
+            if (page != null) {
+                Arrays.stream(page).forEach(item -> found.put(idOf.apply(item), item));
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,117 @@
+package com.clinic.appointmentservice.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.clinic.appointmentservice.exception.InvalidAppointmentException;
+import com.clinic.appointmentservice.repository.AppointmentRepository;
+
+/**
+ * In-memory slot bitmap per doctor and day, so double-booking is rejected
+ * without a database round trip. Bits are claimed with CAS; the unique
+ * constraint on appointment stays the final guard across instances.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotOccupancyIndex.class);
+
+    private record DoctorDay(long doctorId, LocalDate date) {}
+
+    private final ConcurrentHashMap<DoctorDay, AtomicLongArray> days = new ConcurrentHashMap<>();
+    private final AppointmentRepository repo;
+    private final int slotMinutes;
+    private final int words;
+
+    public SlotOccupancyIndex(AppointmentRepository repo,
+                              @Value("${clinic.booking.slot-length:15m}") Duration slotLength) {
+        this.repo = repo;
+        this.slotMinutes = (int) slotLength.toMinutes();
+        if (slotMinutes <= 0 || 1440 % slotMinutes != 0) {
+            throw new IllegalArgumentException("Slot length must divide a day evenly: " + slotLength);
+        }
+        this.words = (1440 / slotMinutes + 63) / 64;
+    }
+
+    public int slotOf(LocalTime startTime) {
+        if (startTime == null) {
+            throw new InvalidAppointmentException("startTime is required");
+        }
+        int minute = startTime.getHour() * 60 + startTime.getMinute();
+        if (minute % slotMinutes != 0 || startTime.getSecond() != 0 || startTime.getNano() != 0) {
+            throw new InvalidAppointmentException(
+                    "startTime must fall on a " + slotMinutes + "-minute slot boundary");
+        }
+        return minute / slotMinutes;
+    }
+
+    private int slotContaining(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / slotMinutes;
+    }
+
+    /**
+     * Claims the slot; returns false if it is already taken.
+     */
+    public boolean reserve(Long doctorId, LocalDate date, int slot) {
+        AtomicLongArray bits = days.computeIfAbsent(
+                new DoctorDay(doctorId, date), key -> new AtomicLongArray(words));
+        int word = slot >>> 6;
+        long mask = 1L << (slot & 63);
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(Long doctorId, LocalDate date, int slot) {
+        AtomicLongArray bits = days.get(new DoctorDay(doctorId, date));
+        if (bits == null) {
+            return;
+        }
+        int word = slot >>> 6;
+        long mask = 1L << (slot & 63);
+        long current;
+        do {
+            current = bits.get(word);
+        } while (!bits.compareAndSet(word, current, current & ~mask));
+    }
+
+    public void release(Long doctorId, LocalDate date, LocalTime startTime) {
+        if (startTime != null) {
+            release(doctorId, date, slotContaining(startTime));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = 0;
+        for (AppointmentRepository.BookedSlot booked : repo.findBookedSlotsFrom(LocalDate.now())) {
+            reserve(booked.getDoctorId(), booked.getAppointmentDate(), slotContaining(booked.getStartTime()));
+            loaded++;
+        }
+        log.info("Slot occupancy index loaded with {} booked slots", loaded);
+    }
+
+    // Past days can no longer be booked, so their bitmaps are dropped nightly
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+    }
+}
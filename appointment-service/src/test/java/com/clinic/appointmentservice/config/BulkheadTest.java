@@ -0,0 +1,88 @@
+package com.clinic.appointmentservice.config;
+
+import com.clinic.appointmentservice.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Bulkhead
+ * Tests the per-downstream concurrency cap and its metrics
+ */
+@DisplayName("Bulkhead Tests")
+class BulkheadTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final MockClientHttpRequest request =
+            new MockClientHttpRequest(HttpMethod.GET, URI.create("http://DOCTOR-SERVICE/doctors/1"));
+
+    @Test
+    @DisplayName("Should reject calls beyond the cap and count them")
+    void testIntercept_RejectsWhenFull() throws Exception {
+        // Given - the only permit is held by a call that has not returned yet
+        Bulkhead bulkhead = new Bulkhead("doctor", 1, Duration.ZERO, registry);
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                bulkhead.intercept(request, new byte[0], (req, body) -> {
+                    inFlight.countDown();
+                    await(release);
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(inFlight.await(1, TimeUnit.SECONDS));
+
+        // When & Then
+        assertThrows(BulkheadFullException.class, () -> bulkhead.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+        assertEquals(1, bulkhead.activeCalls());
+        assertEquals(1.0, registry.get("clinic.http.bulkhead.rejected").tag("downstream", "doctor").counter().count());
+
+        release.countDown();
+        first.get(1, TimeUnit.SECONDS);
+        assertEquals(0, bulkhead.activeCalls());
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the call fails")
+    void testIntercept_ReleasesOnFailure() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("patient", 1, Duration.ZERO, registry);
+
+        // When
+        assertThrows(IOException.class, () -> bulkhead.intercept(request, new byte[0], (req, body) -> {
+            throw new IOException("Connection reset");
+        }));
+
+        // Then
+        assertEquals(0, bulkhead.activeCalls());
+        assertEquals(0.0, registry.get("clinic.http.bulkhead.active").tag("downstream", "patient").gauge().value());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.clinic.appointmentservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ReplicaRoutingDataSource
+ * Tests opt-in read-only routing, lag fallback and unreachable-replica fallback
+ * against two embedded databases standing in for the primary and replica
+ */
+@DisplayName("Replica Routing DataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select seconds as Seconds_Behind_Source from replica_lag";
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        setLag(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    private void route(DataSource replicaSource) {
+        routing = new ReplicaRoutingDataSource(primary, replicaSource, Duration.ofSeconds(5),
+                Duration.ofHours(1), LAG_QUERY, "Seconds_Behind_Source");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions that opted in to the replica")
+    void testReadOnly_UsesReplica() {
+        // Given
+        route(replica);
+
+        // When
+        String server = ReplicaRoutingDataSource.readFromReplica(() -> readOnly.execute(status -> whichServer()));
+
+        // Then
+        assertThat(server).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should keep read-only transactions that did not opt in on the primary")
+    void testReadOnlyWithoutOptIn_UsesPrimary() {
+        // Given
+        route(replica);
+
+        // When
+        String withoutOptIn = readOnly.execute(status -> whichServer());
+        ReplicaRoutingDataSource.readFromReplica(() -> readOnly.execute(status -> whichServer()));
+        String afterOptIn = readOnly.execute(status -> whichServer());
+
+        // Then
+        assertThat(withoutOptIn).isEqualTo("primary");
+        assertThat(afterOptIn).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should keep read-write transactions and bare calls on the primary")
+    void testReadWrite_UsesPrimary() {
+        // Given
+        route(replica);
+
+        // When
+        String inTransaction = readWrite.execute(status -> whichServer());
+        String withoutTransaction = whichServer();
+
+        // Then
+        assertThat(inTransaction).isEqualTo("primary");
+        assertThat(withoutTransaction).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags too far")
+    void testLagging_FallsBackToPrimary() {
+        // Given
+        route(replica);
+        setLag(30);
+
+        // When
+        routing.checkLag();
+        String whileLagging = ReplicaRoutingDataSource.readFromReplica(() -> readOnly.execute(status -> whichServer()));
+        setLag(1);
+        routing.checkLag();
+        String caughtUp = ReplicaRoutingDataSource.readFromReplica(() -> readOnly.execute(status -> whichServer()));
+
+        // Then
+        assertThat(whileLagging).isEqualTo("primary");
+        assertThat(caughtUp).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica refuses connections")
+    void testUnreachable_FallsBackToPrimary() {
+        // Given
+        FlakyDataSource flaky = new FlakyDataSource(replica);
+        route(flaky);
+        flaky.down = true;
+
+        // When
+        String server = ReplicaRoutingDataSource.readFromReplica(() -> readOnly.execute(status -> whichServer()));
+
+        // Then
+        assertThat(server).isEqualTo("primary");
+        assertThat(routing.isReplicaUsable()).isFalse();
+    }
+
+    private String whichServer() {
+        return jdbc.queryForObject("select name from server", String.class);
+    }
+
+    private void setLag(long seconds) {
+        new JdbcTemplate(replica).update("update replica_lag set seconds = ?", seconds);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("create table server (name varchar(20))");
+        jdbc.update("insert into server values (?)", name);
+        jdbc.execute("create table replica_lag (seconds bigint)");
+        jdbc.update("insert into replica_lag values (0)");
+        return database;
+    }
+
+    private static class FlakyDataSource extends AbstractDataSource {
+
+        private final DataSource target;
+        private volatile boolean down;
+
+        FlakyDataSource(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return target.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
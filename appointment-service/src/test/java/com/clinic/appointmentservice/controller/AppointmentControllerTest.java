@@ -0,0 +1,197 @@
+package com.clinic.appointmentservice.controller;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.model.AppointmentQuery;
+import com.clinic.appointmentservice.model.AppointmentSummary;
+import com.clinic.appointmentservice.repository.AppointmentRepository;
+import com.clinic.appointmentservice.service.AppointmentService;
+import com.clinic.appointmentservice.service.BatchBookingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for AppointmentController
+ * Tests paginated, filtered and streaming reads
+ */
+@WebMvcTest(AppointmentController.class)
+@DisplayName("Appointment Controller Tests")
+class AppointmentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AppointmentService appointmentService;
+
+    @MockBean
+    private BatchBookingService batchBookingService;
+
+    @MockBean
+    private AppointmentRepository appointmentRepository;
+
+    private static Appointment appointment(long id) {
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setPatientId(1L);
+        appointment.setDoctorId(7L);
+        appointment.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        appointment.setStartTime(LocalTime.of(9, 0));
+        return appointment;
+    }
+
+    private static AppointmentSummary summary(long id) {
+        return new AppointmentSummary(id, 7L, 1L, LocalDate.of(2025, 12, 15), LocalTime.of(9, 0));
+    }
+
+    @Test
+    @DisplayName("Should bind filters and return the next cursor for a full page")
+    void testGetAll_FullPage() throws Exception {
+        // Given
+        when(appointmentRepository.findPage(any(AppointmentQuery.class), isNull()))
+                .thenReturn(List.of(summary(11), summary(12)));
+
+        // When & Then
+        mockMvc.perform(get("/appointments")
+                        .param("doctorId", "7")
+                        .param("from", "2025-12-01")
+                        .param("to", "2025-12-31")
+                        .param("afterId", "10")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(AppointmentController.NEXT_AFTER_ID, "12"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].startTime").value("09:00:00"));
+
+        verify(appointmentRepository).findPage(argThat(query ->
+                query.getDoctorId() == 7L
+                        && query.getPatientId() == null
+                        && query.getFrom().equals(LocalDate.of(2025, 12, 1))
+                        && query.getTo().equals(LocalDate.of(2025, 12, 31))
+                        && query.getAfterId() == 10L
+                        && query.effectiveLimit() == 2), isNull());
+        verify(appointmentRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should omit the cursor on the last page")
+    void testGetAll_LastPage() throws Exception {
+        // Given
+        when(appointmentRepository.findPage(any(AppointmentQuery.class), isNull()))
+                .thenReturn(List.of(summary(11)));
+
+        // When & Then
+        mockMvc.perform(get("/appointments"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(AppointmentController.NEXT_AFTER_ID))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Should select and write only the requested fields, keeping the cursor")
+    void testGetAll_SparseFields() throws Exception {
+        // Given
+        when(appointmentRepository.findPage(any(AppointmentQuery.class), eq(Set.of("startTime"))))
+                .thenReturn(List.of(new AppointmentSummary(11L, null, null, null, LocalTime.of(9, 0))));
+
+        // When & Then
+        mockMvc.perform(get("/appointments")
+                        .param("fields", "startTime")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(AppointmentController.NEXT_AFTER_ID, "11"))
+                .andExpect(jsonPath("$[0].startTime").value("09:00:00"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].doctorId").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should select every property of the appointment list DTO when all are requested")
+    void testGetAll_AllFields() throws Exception {
+        // Given
+        Set<String> all = Set.of("id", "doctorId", "patientId", "appointmentDate", "startTime");
+        when(appointmentRepository.findPage(any(AppointmentQuery.class), eq(all)))
+                .thenReturn(List.of(new AppointmentSummary(11L, 1L, 2L, LocalDate.of(2026, 10, 19), LocalTime.of(9, 0))));
+
+        // When & Then
+        mockMvc.perform(get("/appointments")
+                        .param("fields", "id,doctorId,patientId,appointmentDate,startTime"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].patientId").value(2))
+                .andExpect(jsonPath("$[0].appointmentDate").value("2026-10-19"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown field")
+    void testGetAll_UnknownField() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/appointments").param("fields", "room"))
+                .andExpect(status().isBadRequest());
+
+        verify(appointmentRepository, never()).findPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stream NDJSON, one appointment per line")
+    @SuppressWarnings("unchecked")
+    void testExport_Ndjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Appointment> consumer = invocation.getArgument(1);
+            consumer.accept(appointment(1));
+            consumer.accept(appointment(2));
+            return null;
+        }).when(appointmentRepository).stream(any(AppointmentQuery.class), any(Consumer.class));
+
+        // When
+        MvcResult started = mockMvc.perform(get("/appointments")
+                        .param("patientId", "1")
+                        .accept(AppointmentController.NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith(AppointmentController.NDJSON)))
+                .andExpect(content().string(allOf(
+                        startsWith("{\"id\":1,"),
+                        containsString("}\n{\"id\":2,"))));
+
+        verify(appointmentRepository, never()).findPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should count matching appointments")
+    void testCount() throws Exception {
+        // Given
+        when(appointmentRepository.count(any(AppointmentQuery.class))).thenReturn(42L);
+
+        // When & Then
+        mockMvc.perform(get("/appointments/count").param("doctorId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("42"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.clinic.appointmentservice.service;
+
+import com.clinic.appointmentservice.config.ReplicaRoutingDataSource;
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for AppointmentService
+ * Tests that cancelling an appointment the read replica has not caught up
+ * with still deletes it and frees its slot
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:appointment-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "clinic.datasource.replica.url=jdbc:h2:mem:appointment-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "clinic.datasource.replica.lag-query=select 0 as seconds_behind_source",
+        "clinic.datasource.replica.lag-column=seconds_behind_source",
+        "clinic.datasource.replica.lag-check-interval=1h",
+        "clinic.outbox.poll-interval=PT1H",
+        "spring.jpa.show-sql=false",
+        "eureka.client.enabled=false"
+})
+@DisplayName("Appointment Service Replica Tests")
+class AppointmentServiceReplicaTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private SlotOccupancyIndex occupancy;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    // The replica gets the primary's tables but none of the rows written after this point
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("drop all objects");
+        for (String statement : new JdbcTemplate(primary).queryForList("script nodata", String.class)) {
+            if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                replicaJdbc.execute(statement);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should cancel an appointment the replica does not have yet")
+    void testCancel_BeforeReplicaCatchesUp() {
+        // Given
+        Appointment appointment = new Appointment();
+        appointment.setPatientId(1L);
+        appointment.setDoctorId(7L);
+        appointment.setAppointmentDate(DATE);
+        appointment.setStartTime(LocalTime.of(10, 30));
+        Long id = appointmentRepository.save(appointment).getId();
+        int slot = occupancy.slotOf(appointment.getStartTime());
+        occupancy.reserve(7L, DATE, slot);
+        assertThat(onReplica(id)).isFalse();
+
+        // When
+        appointmentService.cancelAppointment(id);
+
+        // Then
+        assertThat(appointmentRepository.existsById(id)).isFalse();
+        assertThat(occupancy.reserve(7L, DATE, slot)).isTrue();
+    }
+
+    private boolean onReplica(Long id) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return ReplicaRoutingDataSource.readFromReplica(
+                () -> readOnly.execute(status -> appointmentRepository.existsById(id)));
+    }
+}
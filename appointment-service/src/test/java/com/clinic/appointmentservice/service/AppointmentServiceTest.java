@@ -1,20 +1,42 @@
 package com.clinic.appointmentservice.service;
 
 import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.entity.OutboxEvent;
+import com.clinic.appointmentservice.exception.InvalidAppointmentException;
+import com.clinic.appointmentservice.exception.SlotUnavailableException;
+import com.clinic.appointmentservice.model.BillRequest;
 import com.clinic.appointmentservice.model.DoctorDTO;
 import com.clinic.appointmentservice.model.Notification;
 import com.clinic.appointmentservice.model.PatientDTO;
+import com.clinic.appointmentservice.entity.IdempotencyRecord;
+import com.clinic.appointmentservice.exception.IdempotencyKeyReusedException;
 import com.clinic.appointmentservice.repository.AppointmentRepository;
+import com.clinic.appointmentservice.repository.IdempotencyRecordRepository;
+import com.clinic.appointmentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,10 +53,22 @@ class AppointmentServiceTest {
     @Mock
     private AppointmentRepository appointmentRepository;
 
+    @Mock
+    private OutboxEventRepository outboxRepository;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRepository;
+
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExecutorService lookupExecutor;
+
     private AppointmentService appointmentService;
 
     private Appointment sampleAppointment;
@@ -43,11 +77,15 @@ class AppointmentServiceTest {
 
     @BeforeEach
     void setUp() {
+        lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        appointmentService = newService(Duration.ofSeconds(2));
+
         // Setup sample appointment
         sampleAppointment = new Appointment();
         sampleAppointment.setPatientId(1L);
         sampleAppointment.setDoctorId(1L);
         sampleAppointment.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        sampleAppointment.setStartTime(LocalTime.of(10, 30));
 
         // Setup sample patient
         samplePatient = new PatientDTO();
@@ -64,6 +102,34 @@ class AppointmentServiceTest {
         sampleDoctor.setAvailable(true);
     }
 
+    @AfterEach
+    void tearDown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    private AppointmentService newService(Duration lookupTimeout) {
+        return new AppointmentService(
+                appointmentRepository, new OutboxWriter(outboxRepository, objectMapper, 100),
+                new ReadModelCache(restTemplate, restTemplate, lookupExecutor, 100, Duration.ofMinutes(10), Duration.ofMillis(2), 200),
+                new TransactionTemplate(transactionManager),
+                new SlotOccupancyIndex(appointmentRepository, Duration.ofMinutes(15)),
+                new IdempotencyStore(idempotencyRepository, 100, Duration.ofHours(24)),
+                lookupTimeout);
+    }
+
+    private List<OutboxEvent> capturedOutboxEvents() {
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository, times(2)).save(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private OutboxEvent capturedOutboxEvent(OutboxEvent.Type type) {
+        return capturedOutboxEvents().stream()
+                .filter(event -> event.getType() == type)
+                .findFirst()
+                .orElseThrow();
+    }
+
     @Test
     @DisplayName("Should successfully book appointment with valid patient and doctor")
     void testBookAppointment_Success() {
@@ -87,17 +153,7 @@ class AppointmentServiceTest {
         when(appointmentRepository.save(any(Appointment.class)))
                 .thenReturn(savedAppointment);
 
-        when(restTemplate.postForObject(
-                anyString(),
-                any(),
-                eq(Object.class)))
-                .thenReturn(new Object());
 
-        when(restTemplate.postForObject(
-                anyString(),
-                any(Notification.class),
-                eq(Void.class)))
-                .thenReturn(null);
 
         // When
         Appointment result = appointmentService.bookAppointment(sampleAppointment);
@@ -119,22 +175,16 @@ class AppointmentServiceTest {
 
         verify(appointmentRepository, times(1)).save(any(Appointment.class));
 
-        // Verify billing service was called
-        verify(restTemplate, times(1)).postForObject(
-                contains("http://BILLING-SERVICE/bills"),
-                isNull(),
-                eq(Object.class));
-
-        // Verify notification service was called
-        verify(restTemplate, times(1)).postForObject(
-                eq("http://NOTIFICATION-SERVICE/notifications"),
-                any(Notification.class),
-                eq(Void.class));
+        // Verify billing and notification were queued, not called inline
+        assertEquals(List.of(OutboxEvent.Type.BILL, OutboxEvent.Type.NOTIFICATION),
+                capturedOutboxEvents().stream().map(OutboxEvent::getType).toList());
+
+        verify(restTemplate, never()).postForObject(anyString(), any(), any());
     }
 
     @Test
     @DisplayName("Should include patient and doctor names in notification")
-    void testBookAppointment_NotificationContent() {
+    void testBookAppointment_NotificationContent() throws Exception {
         // Given
         Appointment savedAppointment = new Appointment();
         savedAppointment.setId(1L);
@@ -151,27 +201,22 @@ class AppointmentServiceTest {
         when(appointmentRepository.save(any(Appointment.class)))
                 .thenReturn(savedAppointment);
 
-        when(restTemplate.postForObject(anyString(), any(), eq(Object.class)))
-                .thenReturn(new Object());
 
         // When
         appointmentService.bookAppointment(sampleAppointment);
 
         // Then
-        verify(restTemplate).postForObject(
-                eq("http://NOTIFICATION-SERVICE/notifications"),
-                argThat(notification -> {
-                    Notification n = (Notification) notification;
-                    return n.getMessage().contains("John Doe") &&
-                           n.getMessage().contains("Dr. Smith") &&
-                           n.getMessage().contains("2025-12-15");
-                }),
-                eq(Void.class));
+        Notification n = objectMapper.readValue(
+                capturedOutboxEvent(OutboxEvent.Type.NOTIFICATION).getPayload(),
+                Notification[].class)[0];
+        assertTrue(n.getMessage().contains("John Doe"));
+        assertTrue(n.getMessage().contains("Dr. Smith"));
+        assertTrue(n.getMessage().contains("2025-12-15"));
     }
 
     @Test
-    @DisplayName("Should call billing service with correct appointment and patient IDs")
-    void testBookAppointment_BillingServiceCall() {
+    @DisplayName("Should queue bill with correct appointment and patient IDs")
+    void testBookAppointment_BillingServiceCall() throws Exception {
         // Given
         Appointment savedAppointment = new Appointment();
         savedAppointment.setId(5L);
@@ -188,17 +233,16 @@ class AppointmentServiceTest {
         when(appointmentRepository.save(any(Appointment.class)))
                 .thenReturn(savedAppointment);
 
-        when(restTemplate.postForObject(anyString(), any(), eq(Object.class)))
-                .thenReturn(new Object());
 
         // When
         appointmentService.bookAppointment(sampleAppointment);
 
         // Then
-        verify(restTemplate).postForObject(
-                eq("http://BILLING-SERVICE/bills?appointmentId=5&patientId=3"),
-                isNull(),
-                eq(Object.class));
+        BillRequest bill = objectMapper.readValue(
+                capturedOutboxEvent(OutboxEvent.Type.BILL).getPayload(),
+                BillRequest[].class)[0];
+        assertEquals(5L, bill.getAppointmentId());
+        assertEquals(3L, bill.getPatientId());
     }
 
     @Test
@@ -266,8 +310,6 @@ class AppointmentServiceTest {
         when(appointmentRepository.save(any(Appointment.class)))
                 .thenReturn(sampleAppointment);
 
-        when(restTemplate.postForObject(anyString(), any(), eq(Object.class)))
-                .thenReturn(new Object());
 
         // When
         appointmentService.bookAppointment(sampleAppointment);
@@ -284,6 +326,7 @@ class AppointmentServiceTest {
         futureAppointment.setPatientId(1L);
         futureAppointment.setDoctorId(1L);
         futureAppointment.setAppointmentDate(LocalDate.now().plusDays(7));
+        futureAppointment.setStartTime(LocalTime.of(9, 0));
 
         Appointment savedAppointment = new Appointment();
         savedAppointment.setId(1L);
@@ -300,8 +343,6 @@ class AppointmentServiceTest {
         when(appointmentRepository.save(any(Appointment.class)))
                 .thenReturn(savedAppointment);
 
-        when(restTemplate.postForObject(anyString(), any(), eq(Object.class)))
-                .thenReturn(new Object());
 
         // When
         Appointment result = appointmentService.bookAppointment(futureAppointment);
@@ -310,4 +351,365 @@ class AppointmentServiceTest {
         assertNotNull(result);
         assertTrue(result.getAppointmentDate().isAfter(LocalDate.now()));
     }
+
+    @Test
+    @DisplayName("Should look up patient and doctor concurrently")
+    void testBookAppointment_ParallelLookups() {
+        // Given - each lookup only returns once both are in flight
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenAnswer(invocation -> {
+                    bothInFlight.countDown();
+                    assertTrue(bothInFlight.await(1, TimeUnit.SECONDS));
+                    return samplePatient;
+                });
+
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenAnswer(invocation -> {
+                    bothInFlight.countDown();
+                    assertTrue(bothInFlight.await(1, TimeUnit.SECONDS));
+                    return sampleDoctor;
+                });
+
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenReturn(sampleAppointment);
+
+        // When
+        Appointment result = appointmentService.bookAppointment(sampleAppointment);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(0, bothInFlight.getCount());
+    }
+
+    @Test
+    @DisplayName("Should fail booking when lookups miss the shared deadline")
+    void testBookAppointment_LookupTimeout() {
+        // Given
+        appointmentService = newService(Duration.ofMillis(100));
+
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenReturn(samplePatient);
+
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(1000);
+                    return sampleDoctor;
+                });
+
+        // When & Then
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> appointmentService.bookAppointment(sampleAppointment));
+        assertEquals("Doctor lookup timed out", ex.getMessage());
+
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+        verify(outboxRepository, never()).save(any(OutboxEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a second booking for the same doctor slot without lookups")
+    void testBookAppointment_SlotConflict() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenReturn(samplePatient);
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenReturn(sampleDoctor);
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenReturn(sampleAppointment);
+
+        appointmentService.bookAppointment(sampleAppointment);
+
+        Appointment sameSlot = new Appointment();
+        sameSlot.setPatientId(2L);
+        sameSlot.setDoctorId(1L);
+        sameSlot.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        sameSlot.setStartTime(LocalTime.of(10, 30));
+
+        // When & Then
+        assertThrows(SlotUnavailableException.class,
+                () -> appointmentService.bookAppointment(sameSlot));
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(PatientDTO.class));
+        verify(appointmentRepository, times(1)).save(any(Appointment.class));
+    }
+
+    @Test
+    @DisplayName("Should free the slot again when booking fails")
+    void testBookAppointment_ReleasesSlotOnFailure() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenThrow(new RuntimeException("Patient not found"))
+                .thenReturn(samplePatient);
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenReturn(sampleDoctor);
+
+        assertThrows(RuntimeException.class,
+                () -> appointmentService.bookAppointment(sampleAppointment));
+
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenReturn(sampleAppointment);
+
+        // When
+        Appointment result = appointmentService.bookAppointment(sampleAppointment);
+
+        // Then
+        assertNotNull(result);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat lookups from the read-model cache until evicted")
+    void testBookAppointment_ReadModelCache() {
+        // Given
+        ReadModelCache readModel = new ReadModelCache(restTemplate, restTemplate, lookupExecutor, 100, Duration.ofMinutes(10), Duration.ofMillis(2), 200);
+        appointmentService = new AppointmentService(
+                appointmentRepository, new OutboxWriter(outboxRepository, objectMapper, 100), readModel,
+                new TransactionTemplate(transactionManager),
+                new SlotOccupancyIndex(appointmentRepository, Duration.ofMinutes(15)),
+                new IdempotencyStore(idempotencyRepository, 100, Duration.ofHours(24)),
+                Duration.ofSeconds(2));
+
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenReturn(samplePatient);
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenReturn(sampleDoctor);
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenReturn(sampleAppointment);
+
+        Appointment later = new Appointment();
+        later.setPatientId(1L);
+        later.setDoctorId(1L);
+        later.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        later.setStartTime(LocalTime.of(11, 0));
+
+        Appointment latest = new Appointment();
+        latest.setPatientId(1L);
+        latest.setDoctorId(1L);
+        latest.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        latest.setStartTime(LocalTime.of(11, 15));
+
+        // When
+        appointmentService.bookAppointment(sampleAppointment);
+        appointmentService.bookAppointment(later);
+        readModel.evictPatient(1L);
+        appointmentService.bookAppointment(latest);
+
+        // Then - the doctor is fetched once, the patient again only after the change event
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(PatientDTO.class));
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(DoctorDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should replay a retried booking with the same Idempotency-Key")
+    void testBookAppointment_IdempotentReplay() {
+        // Given
+        Appointment savedAppointment = new Appointment();
+        savedAppointment.setId(1L);
+        savedAppointment.setPatientId(1L);
+        savedAppointment.setDoctorId(1L);
+        savedAppointment.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        savedAppointment.setStartTime(LocalTime.of(10, 30));
+
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenReturn(samplePatient);
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenReturn(sampleDoctor);
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenReturn(savedAppointment);
+
+        // When
+        Appointment first = appointmentService.bookAppointment(sampleAppointment, "key-1");
+        Appointment retry = appointmentService.bookAppointment(sampleAppointment, "key-1");
+
+        // Then - one booking, one bill, one notification
+        assertSame(first, retry);
+        verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        verify(idempotencyRepository, times(1)).save(any(IdempotencyRecord.class));
+        assertEquals(2, capturedOutboxEvents().size());
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the in-flight booking")
+    void testBookAppointment_ConcurrentDuplicateWaits() throws Exception {
+        // Given - the first booking is held inside its doctor lookup
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenReturn(samplePatient);
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenAnswer(invocation -> {
+                    lookupStarted.countDown();
+                    assertTrue(release.await(1, TimeUnit.SECONDS));
+                    return sampleDoctor;
+                });
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenReturn(sampleAppointment);
+
+        CompletableFuture<Appointment> first = CompletableFuture.supplyAsync(
+                () -> appointmentService.bookAppointment(sampleAppointment, "key-2"), lookupExecutor);
+        assertTrue(lookupStarted.await(1, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<Appointment> duplicate = CompletableFuture.supplyAsync(
+                () -> appointmentService.bookAppointment(sampleAppointment, "key-2"), lookupExecutor);
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        // Then
+        assertSame(first.get(1, TimeUnit.SECONDS), duplicate.get(1, TimeUnit.SECONDS));
+        verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(DoctorDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should replay a booking persisted by another instance without running the pipeline")
+    void testBookAppointment_PersistedReplay() {
+        // Given
+        Appointment original = new Appointment();
+        original.setId(42L);
+        original.setPatientId(1L);
+        original.setDoctorId(1L);
+        original.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        original.setStartTime(LocalTime.of(10, 30));
+
+        when(idempotencyRepository.findById("key-3"))
+                .thenReturn(Optional.of(new IdempotencyRecord("key-3", original)));
+
+        // When
+        Appointment result = appointmentService.bookAppointment(sampleAppointment, "key-3");
+
+        // Then
+        assertEquals(42L, result.getId());
+        verifyNoInteractions(restTemplate);
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+        verify(outboxRepository, never()).save(any(OutboxEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an Idempotency-Key reused for a different booking")
+    void testBookAppointment_IdempotencyKeyReused() {
+        // Given
+        Appointment original = new Appointment();
+        original.setId(42L);
+        original.setPatientId(1L);
+        original.setDoctorId(2L);
+        original.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        original.setStartTime(LocalTime.of(10, 30));
+
+        when(idempotencyRepository.findById("key-4"))
+                .thenReturn(Optional.of(new IdempotencyRecord("key-4", original)));
+
+        // When & Then
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> appointmentService.bookAppointment(sampleAppointment, "key-4"));
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an Idempotency-Key longer than the key column before booking")
+    void testBookAppointment_IdempotencyKeyTooLong() {
+        // Given
+        String key = "k".repeat(IdempotencyRecord.MAX_KEY_LENGTH + 1);
+
+        // When & Then
+        assertThrows(InvalidAppointmentException.class,
+                () -> appointmentService.bookAppointment(sampleAppointment, key));
+
+        verifyNoInteractions(restTemplate, appointmentRepository, idempotencyRepository);
+    }
+
+    @Test
+    @DisplayName("Should map a unique-constraint violation to a slot conflict")
+    void testBookAppointment_DatabaseGuard() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenReturn(samplePatient);
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenReturn(sampleDoctor);
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_appointment_doctor_slot"));
+
+        // When & Then
+        assertThrows(SlotUnavailableException.class,
+                () -> appointmentService.bookAppointment(sampleAppointment));
+    }
+
+    @Test
+    @DisplayName("Should release the slot and rethrow when another constraint fails")
+    void testBookAppointment_OtherConstraint() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenReturn(samplePatient);
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenReturn(sampleDoctor);
+        when(appointmentRepository.save(any(Appointment.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry '9' for key 'outbox_event.PRIMARY'"))
+                .thenReturn(sampleAppointment);
+
+        // When
+        assertThrows(DataIntegrityViolationException.class,
+                () -> appointmentService.bookAppointment(sampleAppointment));
+        Appointment retried = appointmentService.bookAppointment(sampleAppointment);
+
+        // Then: the slot was not left blocked in memory
+        assertSame(sampleAppointment, retried);
+        verify(appointmentRepository, times(2)).save(any(Appointment.class));
+    }
+
+    @Test
+    @DisplayName("Should replay when another instance recorded the same Idempotency-Key first")
+    void testBookAppointment_IdempotencyKeyRace() {
+        // Given
+        Appointment original = new Appointment();
+        original.setId(42L);
+        original.setPatientId(1L);
+        original.setDoctorId(1L);
+        original.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        original.setStartTime(LocalTime.of(10, 30));
+
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO.class)))
+                .thenReturn(samplePatient);
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO.class)))
+                .thenReturn(sampleDoctor);
+        when(idempotencyRepository.findById("key-5"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyRecord("key-5", original)));
+        when(appointmentRepository.save(any(Appointment.class))).thenReturn(sampleAppointment);
+        when(idempotencyRepository.save(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'key-5' for key 'idempotency_record.PRIMARY'"));
+
+        // When
+        Appointment result = appointmentService.bookAppointment(sampleAppointment, "key-5");
+
+        // Then
+        assertEquals(42L, result.getId());
+    }
+
+    @Test
+    @DisplayName("Should reject a booking without a patient before any lookup")
+    void testBookAppointment_MissingPatient() {
+        // Given
+        sampleAppointment.setPatientId(null);
+
+        // When & Then
+        assertThrows(InvalidAppointmentException.class,
+                () -> appointmentService.bookAppointment(sampleAppointment));
+
+        verifyNoInteractions(restTemplate, appointmentRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject start times off the slot grid")
+    void testBookAppointment_MisalignedStartTime() {
+        // Given
+        sampleAppointment.setStartTime(LocalTime.of(10, 7));
+
+        // When & Then
+        assertThrows(InvalidAppointmentException.class,
+                () -> appointmentService.bookAppointment(sampleAppointment));
+
+        verifyNoInteractions(restTemplate, appointmentRepository);
+    }
 }
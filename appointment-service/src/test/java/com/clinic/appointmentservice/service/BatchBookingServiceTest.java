@@ -0,0 +1,194 @@
+package com.clinic.appointmentservice.service;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.entity.OutboxEvent;
+import com.clinic.appointmentservice.model.BatchBookingResult;
+import com.clinic.appointmentservice.model.DoctorDTO;
+import com.clinic.appointmentservice.model.PatientDTO;
+import com.clinic.appointmentservice.repository.AppointmentRepository;
+import com.clinic.appointmentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BatchBookingService
+ * Tests bulk validation, per-row rejection and batched inserts
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Batch Booking Service Tests")
+class BatchBookingServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 15);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private OutboxEventRepository outboxRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService lookupExecutor;
+
+    private BatchBookingService batchService;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        batchService = new BatchBookingService(
+                appointmentRepository,
+                new OutboxWriter(outboxRepository, new ObjectMapper().findAndRegisterModules(), 100),
+                new ReadModelCache(restTemplate, restTemplate, lookupExecutor, 100, Duration.ofMinutes(10), Duration.ofMillis(2), 200),
+                new TransactionTemplate(transactionManager),
+                new SlotOccupancyIndex(appointmentRepository, Duration.ofMinutes(15)),
+                2, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    private static Appointment appointment(long patientId, long doctorId, LocalTime startTime) {
+        Appointment appointment = new Appointment();
+        appointment.setPatientId(patientId);
+        appointment.setDoctorId(doctorId);
+        appointment.setAppointmentDate(DAY);
+        appointment.setStartTime(startTime);
+        return appointment;
+    }
+
+    private static PatientDTO patient(long id) {
+        PatientDTO patient = new PatientDTO();
+        patient.setId(id);
+        patient.setName("Patient " + id);
+        return patient;
+    }
+
+    private static DoctorDTO doctor(long id) {
+        DoctorDTO doctor = new DoctorDTO();
+        doctor.setId(id);
+        doctor.setName("Dr. " + id);
+        return doctor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assignIdsOnInsert() {
+        when(appointmentRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Appointment> rows = invocation.getArgument(0);
+            rows.forEach(row -> row.setId(ids.incrementAndGet()));
+            return rows;
+        });
+    }
+
+    @Test
+    @DisplayName("Should validate referenced ids with one multi-get per service")
+    void testBookAll_BulkLookups() {
+        // Given
+        when(restTemplate.getForObject(eq("http://PATIENT-SERVICE/patients?ids=1,2"), eq(PatientDTO[].class)))
+                .thenReturn(new PatientDTO[] {patient(1), patient(2)});
+        when(restTemplate.getForObject(eq("http://DOCTOR-SERVICE/doctors?ids=7"), eq(DoctorDTO[].class)))
+                .thenReturn(new DoctorDTO[] {doctor(7)});
+        assignIdsOnInsert();
+
+        // When
+        BatchBookingResult result = batchService.bookAll(List.of(
+                appointment(1, 7, LocalTime.of(9, 0)),
+                appointment(2, 7, LocalTime.of(9, 15)),
+                appointment(1, 7, LocalTime.of(9, 30))));
+
+        // Then
+        assertEquals(3, result.getBooked().size());
+        assertTrue(result.getRejected().isEmpty());
+
+        // chunk size 2 -> two JDBC batches, each with one BILL and one NOTIFICATION outbox row
+        verify(appointmentRepository, times(2)).insertAll(anyList());
+        ArgumentCaptor<OutboxEvent> events = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository, times(4)).save(events.capture());
+        assertEquals(2, events.getAllValues().stream()
+                .filter(e -> e.getType() == OutboxEvent.Type.BILL).count());
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown references and slot clashes row by row")
+    void testBookAll_PerRowRejections() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO[].class)))
+                .thenReturn(new PatientDTO[] {patient(1)});
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO[].class)))
+                .thenReturn(new DoctorDTO[] {doctor(7)});
+        assignIdsOnInsert();
+
+        // When
+        BatchBookingResult result = batchService.bookAll(List.of(
+                appointment(1, 7, LocalTime.of(9, 0)),
+                appointment(1, 7, LocalTime.of(9, 0)),
+                appointment(99, 7, LocalTime.of(10, 0)),
+                appointment(1, 7, LocalTime.of(10, 5))));
+
+        // Then
+        assertEquals(1, result.getBooked().size());
+        assertEquals(List.of(1, 2, 3), result.getRejected().stream()
+                .map(r -> r.getIndex()).toList());
+        assertTrue(result.getRejected().get(1).getReason().contains("Patient 99 not found"));
+    }
+
+    @Test
+    @DisplayName("Should retry a chunk row by row when the unique constraint trips")
+    void testBookAll_DatabaseGuardIsolatesRow() {
+        // Given
+        when(restTemplate.getForObject(anyString(), eq(PatientDTO[].class)))
+                .thenReturn(new PatientDTO[] {patient(1)});
+        when(restTemplate.getForObject(anyString(), eq(DoctorDTO[].class)))
+                .thenReturn(new DoctorDTO[] {doctor(7)});
+        when(appointmentRepository.insertAll(anyList()))
+                .thenThrow(new DuplicateKeyException("uk_appointment_doctor_slot"))
+                .thenAnswer(invocation -> {
+                    List<Appointment> rows = invocation.getArgument(0);
+                    rows.forEach(row -> row.setId(ids.incrementAndGet()));
+                    return rows;
+                })
+                .thenThrow(new DuplicateKeyException("uk_appointment_doctor_slot"));
+
+        // When
+        BatchBookingResult result = batchService.bookAll(List.of(
+                appointment(1, 7, LocalTime.of(9, 0)),
+                appointment(1, 7, LocalTime.of(9, 15))));
+
+        // Then
+        assertEquals(1, result.getBooked().size());
+        assertEquals(1, result.getRejected().size());
+        assertEquals(1, result.getRejected().get(0).getIndex());
+        assertTrue(result.getRejected().get(0).getReason().contains("already booked"));
+    }
+}
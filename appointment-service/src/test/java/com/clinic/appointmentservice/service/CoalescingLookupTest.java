@@ -0,0 +1,129 @@
+package com.clinic.appointmentservice.service;
+
+import com.clinic.appointmentservice.model.DoctorDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CoalescingLookup
+ * Tests that concurrent lookups are merged into multi-get calls
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Coalescing Lookup Tests")
+class CoalescingLookupTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private CoalescingLookup<DoctorDTO> lookup(Duration window, int maxBatchSize) {
+        return new CoalescingLookup<>("Doctor", "http://DOCTOR-SERVICE/doctors",
+                DoctorDTO.class, DoctorDTO[].class, DoctorDTO::getId,
+                restTemplate, executor, window, maxBatchSize);
+    }
+
+    private static DoctorDTO doctor(long id) {
+        DoctorDTO doctor = new DoctorDTO();
+        doctor.setId(id);
+        doctor.setName("Dr. " + id);
+        return doctor;
+    }
+
+    @Test
+    @DisplayName("Should merge lookups within one window into a single de-duplicated multi-get")
+    void testLoad_CoalescesWindow() throws Exception {
+        // Given
+        CoalescingLookup<DoctorDTO> lookup = lookup(Duration.ofMillis(50), 200);
+        when(restTemplate.getForObject(eq("http://DOCTOR-SERVICE/doctors?ids=1,2,3"), eq(DoctorDTO[].class)))
+                .thenReturn(new DoctorDTO[] {doctor(1), doctor(2), doctor(3)});
+
+        // When
+        CompletableFuture<DoctorDTO> first = lookup.load(3L);
+        CompletableFuture<DoctorDTO> second = lookup.load(1L);
+        CompletableFuture<DoctorDTO> duplicate = lookup.load(3L);
+        CompletableFuture<DoctorDTO> third = lookup.load(2L);
+
+        // Then
+        assertSame(first, duplicate);
+        assertEquals(3L, first.get().getId());
+        assertEquals(1L, second.get().getId());
+        assertEquals(2L, third.get().getId());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(DoctorDTO[].class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(DoctorDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should use the single-record endpoint when a window holds one id")
+    void testLoad_SingleId() throws Exception {
+        // Given
+        CoalescingLookup<DoctorDTO> lookup = lookup(Duration.ofMillis(1), 200);
+        when(restTemplate.getForObject(eq("http://DOCTOR-SERVICE/doctors/7"), eq(DoctorDTO.class)))
+                .thenReturn(doctor(7));
+
+        // When & Then
+        assertEquals(7L, lookup.load(7L).get().getId());
+        verify(restTemplate, never()).getForObject(anyString(), eq(DoctorDTO[].class));
+    }
+
+    @Test
+    @DisplayName("Should fail only the ids missing from the multi-get response")
+    void testLoad_UnknownId() throws Exception {
+        // Given
+        CoalescingLookup<DoctorDTO> lookup = lookup(Duration.ofMillis(50), 200);
+        when(restTemplate.getForObject(eq("http://DOCTOR-SERVICE/doctors?ids=1,99"), eq(DoctorDTO[].class)))
+                .thenReturn(new DoctorDTO[] {doctor(1)});
+
+        // When
+        CompletableFuture<DoctorDTO> known = lookup.load(1L);
+        CompletableFuture<DoctorDTO> unknown = lookup.load(99L);
+
+        // Then
+        assertEquals(1L, known.get().getId());
+        ExecutionException ex = assertThrows(ExecutionException.class, unknown::get);
+        assertEquals("Doctor not found", ex.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should dispatch a full batch without waiting for the window")
+    void testLoad_FullBatch() throws Exception {
+        // Given
+        CoalescingLookup<DoctorDTO> lookup = lookup(Duration.ofMinutes(1), 2);
+        when(restTemplate.getForObject(eq("http://DOCTOR-SERVICE/doctors?ids=4,5"), eq(DoctorDTO[].class)))
+                .thenReturn(new DoctorDTO[] {doctor(4), doctor(5)});
+
+        // When
+        CompletableFuture<DoctorDTO> first = lookup.load(4L);
+        CompletableFuture<DoctorDTO> second = lookup.load(5L);
+
+        // Then
+        assertEquals(4L, first.get().getId());
+        assertEquals(5L, second.get().getId());
+    }
+}
@@ -0,0 +1,81 @@
+package com.clinic.appointmentservice.service;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.entity.IdempotencyRecord;
+import com.clinic.appointmentservice.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyStore
+ * Tests that persisted keys are looked up in a read-write transaction, which
+ * the replica routing sends to the primary
+ */
+@SpringJUnitConfig
+@DisplayName("Idempotency Store Tests")
+class IdempotencyStoreTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return mock(PlatformTransactionManager.class);
+        }
+
+        @Bean
+        IdempotencyRecordRepository idempotencyRecordRepository() {
+            return mock(IdempotencyRecordRepository.class);
+        }
+
+        @Bean
+        IdempotencyStore idempotencyStore(IdempotencyRecordRepository records) {
+            return new IdempotencyStore(records, 100, Duration.ofHours(24));
+        }
+    }
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository records;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should read a persisted key from the primary, not the replica")
+    void testReplay_ReadsFromPrimary() {
+        // Given
+        Appointment original = new Appointment();
+        original.setId(42L);
+        original.setPatientId(1L);
+        original.setDoctorId(1L);
+        original.setAppointmentDate(LocalDate.of(2025, 12, 15));
+        original.setStartTime(LocalTime.of(10, 30));
+        when(records.findById("key-1")).thenReturn(Optional.of(new IdempotencyRecord("key-1", original)));
+
+        // When
+        Optional<Appointment> result = idempotencyStore.replay("key-1", original);
+
+        // Then
+        assertEquals(42L, result.orElseThrow().getId());
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+    }
+}
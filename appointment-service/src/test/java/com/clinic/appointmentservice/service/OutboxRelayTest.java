@@ -0,0 +1,257 @@
+package com.clinic.appointmentservice.service;
+
+import com.clinic.appointmentservice.entity.OutboxEvent;
+import com.clinic.appointmentservice.model.BillRequest;
+import com.clinic.appointmentservice.model.Notification;
+import com.clinic.appointmentservice.model.NotificationResult;
+import com.clinic.appointmentservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay
+ * Tests delivery and retry of queued billing and notification work
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Relay Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, restTemplate, restTemplate, objectMapper,
+                new TransactionTemplate(transactionManager), 100, 5, Duration.ofSeconds(1), Duration.ofSeconds(60), 100);
+    }
+
+    @Test
+    @DisplayName("Should deliver each event type as one batch call and delete the events")
+    void testRelayBatch_Delivers() {
+        // Given
+        OutboxEvent bill = new OutboxEvent(OutboxEvent.Type.BILL,
+                "[{\"appointmentId\":5,\"patientId\":3}]");
+        OutboxEvent bulkBill = new OutboxEvent(OutboxEvent.Type.BILL,
+                "[{\"appointmentId\":6,\"patientId\":3},{\"appointmentId\":7,\"patientId\":4}]");
+        OutboxEvent notification = new OutboxEvent(OutboxEvent.Type.NOTIFICATION,
+                "[{\"message\":\"Appointment booked\",\"recipient\":\"patient\"}]");
+        bill.setId(1L);
+        notification.setId(2L);
+        bulkBill.setId(3L);
+
+        when(outboxRepository.findDue(eq(5), any(Instant.class), any()))
+                .thenReturn(List.of(bill, notification, bulkBill));
+
+        // When
+        int relayed = relay.relayBatch();
+
+        // Then
+        assertEquals(3, relayed);
+        verify(restTemplate).postForObject(
+                eq("http://BILLING-SERVICE/bills/batch"),
+                argThat(bills -> ((List<?>) bills).stream()
+                        .map(b -> ((BillRequest) b).getAppointmentId())
+                        .toList().equals(List.of(5L, 6L, 7L))),
+                eq(Object.class));
+        verify(restTemplate).postForObject(
+                eq("http://NOTIFICATION-SERVICE/notifications/batch"),
+                argThat(notifications -> ((Notification) ((List<?>) notifications).get(0))
+                        .getMessage().equals("Appointment booked")),
+                eq(NotificationResult[].class));
+        verify(outboxRepository).deleteClaimed(eq(List.of(1L, 3L, 2L)), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should still accept single-object payloads written before batching")
+    void testRelayBatch_LegacyPayload() {
+        // Given
+        OutboxEvent bill = new OutboxEvent(OutboxEvent.Type.BILL,
+                "{\"appointmentId\":5,\"patientId\":3}");
+        bill.setId(1L);
+
+        when(outboxRepository.findDue(eq(5), any(Instant.class), any()))
+                .thenReturn(List.of(bill));
+
+        // When
+        relay.relayBatch();
+
+        // Then
+        verify(restTemplate).postForObject(
+                eq("http://BILLING-SERVICE/bills/batch"),
+                argThat(bills -> ((BillRequest) ((List<?>) bills).get(0)).getAppointmentId() == 5L),
+                eq(Object.class));
+        verify(outboxRepository).deleteClaimed(eq(List.of(1L)), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should keep failed event and schedule a retry")
+    void testRelayBatch_RetriesFailure() {
+        // Given
+        OutboxEvent bill = new OutboxEvent(OutboxEvent.Type.BILL,
+                "[{\"appointmentId\":5,\"patientId\":3}]");
+        bill.setId(1L);
+
+        when(outboxRepository.findDue(eq(5), any(Instant.class), any()))
+                .thenReturn(List.of(bill));
+        when(restTemplate.postForObject(anyString(), any(), eq(Object.class)))
+                .thenThrow(new ResourceAccessException("billing-service down"));
+
+        // When
+        Instant before = Instant.now();
+        relay.relayBatch();
+
+        // Then
+        assertEquals(1, bill.getAttempts());
+        assertEquals("billing-service down", bill.getLastError());
+        assertFalse(bill.getNextAttemptAt().isBefore(before.plusSeconds(1)));
+        verify(outboxRepository).releaseClaimed(eq(1L), any(Instant.class), eq(bill.getPayload()), eq(1),
+                eq(bill.getNextAttemptAt()), eq("billing-service down"));
+        verify(outboxRepository, never()).deleteClaimed(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should retry only the notifications that were not sent")
+    void testRelayBatch_RetriesUnsentNotifications() {
+        // Given
+        OutboxEvent single = new OutboxEvent(OutboxEvent.Type.NOTIFICATION,
+                "[{\"message\":\"Booked 1\",\"recipient\":\"patient\"}]");
+        OutboxEvent bulk = new OutboxEvent(OutboxEvent.Type.NOTIFICATION,
+                "[{\"message\":\"Booked 2\",\"recipient\":\"patient\"},"
+                        + "{\"message\":\"Booked 3\",\"recipient\":\"patient\"}]");
+        single.setId(1L);
+        bulk.setId(2L);
+
+        when(outboxRepository.findDue(eq(5), any(Instant.class), any()))
+                .thenReturn(List.of(single, bulk));
+        when(restTemplate.postForObject(anyString(), any(), eq(NotificationResult[].class)))
+                .thenReturn(new NotificationResult[] {
+                        new NotificationResult(0, true, null),
+                        new NotificationResult(1, true, null),
+                        new NotificationResult(2, false, "Mailbox full")});
+
+        // When
+        relay.relayBatch();
+
+        // Then
+        verify(outboxRepository).deleteClaimed(eq(List.of(1L)), any(Instant.class));
+        assertEquals(1, bulk.getAttempts());
+        assertEquals("Mailbox full", bulk.getLastError());
+        assertEquals("[{\"message\":\"Booked 3\",\"recipient\":\"patient\"}]", bulk.getPayload());
+        verify(outboxRepository).releaseClaimed(eq(2L), any(Instant.class), eq(bulk.getPayload()), eq(1),
+                any(Instant.class), eq("Mailbox full"));
+    }
+
+    @Test
+    @DisplayName("Should claim events under a lease and deliver them outside any transaction")
+    void testRelayBatch_ClaimsBeforeDelivering() {
+        // Given
+        OutboxEvent bill = new OutboxEvent(OutboxEvent.Type.BILL,
+                "[{\"appointmentId\":5,\"patientId\":3}]");
+        bill.setId(1L);
+
+        when(outboxRepository.findDue(eq(5), any(Instant.class), any()))
+                .thenReturn(List.of(bill));
+        when(outboxRepository.deleteClaimed(any(), any(Instant.class))).thenReturn(1);
+
+        // When
+        Instant before = Instant.now();
+        relay.relayBatch();
+
+        // Then
+        Instant leasedUntil = bill.getNextAttemptAt();
+        assertFalse(leasedUntil.isBefore(before.plusSeconds(59)));
+        InOrder order = inOrder(transactionManager, outboxRepository, restTemplate);
+        order.verify(outboxRepository).findDue(eq(5), any(Instant.class), any());
+        order.verify(transactionManager).commit(any());
+        order.verify(restTemplate).postForObject(anyString(), any(), eq(Object.class));
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(outboxRepository).deleteClaimed(List.of(1L), leasedUntil);
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should split a batch into calls of at most max-payloads-per-call items")
+    void testRelayBatch_CapsPayloadsPerCall() {
+        // Given: two rows, but five bills between them, with three allowed per call
+        relay = new OutboxRelay(outboxRepository, restTemplate, restTemplate, objectMapper,
+                new TransactionTemplate(transactionManager), 2, 5, Duration.ofSeconds(1), Duration.ofSeconds(60), 3);
+        OutboxEvent first = new OutboxEvent(OutboxEvent.Type.BILL,
+                "[{\"appointmentId\":1,\"patientId\":1},{\"appointmentId\":2,\"patientId\":1}]");
+        OutboxEvent second = new OutboxEvent(OutboxEvent.Type.BILL,
+                "[{\"appointmentId\":3,\"patientId\":1},{\"appointmentId\":4,\"patientId\":1},"
+                        + "{\"appointmentId\":5,\"patientId\":1}]");
+        first.setId(1L);
+        second.setId(2L);
+
+        when(outboxRepository.findDue(eq(5), any(Instant.class), any()))
+                .thenReturn(List.of(first, second));
+        when(restTemplate.postForObject(anyString(), any(), eq(Object.class))).thenAnswer(invocation -> {
+            if (invocation.<List<?>>getArgument(1).size() == 3) {
+                throw new ResourceAccessException("Read timed out");
+            }
+            return null;
+        });
+
+        // When
+        relay.relayBatch();
+
+        // Then: each row went in its own call, and only the one that timed out is retried
+        verify(restTemplate, times(2)).postForObject(anyString(), argThat(bills -> ((List<?>) bills).size() <= 3),
+                eq(Object.class));
+        verify(outboxRepository).deleteClaimed(eq(List.of(1L)), any(Instant.class));
+        verify(outboxRepository).releaseClaimed(eq(2L), any(Instant.class), eq(second.getPayload()), eq(1),
+                any(Instant.class), eq("Read timed out"));
+        assertEquals(0, first.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should keep draining while full batches are returned")
+    void testDrain_LoopsOverFullBatches() {
+        // Given
+        relay = new OutboxRelay(outboxRepository, restTemplate, restTemplate, objectMapper,
+                new TransactionTemplate(transactionManager), 1, 5, Duration.ofSeconds(1), Duration.ofSeconds(60), 100);
+
+        OutboxEvent first = new OutboxEvent(OutboxEvent.Type.BILL,
+                "[{\"appointmentId\":1,\"patientId\":1}]");
+        first.setId(1L);
+
+        when(outboxRepository.findDue(eq(5), any(Instant.class), any()))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of());
+
+        // When
+        relay.drain();
+
+        // Then
+        verify(outboxRepository, times(2)).findDue(eq(5), any(Instant.class), any());
+        verify(outboxRepository).deleteClaimed(eq(List.of(1L)), any(Instant.class));
+    }
+}
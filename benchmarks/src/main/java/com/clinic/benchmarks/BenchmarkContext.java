@@ -0,0 +1,86 @@
+package com.clinic.benchmarks;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.clinic.appointmentservice.AppointmentServiceApplication;
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.patientservice.PatientServiceApplication;
+
+/**
+ * Starts the real appointment-service bean graph on an in-memory H2
+ * database, with Eureka replaced by static instances that point at
+ * {@link DownstreamStubs}.
+ */
+final class BenchmarkContext {
+
+    static final int SLOTS_PER_DAY = 96;
+
+    private BenchmarkContext() {}
+
+    static ConfigurableApplicationContext start(DownstreamStubs stubs, String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--eureka.client.enabled=false",
+                "--logging.level.root=WARN",
+                // The relay is measured separately; keep it off the booking path
+                "--clinic.outbox.poll-interval=PT1H"));
+        for (String service : List.of("PATIENT-SERVICE", "DOCTOR-SERVICE", "BILLING-SERVICE", "NOTIFICATION-SERVICE")) {
+            args.add("--spring.cloud.discovery.client.simple.instances[" + service + "][0].uri=" + stubs.uri());
+        }
+        args.addAll(List.of(overrides));
+
+        return new SpringApplicationBuilder(AppointmentServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Starts the patient-service bean graph on its own in-memory H2 database.
+     * Both services ship an application.yml and only the first on the
+     * classpath would be found, so none is read and the settings the
+     * benchmarks depend on are given here.
+     */
+    static ConfigurableApplicationContext startPatientService(String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.config.name=patient-benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                "--spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+                "--eureka.client.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(overrides));
+
+        return new SpringApplicationBuilder(PatientServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * The n-th distinct (doctor, day, slot) starting tomorrow, so generated
+     * bookings never collide with each other.
+     */
+    static Appointment appointment(long n, int doctors, int patients) {
+        long perDoctor = n / doctors;
+        Appointment appointment = new Appointment();
+        appointment.setDoctorId(n % doctors + 1);
+        appointment.setPatientId(n % patients + 1);
+        appointment.setAppointmentDate(LocalDate.now().plusDays(1 + perDoctor / SLOTS_PER_DAY));
+        appointment.setStartTime(LocalTime.MIN.plusMinutes(15 * (perDoctor % SLOTS_PER_DAY)));
+        return appointment;
+    }
+}
@@ -0,0 +1,75 @@
+package com.clinic.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.service.AppointmentService;
+
+/**
+ * End-to-end AppointmentService.bookAppointment: slot claim, patient and
+ * doctor lookups against the HTTP stubs, and the appointment plus outbox
+ * insert. cacheSize=0 turns the read-model cache off so every booking pays
+ * for both lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class BookingBenchmark {
+
+    @Param({"0", "5"})
+    public long latencyMillis;
+
+    @Param({"10000", "0"})
+    public long cacheSize;
+
+    @Param("200")
+    public int doctors;
+
+    @Param("5000")
+    public int patients;
+
+    private DownstreamStubs stubs;
+    private ConfigurableApplicationContext context;
+    private AppointmentService service;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Appointment replayed;
+    private String replayKey;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        stubs = new DownstreamStubs(latencyMillis);
+        context = BenchmarkContext.start(stubs, "--clinic.read-model.maximum-size=" + cacheSize);
+        service = context.getBean(AppointmentService.class);
+
+        replayKey = UUID.randomUUID().toString();
+        replayed = BenchmarkContext.appointment(sequence.getAndIncrement(), doctors, patients);
+        service.bookAppointment(replayed, replayKey);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        stubs.close();
+    }
+
+    @Benchmark
+    public Appointment bookAppointment() {
+        return service.bookAppointment(BenchmarkContext.appointment(sequence.getAndIncrement(), doctors, patients));
+    }
+
+    // A client retry carrying the same Idempotency-Key
+    @Benchmark
+    public Appointment replayIdempotentBooking() {
+        return service.bookAppointment(replayed, replayKey);
+    }
+}
@@ -0,0 +1,93 @@
+package com.clinic.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-ins for patient-, doctor-, billing- and notification-service.
+ * Every id exists, and each response is delayed by a fixed latency to model
+ * the network hop the real services add.
+ */
+public class DownstreamStubs implements AutoCloseable {
+
+    static {
+        // Without TCP_NODELAY, Nagle plus delayed ACKs add ~40ms to every keep-alive response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long latencyMillis;
+
+    public DownstreamStubs(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/patients", exchange -> respond(exchange, lookup(exchange, DownstreamStubs::patient)));
+        server.createContext("/doctors", exchange -> respond(exchange, lookup(exchange, DownstreamStubs::doctor)));
+        server.createContext("/bills/batch", exchange -> respond(exchange, "[]"));
+        server.createContext("/notifications/batch", exchange -> respond(exchange, null));
+        server.start();
+    }
+
+    public String uri() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    // GET /{resource}/{id} or GET /{resource}?ids=1,2,3
+    private static String lookup(HttpExchange exchange, LongFunction<String> record) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null && query.startsWith("ids=")) {
+            return Arrays.stream(query.substring(4).split(","))
+                    .map(id -> record.apply(Long.parseLong(id)))
+                    .collect(Collectors.joining(",", "[", "]"));
+        }
+        String path = exchange.getRequestURI().getPath();
+        return record.apply(Long.parseLong(path.substring(path.lastIndexOf('/') + 1)));
+    }
+
+    private static String patient(long id) {
+        return "{\"id\":" + id + ",\"name\":\"Patient " + id + "\",\"age\":40,\"gender\":\"Female\"}";
+    }
+
+    private static String doctor(long id) {
+        return "{\"id\":" + id + ",\"name\":\"Dr. " + id + "\",\"specialization\":\"General\",\"available\":true}";
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            if (json == null) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
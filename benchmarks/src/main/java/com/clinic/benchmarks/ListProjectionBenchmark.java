@@ -0,0 +1,97 @@
+package com.clinic.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.model.PatientSummary;
+import com.clinic.patientservice.model.SparseFields;
+import com.clinic.patientservice.repository.PatientRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * GET /patients as the controller serves it: a read-only transaction that
+ * loads every patient and writes the list as JSON. Compares loading
+ * managed entities with loading list DTOs, with and without fields=.
+ * Run with {@code -prof gc}; gc.alloc.rate.norm is the bytes allocated
+ * per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListProjectionBenchmark {
+
+    @Param("10000")
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private PatientRepository repo;
+    private TransactionTemplate readOnly;
+    private ObjectMapper mapper;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.startPatientService();
+        repo = context.getBean(PatientRepository.class);
+        mapper = context.getBean(ObjectMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        for (int from = 0; from < rows; from += 1000) {
+            List<Patient> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + 1000, rows); i++) {
+                Patient patient = new Patient();
+                patient.setName("Patient " + i);
+                patient.setAge(i % 90);
+                patient.setGender(i % 2 == 0 ? "Female" : "Male");
+                batch.add(patient);
+            }
+            repo.insertAll(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    // What GET /patients did before: managed entities in the persistence context
+    @Benchmark
+    public byte[] entities() {
+        return readOnly.execute(status -> write(repo.findAll()));
+    }
+
+    @Benchmark
+    public byte[] summaries() {
+        return readOnly.execute(status -> write(SparseFields.filter(repo.findAllSummaries(), null)));
+    }
+
+    // GET /patients?fields=id,name
+    @Benchmark
+    public byte[] summariesSparse() {
+        Set<String> fields = SparseFields.parse("id,name", PatientSummary.FIELDS);
+        return readOnly.execute(status -> write(SparseFields.filter(repo.findAllSummaries(), fields)));
+    }
+
+    private byte[] write(Object body) {
+        try {
+            if (body instanceof MappingJacksonValue value) {
+                return mapper.writer(value.getFilters()).writeValueAsBytes(value.getValue());
+            }
+            return mapper.writeValueAsBytes(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.clinic.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.model.AppointmentQuery;
+import com.clinic.appointmentservice.model.AppointmentSummary;
+import com.clinic.appointmentservice.repository.AppointmentRepository;
+
+/**
+ * AppointmentRepository reads and batched inserts on an embedded H2
+ * database preloaded with {@code rows} appointments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final Set<String> SPARSE_FIELDS = Set.of("appointmentDate", "startTime");
+
+    @Param("100000")
+    public int rows;
+
+    @Param("200")
+    public int doctors;
+
+    @Param("500")
+    public int insertBatchSize;
+
+    private DownstreamStubs stubs;
+    private ConfigurableApplicationContext context;
+    private AppointmentRepository repo;
+    private AtomicLong sequence;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        stubs = new DownstreamStubs(0);
+        context = BenchmarkContext.start(stubs);
+        repo = context.getBean(AppointmentRepository.class);
+
+        for (int from = 0; from < rows; from += 1000) {
+            repo.insertAll(batch(from, Math.min(1000, rows - from)));
+        }
+        sequence = new AtomicLong(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        stubs.close();
+    }
+
+    private List<Appointment> batch(long first, int size) {
+        List<Appointment> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(BenchmarkContext.appointment(first + i, doctors, 5000));
+        }
+        return batch;
+    }
+
+    @Benchmark
+    public List<AppointmentSummary> findPageByDoctor() {
+        AppointmentQuery query = new AppointmentQuery();
+        query.setDoctorId(ThreadLocalRandom.current().nextLong(doctors) + 1);
+        return repo.findPage(query, null);
+    }
+
+    // fields=appointmentDate,startTime: only those columns (and the id) are selected
+    @Benchmark
+    public List<AppointmentSummary> findPageByDoctorSparse() {
+        AppointmentQuery query = new AppointmentQuery();
+        query.setDoctorId(ThreadLocalRandom.current().nextLong(doctors) + 1);
+        return repo.findPage(query, SPARSE_FIELDS);
+    }
+
+    // A page deep into the table, reached through the keyset cursor rather than an offset
+    @Benchmark
+    public List<AppointmentSummary> findPageAfterId() {
+        AppointmentQuery query = new AppointmentQuery();
+        query.setAfterId(ThreadLocalRandom.current().nextLong(rows));
+        return repo.findPage(query, null);
+    }
+
+    @Benchmark
+    public long countByDoctor() {
+        AppointmentQuery query = new AppointmentQuery();
+        query.setDoctorId(ThreadLocalRandom.current().nextLong(doctors) + 1);
+        return repo.count(query);
+    }
+
+    @Benchmark
+    public Appointment findById() {
+        return repo.findById(ThreadLocalRandom.current().nextLong(rows) + 1).orElse(null);
+    }
+
+    @Benchmark
+    public List<Appointment> insertBatch() {
+        return repo.insertAll(batch(sequence.getAndAdd(insertBatchSize), insertBatchSize));
+    }
+}
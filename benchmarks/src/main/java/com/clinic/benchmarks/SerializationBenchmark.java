@@ -0,0 +1,107 @@
+package com.clinic.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.clinic.appointmentservice.entity.Appointment;
+import com.clinic.appointmentservice.model.BatchBookingResult;
+import com.clinic.appointmentservice.model.RejectedAppointment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * JSON encoding and decoding done by AppointmentController, using an
+ * ObjectMapper configured the way Spring Boot configures the controllers'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param("100")
+    public int pageSize;
+
+    @Param("1000")
+    public int exportSize;
+
+    private ObjectWriter listWriter;
+    private ObjectWriter ndjsonWriter;
+    private ObjectReader appointmentReader;
+    private List<Appointment> page;
+    private List<Appointment> export;
+    private BatchBookingResult batchResult;
+    private byte[] bookingRequest;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        listWriter = mapper.writer();
+        ndjsonWriter = mapper.writer().withRootValueSeparator("\n");
+        appointmentReader = mapper.readerFor(Appointment.class);
+
+        page = appointments(pageSize);
+        export = appointments(exportSize);
+
+        batchResult = new BatchBookingResult();
+        batchResult.getBooked().addAll(page);
+        for (int i = 0; i < pageSize / 10; i++) {
+            batchResult.getRejected().add(new RejectedAppointment(i, "Doctor 1 is already booked"));
+        }
+
+        bookingRequest = "{\"patientId\":12,\"doctorId\":7,\"appointmentDate\":\"2025-12-15\",\"startTime\":\"10:30\"}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<Appointment> appointments(int count) {
+        List<Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Appointment appointment = BenchmarkContext.appointment(i, 50, 1000);
+            appointment.setId((long) i + 1);
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+
+    // GET /appointments
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        return listWriter.writeValueAsBytes(page);
+    }
+
+    // GET /appointments with Accept: application/x-ndjson
+    @Benchmark
+    public void writeNdjsonExport() throws IOException {
+        try (SequenceWriter sequence = ndjsonWriter.writeValues(OutputStream.nullOutputStream())) {
+            for (Appointment appointment : export) {
+                sequence.write(appointment);
+            }
+        }
+    }
+
+    // POST /appointments/batch response
+    @Benchmark
+    public byte[] writeBatchResult() throws IOException {
+        return listWriter.writeValueAsBytes(batchResult);
+    }
+
+    // POST /appointments request body
+    @Benchmark
+    public Appointment readBookingRequest() throws IOException {
+        return appointmentReader.readValue(bookingRequest);
+    }
+}
@@ -0,0 +1,80 @@
+package com.clinic.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.clinic.billingservice.entity.Tariff;
+import com.clinic.billingservice.pricing.TariffTable;
+
+/**
+ * Pricing a bill with a compiled TariffTable: an exact match, a fallback
+ * to a wildcard rule and values no rule names, plus compiling the table
+ * itself, which happens on every tariff change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TariffBenchmark {
+
+    private static final String[] VISIT_TYPES = {"CONSULTATION", "FOLLOW_UP", "PROCEDURE", "EMERGENCY"};
+    private static final String[] CATEGORIES = {"ADULT", "CHILD", "SENIOR", "INSURED"};
+
+    @Param("40")
+    public int specializations;
+
+    private List<Tariff> tariffs;
+    private TariffTable table;
+
+    @Setup
+    public void setUp() {
+        tariffs = new ArrayList<>();
+        long id = 1;
+        tariffs.add(tariff(id++, null, null, null, 500.0));
+        for (int s = 0; s < specializations; s++) {
+            String specialization = "Specialization" + s;
+            tariffs.add(tariff(id++, specialization, null, null, 600.0 + s));
+            for (String visitType : VISIT_TYPES) {
+                for (String category : CATEGORIES) {
+                    tariffs.add(tariff(id++, specialization, visitType, category, 700.0 + s));
+                }
+            }
+        }
+        for (String category : CATEGORIES) {
+            tariffs.add(tariff(id++, null, null, category, 300.0));
+        }
+        table = TariffTable.compile(tariffs, 500.0);
+    }
+
+    @Benchmark
+    public Double exactMatch() {
+        return table.price("Specialization17", "FOLLOW_UP", "SENIOR");
+    }
+
+    @Benchmark
+    public Double wildcardFallback() {
+        return table.price("Specialization17", null, null);
+    }
+
+    @Benchmark
+    public Double unknownValues() {
+        return table.price("Podiatry", "HOME_VISIT", "STAFF");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TariffTable compile() {
+        return TariffTable.compile(tariffs, 500.0);
+    }
+
+    private static Tariff tariff(Long id, String specialization, String visitType, String category, Double amount) {
+        Tariff tariff = new Tariff(specialization, visitType, category, amount);
+        tariff.setId(id);
+        return tariff;
+    }
+}
@@ -2,8 +2,10 @@ package com.clinic.billingservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BillingServiceApplication {
 
 	public static void main(String[] args) {
@@ -1,51 +1,128 @@
 package com.clinic.billingservice.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.model.BillQuery;
+import com.clinic.billingservice.model.BillRequest;
+import com.clinic.billingservice.model.LedgerQuery;
+import com.clinic.billingservice.model.LedgerTotals;
+import com.clinic.billingservice.model.PaymentResult;
+import com.clinic.billingservice.model.RevenueSummary;
+import com.clinic.billingservice.model.RollupCheck;
+import com.clinic.billingservice.service.BillLedger;
 import com.clinic.billingservice.service.BillingService;
+import com.clinic.billingservice.service.RevenueRollups;
 
 @RestController
 @RequestMapping("/bills")
 public class BillingController {
 
+    public static final String NEXT_AFTER_ID = "X-Next-After-Id";
+    public static final String TOTAL_COUNT = "X-Total-Count";
+
     private final BillingService service;
+    private final RevenueRollups rollups;
+    private final BillLedger ledger;
 
-    public BillingController(BillingService service) {
+    public BillingController(BillingService service, RevenueRollups rollups, BillLedger ledger) {
         this.service = service;
+        this.rollups = rollups;
+        this.ledger = ledger;
     }
 
     // 1️⃣ Create Bill
     @PostMapping
     public Bill createBill(
             @RequestParam Long appointmentId,
-            @RequestParam Long patientId) {
-        return service.createBill(appointmentId, patientId);
+            @RequestParam Long patientId,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String visitType,
+            @RequestParam(required = false) String patientCategory) {
+        BillRequest request = new BillRequest(appointmentId, patientId);
+        request.setSpecialization(specialization);
+        request.setVisitType(visitType);
+        request.setPatientCategory(patientCategory);
+        return service.createBill(request);
+    }
+
+    // 2️⃣ Create Bills in bulk (used by appointment-service's outbox relay)
+    @PostMapping("/batch")
+    public List<Bill> createBills(@RequestBody List<BillRequest> requests) {
+        return service.createBills(requests);
     }
 
-    // 2️⃣ Get Bill by ID
+    // 3️⃣ Get Bill by ID
     @GetMapping("/{id}")
     public Bill getBillById(@PathVariable Long id) {
         return service.getBillById(id);
     }
 
-    // 3️⃣ Get Bills by Patient
+    // 4️⃣ Get Bills by Patient (one keyset page, filtered by status and billing date;
+    // the cursor for the next page comes back in X-Next-After-Id, the match count in X-Total-Count)
     @GetMapping("/patient/{patientId}")
-    public List<Bill> getBillsByPatient(@PathVariable Long patientId) {
-        return service.getBillsByPatient(patientId);
+    public ResponseEntity<List<Bill>> getBillsByPatient(@PathVariable Long patientId, BillQuery query) {
+        List<Bill> page = service.getBillsByPatient(patientId, query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(TOTAL_COUNT, String.valueOf(service.countBillsByPatient(patientId, query)));
+        if (page.size() == query.effectiveLimit()) {
+            response.header(NEXT_AFTER_ID, String.valueOf(page.get(page.size() - 1).getId()));
+        }
+        return response.body(page);
     }
 
-    // 4️⃣ Mark Bill as PAID
+    // 5️⃣ Mark Bill as PAID
     @PutMapping("/{id}/pay")
     public Bill payBill(@PathVariable Long id) {
         return service.markAsPaid(id);
     }
 
-    // 5️⃣ Delete Bill
+    // 6️⃣ Mark many Bills as PAID (e.g. an insurer remittance); one result per id
+    @PutMapping("/pay")
+    public List<PaymentResult> payBills(@RequestBody List<Long> ids) {
+        return service.payBills(ids);
+    }
+
+    // 7️⃣ Delete Bill
     @DeleteMapping("/{id}")
     public void deleteBill(@PathVariable Long id) {
         service.deleteBill(id);
     }
+
+    // 8️⃣ Revenue across all bills (read from the rollups once verified, not the bills)
+    @GetMapping("/summary")
+    public RevenueSummary getSummary() {
+        return rollups.total();
+    }
+
+    // 9️⃣ Revenue for one patient
+    @GetMapping("/summary/patient/{patientId}")
+    public RevenueSummary getPatientSummary(@PathVariable Long patientId) {
+        return rollups.forPatient(patientId);
+    }
+
+    // 🔟 Revenue per day, for days with bills between from and to inclusive
+    @GetMapping("/summary/daily")
+    public List<RevenueSummary> getDailySummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return rollups.daily(from, to);
+    }
+
+    // 1️⃣1️⃣ Recompute the rollups from the bills and correct any drift (also runs nightly)
+    @PostMapping("/summary/verify")
+    public RollupCheck verifySummary() {
+        return rollups.verify();
+    }
+
+    // 1️⃣2️⃣ Ad-hoc totals scanned from the in-memory ledger, e.g. ?status=UNPAID&seenFrom=2026-03-01&seenTo=2026-03-31
+    @GetMapping("/ledger")
+    public LedgerTotals getLedgerTotals(LedgerQuery query) {
+        return ledger.aggregate(query);
+    }
 }
@@ -0,0 +1,80 @@
+package com.clinic.billingservice.controller;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.web.bind.annotation.*;
+
+import com.clinic.billingservice.entity.Tariff;
+import com.clinic.billingservice.exception.InvalidTariffException;
+import com.clinic.billingservice.pricing.TariffEngine;
+import com.clinic.billingservice.repository.TariffRepository;
+
+@RestController
+@RequestMapping("/bills/tariffs")
+public class TariffController {
+
+    private final TariffRepository repo;
+    private final TariffEngine engine;
+
+    public TariffController(TariffRepository repo, TariffEngine engine) {
+        this.repo = repo;
+        this.engine = engine;
+    }
+
+    // 1️⃣ List tariffs
+    @GetMapping
+    public List<Tariff> getTariffs() {
+        return repo.findAll(Sort.by("id"));
+    }
+
+    // 2️⃣ Add a tariff (a missing specialization, visitType or patientCategory matches any)
+    @PostMapping
+    public Tariff addTariff(@RequestBody Tariff tariff) {
+        tariff.setId(null);
+        return saveAndReload(tariff);
+    }
+
+    // 3️⃣ Replace a tariff
+    @PutMapping("/{id}")
+    public Tariff updateTariff(@PathVariable Long id, @RequestBody Tariff tariff) {
+        if (!repo.existsById(id)) {
+            throw new RuntimeException("Tariff not found");
+        }
+        tariff.setId(id);
+        return saveAndReload(tariff);
+    }
+
+    // 4️⃣ Delete a tariff
+    @DeleteMapping("/{id}")
+    public void deleteTariff(@PathVariable Long id) {
+        repo.deleteById(id);
+        engine.reload();
+    }
+
+    private Tariff saveAndReload(Tariff tariff) {
+        if (tariff.getAmount() == null || tariff.getAmount() < 0) {
+            throw new InvalidTariffException("amount is required and must not be negative");
+        }
+        tariff.setSpecialization(normalize(tariff.getSpecialization()));
+        tariff.setVisitType(normalize(tariff.getVisitType()));
+        tariff.setPatientCategory(normalize(tariff.getPatientCategory()));
+
+        repo.findFirstBySpecializationAndVisitTypeAndPatientCategory(
+                        tariff.getSpecialization(), tariff.getVisitType(), tariff.getPatientCategory())
+                .filter(existing -> !existing.getId().equals(tariff.getId()))
+                .ifPresent(existing -> {
+                    throw new InvalidTariffException("Tariff " + existing.getId() + " already covers that combination");
+                });
+
+        Tariff saved = repo.save(tariff);
+        engine.reload();
+        return saved;
+    }
+
+    // Stored trimmed and lower-cased, so the duplicate check agrees with TariffTable's case-insensitive match
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
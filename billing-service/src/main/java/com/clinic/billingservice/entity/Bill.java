@@ -1,13 +1,26 @@
 package com.clinic.billingservice.entity;
 
+import java.time.LocalDate;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
+// One bill per appointment, so concurrent redeliveries from the outbox cannot both insert
+@Table(uniqueConstraints = @UniqueConstraint(name = Bill.UNIQUE_APPOINTMENT, columnNames = "appointmentId"),
+       indexes = {
+               @Index(name = "idx_bill_patient_status", columnList = "patientId, status, id"),
+               @Index(name = "idx_bill_patient_id", columnList = "patientId, id")
+       })
 public class Bill {
 
+    public static final String UNIQUE_APPOINTMENT = "uk_bill_appointment";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -16,6 +29,7 @@ public class Bill {
     private Long patientId;
     private Double amount;
     private String status; // PAID / UNPAID
+    private LocalDate billedOn;
 
     public Bill() {
     }
@@ -59,4 +73,12 @@ public class Bill {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public LocalDate getBilledOn() {
+        return billedOn;
+    }
+
+    public void setBilledOn(LocalDate billedOn) {
+        this.billedOn = billedOn;
+    }
 }
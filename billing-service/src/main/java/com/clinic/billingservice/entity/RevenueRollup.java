@@ -0,0 +1,116 @@
+package com.clinic.billingservice.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Running bill totals for one bucket: a billing day, a patient, or every
+ * bill. Amounts are kept in minor units (cents) so increments are exact.
+ * Rows are only ever changed by adding deltas in the transaction that
+ * changed the bills, never by read-modify-write.
+ */
+@Entity
+@Table(name = "revenue_rollup")
+@IdClass(RevenueRollup.Key.class)
+public class RevenueRollup {
+
+    public static final String DAY = "day";
+    public static final String PATIENT = "patient";
+    public static final String TOTAL = "total";
+    public static final String ALL = "all";
+
+    @Id
+    @Column(length = 16)
+    private String dimension;
+
+    @Id
+    @Column(length = 32)
+    private String bucket;
+
+    private long billedCount;
+    private long billedMinor;
+    private long paidCount;
+    private long paidMinor;
+
+    public RevenueRollup() {
+    }
+
+    public RevenueRollup(String dimension, String bucket) {
+        this.dimension = dimension;
+        this.bucket = bucket;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public long getBilledCount() {
+        return billedCount;
+    }
+
+    public long getBilledMinor() {
+        return billedMinor;
+    }
+
+    public long getPaidCount() {
+        return paidCount;
+    }
+
+    public long getPaidMinor() {
+        return paidMinor;
+    }
+
+    public void add(long billedCount, long billedMinor, long paidCount, long paidMinor) {
+        this.billedCount += billedCount;
+        this.billedMinor += billedMinor;
+        this.paidCount += paidCount;
+        this.paidMinor += paidMinor;
+    }
+
+    public boolean sameTotals(RevenueRollup other) {
+        return billedCount == other.billedCount && billedMinor == other.billedMinor
+                && paidCount == other.paidCount && paidMinor == other.paidMinor;
+    }
+
+    public static class Key implements Serializable {
+
+        private String dimension;
+        private String bucket;
+
+        public Key() {
+        }
+
+        public Key(String dimension, String bucket) {
+            this.dimension = dimension;
+            this.bucket = bucket;
+        }
+
+        public String getDimension() {
+            return dimension;
+        }
+
+        public String getBucket() {
+            return bucket;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && dimension.equals(key.dimension) && bucket.equals(key.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, bucket);
+        }
+    }
+}
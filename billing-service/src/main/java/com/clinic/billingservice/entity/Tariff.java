@@ -0,0 +1,74 @@
+package com.clinic.billingservice.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+/**
+ * One pricing rule. A null specialization, visit type or patient category
+ * matches any value; when several rules match a bill the most specific
+ * one wins (see TariffTable).
+ */
+@Entity
+public class Tariff {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String specialization;
+    private String visitType;
+    private String patientCategory;
+    private Double amount;
+
+    public Tariff() {
+    }
+
+    public Tariff(String specialization, String visitType, String patientCategory, Double amount) {
+        this.specialization = specialization;
+        this.visitType = visitType;
+        this.patientCategory = patientCategory;
+        this.amount = amount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+
+    public String getVisitType() {
+        return visitType;
+    }
+
+    public void setVisitType(String visitType) {
+        this.visitType = visitType;
+    }
+
+    public String getPatientCategory() {
+        return patientCategory;
+    }
+
+    public void setPatientCategory(String patientCategory) {
+        this.patientCategory = patientCategory;
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Double amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,15 @@
+package com.clinic.billingservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The tariff is missing its amount or repeats an existing rule.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTariffException extends RuntimeException {
+
+    public InvalidTariffException(String message) {
+        super(message);
+    }
+}
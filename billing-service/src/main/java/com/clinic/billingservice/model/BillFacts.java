@@ -0,0 +1,10 @@
+package com.clinic.billingservice.model;
+
+import java.time.LocalDate;
+
+/**
+ * The columns of a bill that totals are computed from, read with a
+ * constructor-expression query so a full scan creates no managed entities.
+ */
+public record BillFacts(Long id, Long patientId, LocalDate billedOn, Double amount, String status) {
+}
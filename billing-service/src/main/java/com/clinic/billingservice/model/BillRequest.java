@@ -0,0 +1,60 @@
+package com.clinic.billingservice.model;
+
+public class BillRequest {
+
+    private Long appointmentId;
+    private Long patientId;
+
+    // Pricing inputs; any of them may be absent, and then only tariffs that leave it open apply
+    private String specialization;
+    private String visitType;
+    private String patientCategory;
+
+    public BillRequest() {
+    }
+
+    public BillRequest(Long appointmentId, Long patientId) {
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+
+    public String getVisitType() {
+        return visitType;
+    }
+
+    public void setVisitType(String visitType) {
+        this.visitType = visitType;
+    }
+
+    public String getPatientCategory() {
+        return patientCategory;
+    }
+
+    public void setPatientCategory(String patientCategory) {
+        this.patientCategory = patientCategory;
+    }
+}
@@ -0,0 +1,15 @@
+package com.clinic.billingservice.model;
+
+import java.time.LocalDate;
+
+/**
+ * Bill count and summed amount for one status, and for one billing day
+ * when the query grouped by day. Used to answer revenue summaries from the
+ * bills while the rollups have not been verified yet.
+ */
+public record BillTotals(LocalDate billedOn, String status, Long bills, Double amount) {
+
+    public BillTotals(String status, Long bills, Double amount) {
+        this(null, status, bills, amount);
+    }
+}
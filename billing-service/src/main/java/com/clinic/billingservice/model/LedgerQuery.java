@@ -0,0 +1,81 @@
+package com.clinic.billingservice.model;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Filters for an aggregate over the bill ledger, bound from query parameters.
+ * from and to limit the bills counted by billing date; seenFrom and seenTo
+ * limit them to patients with at least one bill in that range, so "unpaid
+ * total for patients seen in March" is status=UNPAID with seenFrom and seenTo.
+ */
+public class LedgerQuery {
+
+    private String status;
+    private Long patientId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate seenFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate seenTo;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public LocalDate getSeenFrom() {
+        return seenFrom;
+    }
+
+    public void setSeenFrom(LocalDate seenFrom) {
+        this.seenFrom = seenFrom;
+    }
+
+    public LocalDate getSeenTo() {
+        return seenTo;
+    }
+
+    public void setSeenTo(LocalDate seenTo) {
+        this.seenTo = seenTo;
+    }
+
+    public boolean hasSeenRange() {
+        return seenFrom != null || seenTo != null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.clinic.billingservice.model;
+
+import java.math.BigDecimal;
+
+/**
+ * What a ledger aggregate matched: how many bills, their total amount and
+ * how many distinct patients they belong to.
+ */
+public record LedgerTotals(long bills, BigDecimal amount, long patients) {
+
+    public static LedgerTotals of(long bills, long amountMinor, long patients) {
+        return new LedgerTotals(bills, BigDecimal.valueOf(amountMinor, 2), patients);
+    }
+}
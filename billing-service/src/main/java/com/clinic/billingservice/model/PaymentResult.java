@@ -0,0 +1,13 @@
+package com.clinic.billingservice.model;
+
+/**
+ * What paying one bill in a bulk payment did.
+ */
+public record PaymentResult(Long id, Outcome outcome) {
+
+    public enum Outcome {
+        APPLIED,
+        ALREADY_PAID,
+        MISSING
+    }
+}
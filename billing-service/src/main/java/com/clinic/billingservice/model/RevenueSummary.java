@@ -0,0 +1,26 @@
+package com.clinic.billingservice.model;
+
+import java.math.BigDecimal;
+
+import com.clinic.billingservice.entity.RevenueRollup;
+
+/**
+ * Bill counts and amounts for one rollup bucket, split by status.
+ */
+public record RevenueSummary(String bucket,
+                             long bills, BigDecimal billed,
+                             long paidBills, BigDecimal paid,
+                             long unpaidBills, BigDecimal unpaid) {
+
+    public static RevenueSummary of(RevenueRollup rollup) {
+        return new RevenueSummary(rollup.getBucket(),
+                rollup.getBilledCount(), major(rollup.getBilledMinor()),
+                rollup.getPaidCount(), major(rollup.getPaidMinor()),
+                rollup.getBilledCount() - rollup.getPaidCount(),
+                major(rollup.getBilledMinor() - rollup.getPaidMinor()));
+    }
+
+    private static BigDecimal major(long minor) {
+        return BigDecimal.valueOf(minor, 2);
+    }
+}
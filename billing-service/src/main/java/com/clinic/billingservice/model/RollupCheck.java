@@ -0,0 +1,8 @@
+package com.clinic.billingservice.model;
+
+/**
+ * Outcome of recomputing the revenue rollups from the bill rows: how many
+ * buckets were compared and how many had drifted and were corrected.
+ */
+public record RollupCheck(int buckets, int corrected) {
+}
@@ -0,0 +1,51 @@
+package com.clinic.billingservice.pricing;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.clinic.billingservice.repository.TariffRepository;
+
+/**
+ * Prices bills from the tariff table. The rules are read from the database
+ * and compiled into a TariffTable at startup, after every tariff change
+ * made through this instance, and periodically to pick up changes made
+ * through others. The compiled table is swapped in with a single volatile
+ * write, so a bill is priced by either the old rules or the new ones,
+ * never a mix, and pricing never waits for a reload.
+ */
+@Component
+public class TariffEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TariffEngine.class);
+
+    private final TariffRepository repo;
+    private final Double defaultAmount;
+    private volatile TariffTable table;
+
+    public TariffEngine(TariffRepository repo,
+                        @Value("${clinic.billing.default-amount:500.0}") Double defaultAmount) {
+        this.repo = repo;
+        this.defaultAmount = defaultAmount;
+        this.table = TariffTable.compile(List.of(), defaultAmount);
+    }
+
+    public Double price(String specialization, String visitType, String patientCategory) {
+        return table.price(specialization, visitType, patientCategory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${clinic.billing.tariff-refresh:PT1M}",
+               initialDelayString = "${clinic.billing.tariff-refresh:PT1M}")
+    public void reload() {
+        TariffTable compiled = TariffTable.compile(repo.findAll(), defaultAmount);
+        table = compiled;
+        log.debug("Tariff table compiled from {} rules", compiled.rules());
+    }
+}
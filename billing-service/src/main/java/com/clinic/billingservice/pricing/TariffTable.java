@@ -0,0 +1,149 @@
+package com.clinic.billingservice.pricing;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.clinic.billingservice.entity.Tariff;
+
+/**
+ * Tariff rules compiled into a dense price table. Every specialization,
+ * visit type and patient category named by some rule gets a small code,
+ * with 0 standing for any other value, and the winning rule for every
+ * combination of codes is resolved once, here. Pricing a bill is then
+ * three case-insensitive map lookups and an array read: no rule walk, no
+ * query and no allocation (the prices are boxed at compile time).
+ * Instances are immutable and replaced whole when the tariffs change.
+ *
+ * <p>When several rules match, the most specific wins, with a matching
+ * specialization outranking a matching visit type, which outranks a
+ * matching patient category. A bill no rule matches gets the default.
+ */
+public final class TariffTable {
+
+    private final Map<String, Integer> specializations;
+    private final Map<String, Integer> visitTypes;
+    private final Map<String, Integer> patientCategories;
+    private final int visitTypeSpan;
+    private final int patientCategorySpan;
+    private final Double[] prices;
+    private final int rules;
+
+    private TariffTable(Map<String, Integer> specializations,
+                        Map<String, Integer> visitTypes,
+                        Map<String, Integer> patientCategories,
+                        Double[] prices,
+                        int rules) {
+        this.specializations = specializations;
+        this.visitTypes = visitTypes;
+        this.patientCategories = patientCategories;
+        this.visitTypeSpan = visitTypes.size() + 1;
+        this.patientCategorySpan = patientCategories.size() + 1;
+        this.prices = prices;
+        this.rules = rules;
+    }
+
+    public static TariffTable compile(Collection<Tariff> tariffs, Double defaultAmount) {
+        Map<String, Integer> specializations = codes(tariffs, Tariff::getSpecialization);
+        Map<String, Integer> visitTypes = codes(tariffs, Tariff::getVisitType);
+        Map<String, Integer> patientCategories = codes(tariffs, Tariff::getPatientCategory);
+
+        // Resolve each rule's codes once; -1 marks a wildcard
+        int[][] ruleCodes = new int[tariffs.size()][];
+        Tariff[] rules = tariffs.toArray(new Tariff[0]);
+        for (int r = 0; r < rules.length; r++) {
+            ruleCodes[r] = new int[] {
+                    wildcardOrCode(specializations, rules[r].getSpecialization()),
+                    wildcardOrCode(visitTypes, rules[r].getVisitType()),
+                    wildcardOrCode(patientCategories, rules[r].getPatientCategory())};
+        }
+
+        int visitTypeSpan = visitTypes.size() + 1;
+        int patientCategorySpan = patientCategories.size() + 1;
+        Double[] prices = new Double[(specializations.size() + 1) * visitTypeSpan * patientCategorySpan];
+        for (int s = 0; s <= specializations.size(); s++) {
+            for (int v = 0; v < visitTypeSpan; v++) {
+                for (int c = 0; c < patientCategorySpan; c++) {
+                    Tariff best = null;
+                    int bestRank = -1;
+                    for (int r = 0; r < rules.length; r++) {
+                        int rank = rank(ruleCodes[r], s, v, c);
+                        // Ties only come from duplicate rules; the oldest one wins
+                        if (rank > bestRank || (rank == bestRank && rank >= 0 && older(rules[r], best))) {
+                            best = rules[r];
+                            bestRank = rank;
+                        }
+                    }
+                    prices[(s * visitTypeSpan + v) * patientCategorySpan + c] =
+                            best != null ? best.getAmount() : defaultAmount;
+                }
+            }
+        }
+        return new TariffTable(specializations, visitTypes, patientCategories, prices, rules.length);
+    }
+
+    public Double price(String specialization, String visitType, String patientCategory) {
+        int s = code(specializations, specialization);
+        int v = code(visitTypes, visitType);
+        int c = code(patientCategories, patientCategory);
+        return prices[(s * visitTypeSpan + v) * patientCategorySpan + c];
+    }
+
+    public int rules() {
+        return rules;
+    }
+
+    // -1 when the rule does not match the cell, else a higher number for a more specific match
+    private static int rank(int[] rule, int s, int v, int c) {
+        int rank = 0;
+        if (rule[0] >= 0) {
+            if (rule[0] != s) {
+                return -1;
+            }
+            rank += 4;
+        }
+        if (rule[1] >= 0) {
+            if (rule[1] != v) {
+                return -1;
+            }
+            rank += 2;
+        }
+        if (rule[2] >= 0) {
+            if (rule[2] != c) {
+                return -1;
+            }
+            rank += 1;
+        }
+        return rank;
+    }
+
+    private static boolean older(Tariff candidate, Tariff current) {
+        return current == null || (candidate.getId() != null
+                && (current.getId() == null || candidate.getId() < current.getId()));
+    }
+
+    private static int code(Map<String, Integer> codes, String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer code = codes.get(value);
+        return code == null ? 0 : code;
+    }
+
+    private static int wildcardOrCode(Map<String, Integer> codes, String value) {
+        return value == null ? -1 : codes.get(value);
+    }
+
+    // A TreeMap compares in place, so case-insensitive lookups do not build a lower-cased copy of the key
+    private static Map<String, Integer> codes(Collection<Tariff> tariffs, Function<Tariff, String> dimension) {
+        Map<String, Integer> codes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Tariff tariff : tariffs) {
+            String value = dimension.apply(tariff);
+            if (value != null && !codes.containsKey(value)) {
+                codes.put(value, codes.size() + 1);
+            }
+        }
+        return codes;
+    }
+}
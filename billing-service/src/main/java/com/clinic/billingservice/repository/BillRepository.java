@@ -1,10 +1,54 @@
 package com.clinic.billingservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.model.BillFacts;
+import com.clinic.billingservice.model.BillTotals;
 
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BillRepository extends JpaRepository<Bill, Long>, BillRepositoryCustom {
+    Optional<Bill> findFirstByAppointmentId(Long appointmentId);
+
+    List<Bill> findByAppointmentIdIn(List<Long> appointmentIds);
+
+    // Conditional, so concurrent payers cannot both settle the same bill; 1 when this call paid it
+    @Modifying
+    @Query("update Bill b set b.status = 'PAID' where b.id = :id and b.status = 'UNPAID'")
+    int markPaid(Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Bill b set b.status = 'PAID' where b.id in :ids and b.status = 'UNPAID'")
+    int markAllPaid(Collection<Long> ids);
+
+    // SELECT ... FOR UPDATE: the rows stay as read until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Bill b where b.id in :ids order by b.id")
+    List<Bill> lockAllById(Collection<Long> ids);
+
+    // Must be consumed inside a transaction and closed; primary key order, so no sort
+    @Query("select new com.clinic.billingservice.model.BillFacts(b.id, b.patientId, b.billedOn, b.amount, b.status) from Bill b order by b.id")
+    Stream<BillFacts> streamFacts();
+
+    // Revenue straight from the bills, for summaries asked before the rollups are verified
+    @Query("select new com.clinic.billingservice.model.BillTotals(b.status, count(b), sum(b.amount)) "
+            + "from Bill b group by b.status")
+    List<BillTotals> totalsByStatus();
+
+    @Query("select new com.clinic.billingservice.model.BillTotals(b.status, count(b), sum(b.amount)) "
+            + "from Bill b where b.patientId = :patientId group by b.status")
+    List<BillTotals> totalsByStatusForPatient(Long patientId);
 
-public interface BillRepository extends JpaRepository<Bill, Long> {
-    List<Bill> findByPatientId(Long patientId);
+    @Query("select new com.clinic.billingservice.model.BillTotals(b.billedOn, b.status, count(b), sum(b.amount)) "
+            + "from Bill b where b.billedOn between :from and :to group by b.billedOn, b.status order by b.billedOn")
+    List<BillTotals> totalsByDayAndStatus(LocalDate from, LocalDate to);
 }
@@ -0,0 +1,17 @@
+package com.clinic.billingservice.repository;
+
+import java.util.List;
+
+import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.model.BillQuery;
+
+public interface BillRepositoryCustom {
+
+    /**
+     * One keyset page of a patient's bills: rows matching the filters with
+     * id > afterId, in id order.
+     */
+    List<Bill> findPage(Long patientId, BillQuery query);
+
+    long count(Long patientId, BillQuery query);
+}
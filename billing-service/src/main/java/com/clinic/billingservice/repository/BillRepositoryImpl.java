@@ -0,0 +1,69 @@
+package com.clinic.billingservice.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.model.BillQuery;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Billing history queries built from only the filters given, so each one
+ * is a single index range: (patientId, status, id) when a status is given,
+ * (patientId, id) when it is not. Equality on the leading columns leaves
+ * the range in id order, so the seek past the cursor and the order by need
+ * no sort. The date filters are checked on the rows the range returns.
+ */
+public class BillRepositoryImpl implements BillRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Bill> findPage(Long patientId, BillQuery query) {
+        Map<String, Object> params = new HashMap<>();
+        String jpql = "select b from Bill b" + where(patientId, query, true, params) + " order by b.id";
+        TypedQuery<Bill> select = entityManager.createQuery(jpql, Bill.class)
+                .setMaxResults(query.effectiveLimit());
+        params.forEach(select::setParameter);
+        return select.getResultList();
+    }
+
+    @Override
+    public long count(Long patientId, BillQuery query) {
+        Map<String, Object> params = new HashMap<>();
+        String jpql = "select count(b) from Bill b" + where(patientId, query, false, params);
+        TypedQuery<Long> count = entityManager.createQuery(jpql, Long.class);
+        params.forEach(count::setParameter);
+        return count.getSingleResult();
+    }
+
+    private static String where(Long patientId, BillQuery query, boolean page, Map<String, Object> params) {
+        List<String> clauses = new ArrayList<>();
+        clauses.add("b.patientId = :patientId");
+        params.put("patientId", patientId);
+        if (query.getStatus() != null) {
+            clauses.add("b.status = :status");
+            params.put("status", query.getStatus());
+        }
+        if (query.getFrom() != null) {
+            clauses.add("b.billedOn >= :from");
+            params.put("from", query.getFrom());
+        }
+        if (query.getTo() != null) {
+            clauses.add("b.billedOn <= :to");
+            params.put("to", query.getTo());
+        }
+        // The total counts every match, not just those after the cursor
+        if (page && query.getAfterId() != null) {
+            clauses.add("b.id > :afterId");
+            params.put("afterId", query.getAfterId());
+        }
+        return " where " + String.join(" and ", clauses);
+    }
+}
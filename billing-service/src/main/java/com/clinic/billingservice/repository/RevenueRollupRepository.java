@@ -0,0 +1,24 @@
+package com.clinic.billingservice.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.clinic.billingservice.entity.RevenueRollup;
+
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, RevenueRollup.Key> {
+
+    // One atomic upsert: concurrent writers add to the same row without a read or a lost update
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollup (dimension, bucket, billed_count, billed_minor, paid_count, paid_minor) "
+            + "VALUES (:dimension, :bucket, :billedCount, :billedMinor, :paidCount, :paidMinor) "
+            + "ON DUPLICATE KEY UPDATE billed_count = billed_count + :billedCount, "
+            + "billed_minor = billed_minor + :billedMinor, paid_count = paid_count + :paidCount, "
+            + "paid_minor = paid_minor + :paidMinor",
+            nativeQuery = true)
+    int add(String dimension, String bucket, long billedCount, long billedMinor, long paidCount, long paidMinor);
+
+    List<RevenueRollup> findByDimensionAndBucketBetweenOrderByBucket(String dimension, String from, String to);
+}
@@ -0,0 +1,15 @@
+package com.clinic.billingservice.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.clinic.billingservice.entity.Tariff;
+
+public interface TariffRepository extends JpaRepository<Tariff, Long> {
+
+    // Null arguments match null columns, so this also finds wildcard rules
+    Optional<Tariff> findFirstBySpecializationAndVisitTypeAndPatientCategory(String specialization,
+                                                                               String visitType,
+                                                                               String patientCategory);
+}
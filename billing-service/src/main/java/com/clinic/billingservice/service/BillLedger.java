@@ -0,0 +1,294 @@
+package com.clinic.billingservice.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.model.BillFacts;
+import com.clinic.billingservice.model.LedgerQuery;
+import com.clinic.billingservice.model.LedgerTotals;
+import com.clinic.billingservice.repository.BillRepository;
+
+/**
+ * Every bill held in memory as columns of primitives, for ad-hoc totals
+ * that no rollup answers. A bill costs 29 bytes (id, patient id, amount
+ * in minor units, billing day and a status byte), and a query is a scan
+ * over those arrays, split across cores once the ledger is large enough,
+ * that creates no entities and boxes no values.
+ *
+ * <p>The ledger is loaded from the bills at startup and periodically, to
+ * pick up bills written through other instances. BillingService reports
+ * the changes it makes, and they are applied once their transaction has
+ * committed. Readers work on an immutable snapshot of the column bounds,
+ * so a query never waits for a write.
+ */
+@Service
+public class BillLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(BillLedger.class);
+
+    static final byte UNPAID = 0;
+    static final byte PAID = 1;
+    static final byte REMOVED = 2;
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    // Below this many bills a sequential scan beats splitting the work
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final BillRepository bills;
+    private final Object writeLock = new Object();
+    private volatile Columns columns = Columns.EMPTY;
+    // Changes committed while a reload is reading the bills, replayed onto the reloaded columns
+    private List<UnaryOperator<Columns>> pending;
+
+    public BillLedger(BillRepository bills) {
+        this.bills = bills;
+    }
+
+    public void billed(Collection<Bill> created) {
+        List<BillFacts> facts = created.stream()
+                .map(bill -> new BillFacts(bill.getId(), bill.getPatientId(), bill.getBilledOn(),
+                        bill.getAmount(), bill.getStatus()))
+                .toList();
+        afterCommit(c -> {
+            for (BillFacts bill : facts) {
+                c = c.append(bill);
+            }
+            return c;
+        });
+    }
+
+    public void paid(Collection<Bill> settled) {
+        long[] ids = settled.stream().mapToLong(Bill::getId).toArray();
+        afterCommit(c -> {
+            for (long id : ids) {
+                c.setStatus(id, PAID);
+            }
+            return c;
+        });
+    }
+
+    public void removed(Bill bill) {
+        long id = bill.getId();
+        afterCommit(c -> {
+            c.setStatus(id, REMOVED);
+            return c;
+        });
+    }
+
+    public int size() {
+        return columns.size;
+    }
+
+    public LedgerTotals aggregate(LedgerQuery query) {
+        Columns c = columns;
+
+        byte status;
+        if (query.getStatus() == null) {
+            status = -1;
+        } else if (query.getStatus().equals("PAID") || query.getStatus().equals("UNPAID")) {
+            status = code(query.getStatus());
+        } else {
+            return LedgerTotals.of(0, 0, 0);
+        }
+        IntPredicate billed = billedBetween(c, query.getFrom(), query.getTo());
+        long patientId = query.getPatientId() == null ? 0 : query.getPatientId();
+        long[] seen = query.hasSeenRange()
+                ? distinct(positions(c)
+                        .filter(i -> c.statuses[i] != REMOVED)
+                        .filter(billedBetween(c, query.getSeenFrom(), query.getSeenTo()))
+                        .mapToLong(i -> c.patientIds[i]).toArray())
+                : null;
+
+        int[] matches = positions(c)
+                .filter(i -> status < 0 ? c.statuses[i] != REMOVED : c.statuses[i] == status)
+                .filter(i -> patientId == 0 || c.patientIds[i] == patientId)
+                .filter(billed)
+                .filter(i -> seen == null || Arrays.binarySearch(seen, c.patientIds[i]) >= 0)
+                .toArray();
+
+        long amount = stream(matches.length).mapToLong(i -> c.amounts[matches[i]]).sum();
+        long patients = distinct(stream(matches.length).mapToLong(i -> c.patientIds[matches[i]]).toArray()).length;
+        return LedgerTotals.of(matches.length, amount, patients);
+    }
+
+    /**
+     * Rebuilds the ledger from the bill rows. Changes committed while the
+     * bills are being read are also replayed onto the new columns; every
+     * change can be applied twice, so one that the read already saw is
+     * harmless.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${clinic.billing.ledger-refresh:PT15M}",
+               initialDelayString = "${clinic.billing.ledger-refresh:PT15M}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        synchronized (writeLock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            Columns loaded = Columns.EMPTY;
+            try (Stream<BillFacts> facts = bills.streamFacts()) {
+                for (BillFacts bill : (Iterable<BillFacts>) facts::iterator) {
+                    loaded = loaded.append(bill);
+                }
+            }
+            synchronized (writeLock) {
+                for (UnaryOperator<Columns> change : pending) {
+                    loaded = change.apply(loaded);
+                }
+                columns = loaded;
+            }
+            log.debug("Bill ledger loaded with {} bills", loaded.size);
+        } finally {
+            synchronized (writeLock) {
+                pending = null;
+            }
+        }
+    }
+
+    // A rolled-back change never reaches the ledger
+    private void afterCommit(UnaryOperator<Columns> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(UnaryOperator<Columns> change) {
+        synchronized (writeLock) {
+            columns = change.apply(columns);
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    // Bills without a billing date only match when no date range is given
+    private static IntPredicate billedBetween(Columns c, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return i -> true;
+        }
+        long first = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long last = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        return i -> c.billedOn[i] != NO_DATE && c.billedOn[i] >= first && c.billedOn[i] <= last;
+    }
+
+    private static IntStream positions(Columns c) {
+        return stream(c.size);
+    }
+
+    private static IntStream stream(int size) {
+        IntStream range = IntStream.range(0, size);
+        return size >= PARALLEL_THRESHOLD ? range.parallel() : range;
+    }
+
+    // Sorted and de-duplicated in place, so membership is a binary search
+    private static long[] distinct(long[] values) {
+        Arrays.parallelSort(values);
+        int unique = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (unique == 0 || values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, unique);
+    }
+
+    private static byte code(String status) {
+        return "PAID".equals(status) ? PAID : UNPAID;
+    }
+
+    /**
+     * The ledger's arrays and how many of their slots are in use. Slots
+     * below size are never moved, so a snapshot stays valid while later
+     * bills are appended into the spare capacity behind it; only a status
+     * byte changes in place. Arrays are ordered by id, so a bill is found
+     * by binary search.
+     */
+    private static final class Columns {
+
+        static final Columns EMPTY = new Columns(new long[0], new long[0], new long[0], new int[0], new byte[0], 0);
+
+        final long[] ids;
+        final long[] patientIds;
+        final long[] amounts;
+        final int[] billedOn;
+        final byte[] statuses;
+        final int size;
+
+        Columns(long[] ids, long[] patientIds, long[] amounts, int[] billedOn, byte[] statuses, int size) {
+            this.ids = ids;
+            this.patientIds = patientIds;
+            this.amounts = amounts;
+            this.billedOn = billedOn;
+            this.statuses = statuses;
+            this.size = size;
+        }
+
+        Columns append(BillFacts bill) {
+            if (bill.id() == null) {
+                return this;
+            }
+            int at = Arrays.binarySearch(ids, 0, size, bill.id());
+            if (at >= 0) {
+                return this;
+            }
+            at = -at - 1;
+
+            Columns target = this;
+            // Bills committed out of id order are rare; they get fresh arrays so no published slot moves
+            if (at < size || size == ids.length) {
+                int capacity = size == ids.length ? Math.max(16, size + (size >> 1)) : ids.length;
+                target = new Columns(spread(ids, new long[capacity], at), spread(patientIds, new long[capacity], at),
+                        spread(amounts, new long[capacity], at), spread(billedOn, new int[capacity], at),
+                        spread(statuses, new byte[capacity], at), size);
+            }
+            target.ids[at] = bill.id();
+            target.patientIds[at] = bill.patientId() == null ? 0 : bill.patientId();
+            target.amounts[at] = RevenueRollups.minorUnits(bill.amount());
+            target.billedOn[at] = bill.billedOn() == null ? NO_DATE : (int) bill.billedOn().toEpochDay();
+            target.statuses[at] = code(bill.status());
+            return new Columns(target.ids, target.patientIds, target.amounts, target.billedOn, target.statuses,
+                    size + 1);
+        }
+
+        void setStatus(long id, byte status) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            // Unknown until the next reload when the bill was created through another instance
+            if (at >= 0 && statuses[at] != REMOVED) {
+                statuses[at] = status;
+            }
+        }
+
+        // Copies the used slots into target, leaving a gap at position at
+        private <A> A spread(A source, A target, int at) {
+            System.arraycopy(source, 0, target, 0, at);
+            System.arraycopy(source, at, target, at + 1, size - at);
+            return target;
+        }
+    }
+}
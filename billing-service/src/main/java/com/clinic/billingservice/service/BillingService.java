@@ -1,28 +1,135 @@
 package com.clinic.billingservice.service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.model.BillQuery;
+import com.clinic.billingservice.model.BillRequest;
+import com.clinic.billingservice.model.PaymentResult;
+import com.clinic.billingservice.pricing.TariffEngine;
 import com.clinic.billingservice.repository.BillRepository;
 
 @Service
 public class BillingService {
 
     private final BillRepository repo;
+    private final RevenueRollups rollups;
+    private final BillLedger ledger;
+    private final TariffEngine tariffs;
+    private final TransactionTemplate tx;
+    private final int payChunkSize;
 
-    public BillingService(BillRepository repo) {
+    public BillingService(BillRepository repo,
+                          RevenueRollups rollups,
+                          BillLedger ledger,
+                          TariffEngine tariffs,
+                          TransactionTemplate tx,
+                          @Value("${clinic.billing.pay-chunk-size:500}") int payChunkSize) {
         this.repo = repo;
+        this.rollups = rollups;
+        this.ledger = ledger;
+        this.tariffs = tariffs;
+        this.tx = tx;
+        this.payChunkSize = payChunkSize;
     }
 
-    public Bill createBill(Long appointmentId, Long patientId) {
+    public Bill createBill(BillRequest request) {
+        // appointment-service relays bills at-least-once, so a redelivery returns the existing bill
+        try {
+            return tx.execute(status -> repo.findFirstByAppointmentId(request.getAppointmentId())
+                    .orElseGet(() -> {
+                        Bill saved = repo.save(newBill(request));
+                        rollups.billed(List.of(saved));
+                        ledger.billed(List.of(saved));
+                        return saved;
+                    }));
+        } catch (DataIntegrityViolationException e) {
+            if (!alreadyBilled(e)) {
+                throw e;
+            }
+            // A concurrent delivery of the same bill committed first
+            return repo.findFirstByAppointmentId(request.getAppointmentId()).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Creates bills for many appointments with one lookup and one saveAll;
+     * appointments that already have a bill get the existing one back. If a
+     * concurrent delivery bills some of them first, the batch is rolled back
+     * and retried once, and the retry finds those bills.
+     */
+    public List<Bill> createBills(List<BillRequest> requests) {
+        try {
+            return tx.execute(status -> insertBills(requests));
+        } catch (DataIntegrityViolationException e) {
+            if (!alreadyBilled(e)) {
+                throw e;
+            }
+            return tx.execute(status -> insertBills(requests));
+        }
+    }
+
+    private List<Bill> insertBills(List<BillRequest> requests) {
+        List<Long> appointmentIds = requests.stream()
+                .map(BillRequest::getAppointmentId)
+                .toList();
+
+        Map<Long, Bill> byAppointment = new HashMap<>();
+        for (Bill existing : repo.findByAppointmentIdIn(appointmentIds)) {
+            byAppointment.putIfAbsent(existing.getAppointmentId(), existing);
+        }
+
+        List<Bill> created = new ArrayList<>();
+        for (BillRequest request : requests) {
+            byAppointment.computeIfAbsent(request.getAppointmentId(), appointmentId -> {
+                Bill bill = newBill(request);
+                created.add(bill);
+                return bill;
+            });
+        }
+        repo.saveAll(created);
+        rollups.billed(created);
+        ledger.billed(created);
+
+        return appointmentIds.stream()
+                .distinct()
+                .map(byAppointment::get)
+                .toList();
+    }
+
+    // Only the one-bill-per-appointment key means "already billed"; any other violation is a real error
+    static boolean alreadyBilled(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String name = cause instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName() : cause.getMessage();
+            if (name != null && name.toLowerCase(Locale.ROOT).contains(Bill.UNIQUE_APPOINTMENT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Bill newBill(BillRequest request) {
         Bill bill = new Bill();
-        bill.setAppointmentId(appointmentId);
-        bill.setPatientId(patientId);
-        bill.setAmount(500.0);
+        bill.setAppointmentId(request.getAppointmentId());
+        bill.setPatientId(request.getPatientId());
+        bill.setAmount(tariffs.price(request.getSpecialization(), request.getVisitType(), request.getPatientCategory()));
         bill.setStatus("UNPAID");
-        return repo.save(bill);
+        bill.setBilledOn(LocalDate.now());
+        return bill;
     }
 
     public Bill getBillById(Long id) {
@@ -30,18 +137,78 @@ public class BillingService {
                 .orElseThrow(() -> new RuntimeException("Bill not found"));
     }
 
-    public List<Bill> getBillsByPatient(Long patientId) {
-        return repo.findByPatientId(patientId);
+    @Transactional(readOnly = true)
+    public List<Bill> getBillsByPatient(Long patientId, BillQuery query) {
+        return repo.findPage(patientId, query);
+    }
+
+    /**
+     * How many bills match the history filters. Counted on the same index
+     * range the page is read from, so the total always agrees with the
+     * pages, even before the revenue rollups have been seeded.
+     */
+    @Transactional(readOnly = true)
+    public long countBillsByPatient(Long patientId, BillQuery query) {
+        return repo.count(patientId, query);
     }
 
+    @Transactional
     public Bill markAsPaid(Long id) {
+        // The conditional update decides who settles the bill; the read only fetches the result
+        boolean settled = repo.markPaid(id) == 1;
         Bill bill = repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Bill not found"));
-        bill.setStatus("PAID");
-        return repo.save(bill);
+        if (settled) {
+            rollups.paid(List.of(bill));
+            ledger.paid(List.of(bill));
+        }
+        return bill;
+    }
+
+    /**
+     * Pays many bills, such as an insurer remittance, with one locking read
+     * and one conditional UPDATE per chunk of ids instead of a read and a
+     * write per bill. Ids are locked in ascending order so overlapping
+     * payments cannot deadlock. Returns one result per distinct id, in the
+     * order given.
+     */
+    @Transactional
+    public List<PaymentResult> payBills(List<Long> ids) {
+        Map<Long, PaymentResult.Outcome> outcomes = new HashMap<>();
+        List<Bill> settled = new ArrayList<>();
+
+        List<Long> sorted = new ArrayList<>(new TreeSet<>(ids));
+        for (int from = 0; from < sorted.size(); from += payChunkSize) {
+            List<Long> chunk = sorted.subList(from, Math.min(from + payChunkSize, sorted.size()));
+            List<Long> unpaid = new ArrayList<>();
+            for (Bill bill : repo.lockAllById(chunk)) {
+                if ("UNPAID".equals(bill.getStatus())) {
+                    unpaid.add(bill.getId());
+                    settled.add(bill);
+                    outcomes.put(bill.getId(), PaymentResult.Outcome.APPLIED);
+                } else {
+                    outcomes.put(bill.getId(), PaymentResult.Outcome.ALREADY_PAID);
+                }
+            }
+            if (!unpaid.isEmpty()) {
+                repo.markAllPaid(unpaid);
+            }
+        }
+        rollups.paid(settled);
+        ledger.paid(settled);
+
+        return ids.stream()
+                .distinct()
+                .map(id -> new PaymentResult(id, outcomes.getOrDefault(id, PaymentResult.Outcome.MISSING)))
+                .toList();
     }
 
+    @Transactional
     public void deleteBill(Long id) {
-        repo.deleteById(id);
+        repo.findById(id).ifPresent(bill -> {
+            repo.delete(bill);
+            rollups.removed(bill);
+            ledger.removed(bill);
+        });
     }
 }
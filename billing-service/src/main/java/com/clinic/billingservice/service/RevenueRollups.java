@@ -0,0 +1,240 @@
+package com.clinic.billingservice.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.entity.RevenueRollup;
+import com.clinic.billingservice.model.BillFacts;
+import com.clinic.billingservice.model.BillTotals;
+import com.clinic.billingservice.model.RevenueSummary;
+import com.clinic.billingservice.model.RollupCheck;
+import com.clinic.billingservice.repository.BillRepository;
+import com.clinic.billingservice.repository.RevenueRollupRepository;
+
+/**
+ * Keeps revenue per day, per patient and overall in the revenue_rollup
+ * table. BillingService reports every bill it creates, pays or deletes
+ * from inside the same transaction, and the change is added to each
+ * affected row with an upsert, so summaries are single-row reads and the
+ * totals commit or roll back with the bills themselves.
+ *
+ * <p>Until verify has run once on this instance the table may be empty or
+ * partial (a fresh deploy over existing bills), so summaries are summed
+ * from the bills instead.
+ */
+@Service
+public class RevenueRollups {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueRollups.class);
+
+    // Rows are always upserted in the same order so concurrent transactions cannot deadlock on them
+    private static final Comparator<RevenueRollup.Key> ROW_ORDER =
+            Comparator.comparing(RevenueRollup.Key::getDimension).thenComparing(RevenueRollup.Key::getBucket);
+
+    private final RevenueRollupRepository rollups;
+    private final BillRepository bills;
+    private volatile boolean verified;
+
+    public RevenueRollups(RevenueRollupRepository rollups, BillRepository bills) {
+        this.rollups = rollups;
+        this.bills = bills;
+    }
+
+    public void billed(Collection<Bill> created) {
+        Map<RevenueRollup.Key, RevenueRollup> deltas = new TreeMap<>(ROW_ORDER);
+        for (Bill bill : created) {
+            long amount = minorUnits(bill.getAmount());
+            boolean paid = isPaid(bill.getStatus());
+            accumulate(deltas, bill.getPatientId(), bill.getBilledOn(), 1, amount, paid ? 1 : 0, paid ? amount : 0);
+        }
+        apply(deltas);
+    }
+
+    public void paid(Collection<Bill> settled) {
+        Map<RevenueRollup.Key, RevenueRollup> deltas = new TreeMap<>(ROW_ORDER);
+        for (Bill bill : settled) {
+            accumulate(deltas, bill.getPatientId(), bill.getBilledOn(), 0, 0, 1, minorUnits(bill.getAmount()));
+        }
+        apply(deltas);
+    }
+
+    public void removed(Bill bill) {
+        Map<RevenueRollup.Key, RevenueRollup> deltas = new TreeMap<>(ROW_ORDER);
+        long amount = minorUnits(bill.getAmount());
+        boolean paid = isPaid(bill.getStatus());
+        accumulate(deltas, bill.getPatientId(), bill.getBilledOn(), -1, -amount, paid ? -1 : 0, paid ? -amount : 0);
+        apply(deltas);
+    }
+
+    public boolean isVerified() {
+        return verified;
+    }
+
+    public RevenueSummary total() {
+        return summary(RevenueRollup.TOTAL, RevenueRollup.ALL, bills::totalsByStatus);
+    }
+
+    public RevenueSummary forPatient(Long patientId) {
+        return summary(RevenueRollup.PATIENT, patientId.toString(), () -> bills.totalsByStatusForPatient(patientId));
+    }
+
+    public RevenueSummary forDay(LocalDate day) {
+        return summary(RevenueRollup.DAY, day.toString(), () -> bills.totalsByDayAndStatus(day, day));
+    }
+
+    // ISO dates sort as strings, so a date range is a range scan of the primary key
+    public List<RevenueSummary> daily(LocalDate from, LocalDate to) {
+        if (!verified) {
+            Map<LocalDate, RevenueRollup> days = new TreeMap<>();
+            for (BillTotals totals : bills.totalsByDayAndStatus(from, to)) {
+                add(days.computeIfAbsent(totals.billedOn(),
+                        day -> new RevenueRollup(RevenueRollup.DAY, day.toString())), totals);
+            }
+            return days.values().stream().map(RevenueSummary::of).toList();
+        }
+        return rollups.findByDimensionAndBucketBetweenOrderByBucket(RevenueRollup.DAY, from.toString(), to.toString())
+                .stream()
+                .map(RevenueSummary::of)
+                .toList();
+    }
+
+    /**
+     * Recomputes every rollup from the bill rows and corrects any that have
+     * drifted. Both are read from one repeatable-read snapshot, and the
+     * correction is added as a delta rather than written over the row, so
+     * bills committed while the check runs are neither lost nor counted
+     * twice. Also runs once at startup, which seeds the rollups from the
+     * bills after a fresh deploy; summaries switch to the rollups when it
+     * commits.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${clinic.billing.rollup-check-cron:0 30 3 * * *}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public RollupCheck verify() {
+        Map<RevenueRollup.Key, RevenueRollup> expected = new HashMap<>();
+        try (Stream<BillFacts> facts = bills.streamFacts()) {
+            facts.forEach(bill -> {
+                long amount = minorUnits(bill.amount());
+                boolean paid = isPaid(bill.status());
+                accumulate(expected, bill.patientId(), bill.billedOn(), 1, amount, paid ? 1 : 0, paid ? amount : 0);
+            });
+        }
+
+        Map<RevenueRollup.Key, RevenueRollup> stored = new HashMap<>();
+        for (RevenueRollup rollup : rollups.findAll()) {
+            stored.put(new RevenueRollup.Key(rollup.getDimension(), rollup.getBucket()), rollup);
+        }
+
+        Set<RevenueRollup.Key> keys = new HashSet<>(expected.keySet());
+        keys.addAll(stored.keySet());
+        Map<RevenueRollup.Key, RevenueRollup> corrections = new TreeMap<>(ROW_ORDER);
+        for (RevenueRollup.Key key : keys) {
+            RevenueRollup want = expected.getOrDefault(key, new RevenueRollup(key.getDimension(), key.getBucket()));
+            RevenueRollup have = stored.getOrDefault(key, new RevenueRollup(key.getDimension(), key.getBucket()));
+            if (!want.sameTotals(have)) {
+                log.warn("Revenue rollup {}/{} has drifted from the bills and is being corrected",
+                        key.getDimension(), key.getBucket());
+                accumulate(corrections, key,
+                        want.getBilledCount() - have.getBilledCount(), want.getBilledMinor() - have.getBilledMinor(),
+                        want.getPaidCount() - have.getPaidCount(), want.getPaidMinor() - have.getPaidMinor());
+            }
+        }
+        apply(corrections);
+        afterCommit(() -> verified = true);
+
+        log.info("Revenue rollups checked: {} buckets, {} corrected", keys.size(), corrections.size());
+        return new RollupCheck(keys.size(), corrections.size());
+    }
+
+    private RevenueSummary summary(String dimension, String bucket, Supplier<List<BillTotals>> fromBills) {
+        if (!verified) {
+            RevenueRollup summed = new RevenueRollup(dimension, bucket);
+            fromBills.get().forEach(totals -> add(summed, totals));
+            return RevenueSummary.of(summed);
+        }
+        return RevenueSummary.of(rollups.findById(new RevenueRollup.Key(dimension, bucket))
+                .orElseGet(() -> new RevenueRollup(dimension, bucket)));
+    }
+
+    private static void add(RevenueRollup rollup, BillTotals totals) {
+        long amount = minorUnits(totals.amount());
+        boolean paid = isPaid(totals.status());
+        rollup.add(totals.bills(), amount, paid ? totals.bills() : 0, paid ? amount : 0);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void apply(Map<RevenueRollup.Key, RevenueRollup> deltas) {
+        for (RevenueRollup delta : deltas.values()) {
+            rollups.add(delta.getDimension(), delta.getBucket(), delta.getBilledCount(), delta.getBilledMinor(),
+                    delta.getPaidCount(), delta.getPaidMinor());
+        }
+    }
+
+    private static void accumulate(Map<RevenueRollup.Key, RevenueRollup> rows, Long patientId, LocalDate billedOn,
+                                   long billedCount, long billedMinor, long paidCount, long paidMinor) {
+        for (RevenueRollup.Key key : keysOf(patientId, billedOn)) {
+            accumulate(rows, key, billedCount, billedMinor, paidCount, paidMinor);
+        }
+    }
+
+    private static void accumulate(Map<RevenueRollup.Key, RevenueRollup> rows, RevenueRollup.Key key,
+                                   long billedCount, long billedMinor, long paidCount, long paidMinor) {
+        rows.computeIfAbsent(key, k -> new RevenueRollup(k.getDimension(), k.getBucket()))
+                .add(billedCount, billedMinor, paidCount, paidMinor);
+    }
+
+    // Bills from before billedOn was recorded count towards their patient and the total only
+    private static List<RevenueRollup.Key> keysOf(Long patientId, LocalDate billedOn) {
+        List<RevenueRollup.Key> keys = new ArrayList<>(3);
+        keys.add(new RevenueRollup.Key(RevenueRollup.TOTAL, RevenueRollup.ALL));
+        if (patientId != null) {
+            keys.add(new RevenueRollup.Key(RevenueRollup.PATIENT, patientId.toString()));
+        }
+        if (billedOn != null) {
+            keys.add(new RevenueRollup.Key(RevenueRollup.DAY, billedOn.toString()));
+        }
+        return keys;
+    }
+
+    static long minorUnits(Double amount) {
+        return amount == null ? 0 : Math.round(amount * 100);
+    }
+
+    private static boolean isPaid(String status) {
+        return "PAID".equals(status);
+    }
+}
@@ -0,0 +1,91 @@
+package com.clinic.billingservice.pricing;
+
+import com.clinic.billingservice.entity.Tariff;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TariffTable
+ * Tests rule precedence, wildcards, case-insensitive matching and the default amount
+ */
+@DisplayName("Tariff Table Tests")
+class TariffTableTest {
+
+    private final TariffTable table = TariffTable.compile(List.of(
+            tariff(1L, null, null, null, 300.0),
+            tariff(2L, "Cardiology", null, null, 900.0),
+            tariff(3L, "Cardiology", "FOLLOW_UP", null, 450.0),
+            tariff(4L, null, "FOLLOW_UP", null, 200.0),
+            tariff(5L, null, null, "SENIOR", 150.0),
+            tariff(6L, "Neurology", null, "SENIOR", 600.0)), 500.0);
+
+    @Test
+    @DisplayName("Should pick the most specific matching rule")
+    void testPrice_MostSpecific() {
+        assertEquals(450.0, table.price("Cardiology", "FOLLOW_UP", null));
+        assertEquals(900.0, table.price("Cardiology", "CONSULTATION", null));
+        assertEquals(600.0, table.price("Neurology", null, "SENIOR"));
+    }
+
+    @Test
+    @DisplayName("Should rank specialization above visit type above patient category")
+    void testPrice_Precedence() {
+        // Cardiology (specialization) beats SENIOR (category)
+        assertEquals(900.0, table.price("Cardiology", null, "SENIOR"));
+        // FOLLOW_UP (visit type) beats SENIOR (category)
+        assertEquals(200.0, table.price("Dermatology", "FOLLOW_UP", "SENIOR"));
+        assertEquals(150.0, table.price("Dermatology", null, "SENIOR"));
+    }
+
+    @Test
+    @DisplayName("Should match names regardless of case")
+    void testPrice_CaseInsensitive() {
+        assertEquals(450.0, table.price("cardiology", "follow_up", null));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the catch-all rule for unknown or missing values")
+    void testPrice_CatchAll() {
+        assertEquals(300.0, table.price("Dermatology", "CONSULTATION", "ADULT"));
+        assertEquals(300.0, table.price(null, null, null));
+    }
+
+    @Test
+    @DisplayName("Should charge the default amount when no rule matches")
+    void testPrice_Default() {
+        // Given
+        TariffTable partial = TariffTable.compile(List.of(tariff(1L, "Cardiology", null, null, 900.0)), 500.0);
+
+        // When & Then
+        assertEquals(500.0, partial.price("Neurology", null, null));
+        assertEquals(500.0, TariffTable.compile(List.of(), 500.0).price("Cardiology", null, null));
+    }
+
+    @Test
+    @DisplayName("Should let the oldest of two duplicate rules win")
+    void testPrice_Duplicates() {
+        // Given
+        TariffTable duplicated = TariffTable.compile(List.of(
+                tariff(7L, "Cardiology", null, null, 700.0),
+                tariff(2L, "Cardiology", null, null, 900.0)), 500.0);
+
+        // When & Then
+        assertEquals(900.0, duplicated.price("Cardiology", null, null));
+    }
+
+    @Test
+    @DisplayName("Should return the same boxed price on every lookup")
+    void testPrice_NoAllocation() {
+        assertSame(table.price("Cardiology", "FOLLOW_UP", null), table.price("Cardiology", "FOLLOW_UP", null));
+    }
+
+    private static Tariff tariff(Long id, String specialization, String visitType, String patientCategory, Double amount) {
+        Tariff tariff = new Tariff(specialization, visitType, patientCategory, amount);
+        tariff.setId(id);
+        return tariff;
+    }
+}
@@ -0,0 +1,88 @@
+package com.clinic.billingservice.repository;
+
+import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.model.BillQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BillRepositoryImpl
+ * Tests keyset paging of a patient's bills with and without a status filter
+ */
+@DataJpaTest(properties = "eureka.client.enabled=false")
+@DisplayName("Bill Repository Tests")
+class BillRepositoryImplTest {
+
+    @Autowired
+    private BillRepository billRepository;
+
+    private final List<Long> patientBills = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Statuses alternate, so neither status alone is an id range
+        for (int i = 0; i < 7; i++) {
+            patientBills.add(billRepository.save(bill(7L, i % 2 == 0 ? "UNPAID" : "PAID", i)).getId());
+            billRepository.save(bill(8L, "UNPAID", i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through every status in id order without a status filter")
+    void testFindPage_AllStatuses() {
+        // Given
+        BillQuery query = new BillQuery();
+        query.setLimit(3);
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        List<Bill> page = billRepository.findPage(7L, query);
+        while (!page.isEmpty()) {
+            page.forEach(bill -> seen.add(bill.getId()));
+            query.setAfterId(page.get(page.size() - 1).getId());
+            page = billRepository.findPage(7L, query);
+        }
+
+        // Then
+        assertEquals(patientBills, seen);
+        assertEquals(7, billRepository.count(7L, query));
+    }
+
+    @Test
+    @DisplayName("Should page through one status in id order")
+    void testFindPage_Status() {
+        // Given
+        BillQuery query = new BillQuery();
+        query.setStatus("PAID");
+        query.setLimit(2);
+
+        // When
+        List<Bill> first = billRepository.findPage(7L, query);
+        query.setAfterId(first.get(first.size() - 1).getId());
+        List<Bill> second = billRepository.findPage(7L, query);
+
+        // Then
+        assertEquals(List.of(patientBills.get(1), patientBills.get(3)), first.stream().map(Bill::getId).toList());
+        assertEquals(List.of(patientBills.get(5)), second.stream().map(Bill::getId).toList());
+        assertEquals(3, billRepository.count(7L, query));
+    }
+
+    private static Bill bill(Long patientId, String status, int day) {
+        Bill bill = new Bill();
+        bill.setAppointmentId(patientId * 100 + day);
+        bill.setPatientId(patientId);
+        bill.setAmount(100.0);
+        bill.setStatus(status);
+        bill.setBilledOn(LocalDate.of(2026, 3, 1 + day));
+        return bill;
+    }
+}
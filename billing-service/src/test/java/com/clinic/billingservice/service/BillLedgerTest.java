@@ -0,0 +1,183 @@
+package com.clinic.billingservice.service;
+
+import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.model.BillFacts;
+import com.clinic.billingservice.model.LedgerQuery;
+import com.clinic.billingservice.model.LedgerTotals;
+import com.clinic.billingservice.repository.BillRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BillLedger
+ * Tests loading, applying bill changes and filtered aggregates over the columns
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Bill Ledger Tests")
+class BillLedgerTest {
+
+    private static final LocalDate FEB = LocalDate.of(2026, 2, 20);
+    private static final LocalDate MAR = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private BillRepository billRepository;
+
+    @InjectMocks
+    private BillLedger ledger;
+
+    @Test
+    @DisplayName("Should load every bill and total them by status")
+    void testAggregate_Status() {
+        // Given
+        load();
+
+        // When
+        LedgerTotals all = ledger.aggregate(new LedgerQuery());
+        LedgerTotals unpaid = ledger.aggregate(query("UNPAID", null, null));
+
+        // Then
+        assertEquals(5, ledger.size());
+        assertEquals(LedgerTotals.of(5, 230000, 3), all);
+        assertEquals(3, unpaid.bills());
+        assertEquals(new BigDecimal("1700.00"), unpaid.amount());
+        assertEquals(LedgerTotals.of(0, 0, 0), ledger.aggregate(query("VOID", null, null)));
+    }
+
+    @Test
+    @DisplayName("Should leave undated bills out of a billing date range")
+    void testAggregate_DateRange() {
+        // Given
+        load();
+
+        // When
+        LedgerTotals march = ledger.aggregate(query(null, MAR.withDayOfMonth(1), MAR.withDayOfMonth(31)));
+        LedgerTotals untilMarch = ledger.aggregate(query(null, null, MAR.withDayOfMonth(31)));
+
+        // Then
+        assertEquals(LedgerTotals.of(2, 100000, 2), march);
+        assertEquals(4, untilMarch.bills());
+    }
+
+    @Test
+    @DisplayName("Should total unpaid bills of patients seen in a date range")
+    void testAggregate_SeenPatients() {
+        // Given
+        load();
+        LedgerQuery query = query("UNPAID", null, null);
+        query.setSeenFrom(MAR.withDayOfMonth(1));
+        query.setSeenTo(MAR.withDayOfMonth(31));
+
+        // When
+        LedgerTotals result = ledger.aggregate(query);
+
+        // Then: patients 7 and 8 were seen in March; only 7 owes, and their February bill counts too
+        assertEquals(LedgerTotals.of(2, 70000, 1), result);
+    }
+
+    @Test
+    @DisplayName("Should append new bills, including ones committed out of id order")
+    void testBilled() {
+        // Given
+        load();
+
+        // When
+        ledger.billed(List.of(bill(9L, 8L, 100.0, "UNPAID"), bill(4L, 10L, 50.0, "UNPAID")));
+        ledger.billed(List.of(bill(9L, 8L, 100.0, "UNPAID")));
+
+        // Then
+        assertEquals(7, ledger.size());
+        LedgerQuery patient = new LedgerQuery();
+        patient.setPatientId(10L);
+        assertEquals(LedgerTotals.of(1, 5000, 1), ledger.aggregate(patient));
+        assertEquals(LedgerTotals.of(7, 245000, 4), ledger.aggregate(new LedgerQuery()));
+    }
+
+    @Test
+    @DisplayName("Should apply payments and leave deleted bills out")
+    void testPaidAndRemoved() {
+        // Given
+        load();
+
+        // When
+        ledger.paid(List.of(bill(1L, 7L, 500.0, "PAID")));
+        ledger.removed(bill(2L, 7L, 200.0, "UNPAID"));
+        ledger.paid(List.of(bill(2L, 7L, 200.0, "PAID")));
+
+        // Then
+        assertEquals(LedgerTotals.of(1, 100000, 1), ledger.aggregate(query("UNPAID", null, null)));
+        assertEquals(4, ledger.aggregate(new LedgerQuery()).bills());
+    }
+
+    @Test
+    @DisplayName("Should keep changes committed while the bills are being reloaded")
+    void testReload_ReplaysChanges() {
+        // Given
+        when(billRepository.streamFacts()).thenAnswer(invocation -> {
+            ledger.billed(List.of(bill(10L, 7L, 100.0, "UNPAID")));
+            return Stream.of(new BillFacts(1L, 7L, MAR, 500.0, "UNPAID"));
+        });
+
+        // When
+        ledger.reload();
+
+        // Then
+        assertEquals(2, ledger.size());
+        assertEquals(LedgerTotals.of(2, 60000, 1), ledger.aggregate(new LedgerQuery()));
+    }
+
+    @Test
+    @DisplayName("Should give the same totals when the scan is split across threads")
+    void testAggregate_Parallel() {
+        // Given
+        when(billRepository.streamFacts()).thenReturn(LongStream.rangeClosed(1, 50_000)
+                .mapToObj(id -> new BillFacts(id, id % 1000, MAR, 10.0, id % 2 == 0 ? "PAID" : "UNPAID")));
+        ledger.reload();
+
+        // When
+        LedgerTotals result = ledger.aggregate(query("PAID", null, null));
+
+        // Then
+        assertEquals(LedgerTotals.of(25_000, 25_000_000, 500), result);
+    }
+
+    private void load() {
+        when(billRepository.streamFacts()).thenReturn(Stream.of(
+                new BillFacts(1L, 7L, MAR, 500.0, "UNPAID"),
+                new BillFacts(2L, 7L, FEB, 200.0, "UNPAID"),
+                new BillFacts(3L, 8L, MAR, 500.0, "PAID"),
+                new BillFacts(5L, 9L, FEB, 100.0, "PAID"),
+                new BillFacts(6L, 9L, null, 1000.0, "UNPAID")));
+        ledger.reload();
+    }
+
+    private static LedgerQuery query(String status, LocalDate from, LocalDate to) {
+        LedgerQuery query = new LedgerQuery();
+        query.setStatus(status);
+        query.setFrom(from);
+        query.setTo(to);
+        return query;
+    }
+
+    private static Bill bill(Long id, Long patientId, Double amount, String status) {
+        Bill bill = new Bill();
+        bill.setId(id);
+        bill.setPatientId(patientId);
+        bill.setAmount(amount);
+        bill.setStatus(status);
+        bill.setBilledOn(MAR);
+        return bill;
+    }
+}
@@ -1,15 +1,26 @@
 package com.clinic.billingservice.service;
 
 import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.entity.Tariff;
+import com.clinic.billingservice.model.BillQuery;
+import com.clinic.billingservice.model.BillRequest;
+import com.clinic.billingservice.model.PaymentResult;
+import com.clinic.billingservice.pricing.TariffEngine;
 import com.clinic.billingservice.repository.BillRepository;
+import com.clinic.billingservice.repository.TariffRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +28,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,13 +43,27 @@ class BillingServiceTest {
     @Mock
     private BillRepository billRepository;
 
-    @InjectMocks
+    @Mock
+    private RevenueRollups revenueRollups;
+
+    @Mock
+    private BillLedger billLedger;
+
+    @Mock
+    private TariffRepository tariffRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private BillingService billingService;
 
     private Bill sampleBill;
 
     @BeforeEach
     void setUp() {
+        billingService = new BillingService(billRepository, revenueRollups, billLedger,
+                new TariffEngine(tariffRepository, 500.0), new TransactionTemplate(transactionManager), 2);
+
         sampleBill = new Bill();
         sampleBill.setId(1L);
         sampleBill.setAppointmentId(1L);
@@ -55,7 +82,7 @@ class BillingServiceTest {
         when(billRepository.save(any(Bill.class))).thenReturn(sampleBill);
 
         // When
-        Bill result = billingService.createBill(appointmentId, patientId);
+        Bill result = billingService.createBill(new BillRequest(appointmentId, patientId));
 
         // Then
         assertNotNull(result);
@@ -64,7 +91,126 @@ class BillingServiceTest {
         assertEquals(100.0, result.getAmount());
         assertEquals("UNPAID", result.getStatus());
 
-        verify(billRepository, times(1)).save(any(Bill.class));
+        verify(billRepository, times(1)).save(argThat(bill ->
+                bill.getBilledOn() != null && bill.getAmount() == 500.0));
+        verify(revenueRollups, times(1)).billed(List.of(sampleBill));
+        verify(billLedger, times(1)).billed(List.of(sampleBill));
+    }
+
+    @Test
+    @DisplayName("Should price a bill from the matching tariff")
+    void testCreateBill_Tariff() {
+        // Given
+        when(tariffRepository.findAll()).thenReturn(List.of(
+                new Tariff(null, null, null, 400.0),
+                new Tariff("Cardiology", null, null, 900.0)));
+        TariffEngine tariffs = new TariffEngine(tariffRepository, 500.0);
+        tariffs.reload();
+        billingService = new BillingService(billRepository, revenueRollups, billLedger, tariffs,
+                new TransactionTemplate(transactionManager), 2);
+
+        BillRequest request = new BillRequest(1L, 1L);
+        request.setSpecialization("cardiology");
+        when(billRepository.save(any(Bill.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Bill cardiology = billingService.createBill(request);
+        Bill other = billingService.createBill(new BillRequest(2L, 1L));
+
+        // Then
+        assertEquals(900.0, cardiology.getAmount());
+        assertEquals(400.0, other.getAmount());
+    }
+
+    @Test
+    @DisplayName("Should return existing bill when the same appointment is billed twice")
+    void testCreateBill_Redelivery() {
+        // Given
+        when(billRepository.findFirstByAppointmentId(1L)).thenReturn(Optional.of(sampleBill));
+
+        // When
+        Bill result = billingService.createBill(new BillRequest(1L, 1L));
+
+        // Then
+        assertSame(sampleBill, result);
+        verify(billRepository, never()).save(any(Bill.class));
+        verify(revenueRollups, never()).billed(any());
+    }
+
+    @Test
+    @DisplayName("Should return the bill a concurrent delivery inserted first")
+    void testCreateBill_ConcurrentDelivery() {
+        // Given
+        when(billRepository.findFirstByAppointmentId(1L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(sampleBill));
+        when(billRepository.save(any(Bill.class))).thenThrow(duplicate("uk_bill_appointment"));
+
+        // When
+        Bill result = billingService.createBill(new BillRequest(1L, 1L));
+
+        // Then
+        assertSame(sampleBill, result);
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should rethrow constraint violations other than the appointment key")
+    void testCreateBill_OtherConstraint() {
+        // Given
+        when(billRepository.findFirstByAppointmentId(1L)).thenReturn(Optional.empty());
+        when(billRepository.save(any(Bill.class))).thenThrow(duplicate("PRIMARY"));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> billingService.createBill(new BillRequest(1L, 1L)));
+        verify(billRepository, times(1)).findFirstByAppointmentId(1L);
+    }
+
+    @Test
+    @DisplayName("Should retry a bulk insert that raced a concurrent delivery")
+    void testCreateBills_ConcurrentDelivery() {
+        // Given
+        when(billRepository.findByAppointmentIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(sampleBill));
+        when(billRepository.saveAll(any()))
+                .thenThrow(duplicate("uk_bill_appointment"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Bill> result = billingService.createBills(List.of(new BillRequest(1L, 1L), new BillRequest(2L, 1L)));
+
+        // Then
+        assertSame(sampleBill, result.get(0));
+        assertEquals(2L, result.get(1).getAppointmentId());
+        verify(revenueRollups, times(1)).billed(argThat(bills -> bills.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should create bills in bulk and reuse existing ones")
+    void testCreateBills() {
+        // Given
+        when(billRepository.findByAppointmentIdIn(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(sampleBill));
+
+        // When
+        List<Bill> result = billingService.createBills(List.of(
+                new BillRequest(1L, 1L),
+                new BillRequest(2L, 1L),
+                new BillRequest(3L, 2L)));
+
+        // Then
+        assertEquals(3, result.size());
+        assertSame(sampleBill, result.get(0));
+        assertEquals(2L, result.get(1).getAppointmentId());
+        assertEquals("UNPAID", result.get(1).getStatus());
+        assertEquals(2L, result.get(2).getPatientId());
+
+        verify(billRepository, times(1)).saveAll(argThat(bills ->
+                ((List<Bill>) bills).size() == 2));
+        verify(billRepository, never()).save(any(Bill.class));
+        verify(revenueRollups, times(1)).billed(argThat(bills -> bills.size() == 2));
     }
 
     @Test
@@ -110,10 +256,11 @@ class BillingServiceTest {
         bill2.setStatus("PAID");
 
         List<Bill> patientBills = Arrays.asList(sampleBill, bill2);
-        when(billRepository.findByPatientId(1L)).thenReturn(patientBills);
+        BillQuery query = new BillQuery();
+        when(billRepository.findPage(1L, query)).thenReturn(patientBills);
 
         // When
-        List<Bill> result = billingService.getBillsByPatient(1L);
+        List<Bill> result = billingService.getBillsByPatient(1L, query);
 
         // Then
         assertNotNull(result);
@@ -121,31 +268,62 @@ class BillingServiceTest {
         assertEquals(1L, result.get(0).getPatientId());
         assertEquals(1L, result.get(1).getPatientId());
 
-        verify(billRepository, times(1)).findByPatientId(1L);
+        verify(billRepository, times(1)).findPage(1L, query);
     }
 
     @Test
     @DisplayName("Should return empty list when patient has no bills")
     void testGetBillsByPatient_NoBills() {
         // Given
-        when(billRepository.findByPatientId(anyLong())).thenReturn(Arrays.asList());
+        when(billRepository.findPage(anyLong(), any(BillQuery.class))).thenReturn(Arrays.asList());
 
         // When
-        List<Bill> result = billingService.getBillsByPatient(999L);
+        List<Bill> result = billingService.getBillsByPatient(999L, new BillQuery());
 
         // Then
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(billRepository, times(1)).findByPatientId(999L);
+        verify(billRepository, times(1)).findPage(eq(999L), any(BillQuery.class));
+    }
+
+    @Test
+    @DisplayName("Should count a patient's bills by status on the index, not from the revenue rollup")
+    void testCountBillsByPatient_Status() {
+        // Given
+        BillQuery query = new BillQuery();
+        query.setStatus("UNPAID");
+        when(billRepository.count(1L, query)).thenReturn(3L);
+
+        // When
+        long result = billingService.countBillsByPatient(1L, query);
+
+        // Then
+        assertEquals(3, result);
+        verify(revenueRollups, never()).forPatient(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should count bills with a query when a date range is given")
+    void testCountBillsByPatient_DateRange() {
+        // Given
+        BillQuery query = new BillQuery();
+        query.setFrom(LocalDate.of(2026, 3, 1));
+        query.setTo(LocalDate.of(2026, 3, 31));
+        when(billRepository.count(1L, query)).thenReturn(4L);
+
+        // When
+        long result = billingService.countBillsByPatient(1L, query);
+
+        // Then
+        assertEquals(4, result);
+        verify(revenueRollups, never()).forPatient(anyLong());
     }
 
     @Test
     @DisplayName("Should mark bill as PAID")
     void testMarkAsPaid() {
         // Given
-        when(billRepository.findById(1L)).thenReturn(Optional.of(sampleBill));
-
         Bill paidBill = new Bill();
         paidBill.setId(1L);
         paidBill.setAppointmentId(1L);
@@ -153,7 +331,8 @@ class BillingServiceTest {
         paidBill.setAmount(100.0);
         paidBill.setStatus("PAID");
 
-        when(billRepository.save(any(Bill.class))).thenReturn(paidBill);
+        when(billRepository.markPaid(1L)).thenReturn(1);
+        when(billRepository.findById(1L)).thenReturn(Optional.of(paidBill));
 
         // When
         Bill result = billingService.markAsPaid(1L);
@@ -162,8 +341,10 @@ class BillingServiceTest {
         assertNotNull(result);
         assertEquals("PAID", result.getStatus());
 
-        verify(billRepository, times(1)).findById(1L);
-        verify(billRepository, times(1)).save(any(Bill.class));
+        verify(billRepository, times(1)).markPaid(1L);
+        verify(billRepository, never()).save(any(Bill.class));
+        verify(revenueRollups, times(1)).paid(List.of(paidBill));
+        verify(billLedger, times(1)).paid(List.of(paidBill));
     }
 
     @Test
@@ -179,19 +360,37 @@ class BillingServiceTest {
 
         verify(billRepository, times(1)).findById(999L);
         verify(billRepository, never()).save(any(Bill.class));
+        verify(revenueRollups, never()).paid(any());
+        verify(billLedger, never()).paid(any());
     }
 
     @Test
     @DisplayName("Should delete bill")
     void testDeleteBill() {
         // Given
-        doNothing().when(billRepository).deleteById(1L);
+        when(billRepository.findById(1L)).thenReturn(Optional.of(sampleBill));
 
         // When
         billingService.deleteBill(1L);
 
         // Then
-        verify(billRepository, times(1)).deleteById(1L);
+        verify(billRepository, times(1)).delete(sampleBill);
+        verify(revenueRollups, times(1)).removed(sampleBill);
+        verify(billLedger, times(1)).removed(sampleBill);
+    }
+
+    @Test
+    @DisplayName("Should ignore deleting a bill that does not exist")
+    void testDeleteBill_NotFound() {
+        // Given
+        when(billRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When
+        billingService.deleteBill(999L);
+
+        // Then
+        verify(billRepository, never()).delete(any(Bill.class));
+        verify(revenueRollups, never()).removed(any(Bill.class));
     }
 
     @Test
@@ -217,8 +416,8 @@ class BillingServiceTest {
                 .thenReturn(bill2);
 
         // When
-        Bill result1 = billingService.createBill(1L, 1L);
-        Bill result2 = billingService.createBill(2L, 1L);
+        Bill result1 = billingService.createBill(new BillRequest(1L, 1L));
+        Bill result2 = billingService.createBill(new BillRequest(2L, 1L));
 
         // Then
         assertNotNull(result1);
@@ -244,7 +443,7 @@ class BillingServiceTest {
         when(billRepository.save(any(Bill.class))).thenReturn(expensiveBill);
 
         // When
-        Bill result = billingService.createBill(1L, 1L);
+        Bill result = billingService.createBill(new BillRequest(1L, 1L));
 
         // Then
         assertNotNull(result);
@@ -262,8 +461,8 @@ class BillingServiceTest {
         alreadyPaidBill.setAmount(100.0);
         alreadyPaidBill.setStatus("PAID");
 
+        when(billRepository.markPaid(1L)).thenReturn(0);
         when(billRepository.findById(1L)).thenReturn(Optional.of(alreadyPaidBill));
-        when(billRepository.save(any(Bill.class))).thenReturn(alreadyPaidBill);
 
         // When
         Bill result = billingService.markAsPaid(1L);
@@ -272,6 +471,64 @@ class BillingServiceTest {
         assertNotNull(result);
         assertEquals("PAID", result.getStatus());
 
-        verify(billRepository, times(1)).save(any(Bill.class));
+        verify(billRepository, never()).save(any(Bill.class));
+        verify(revenueRollups, never()).paid(any());
+        verify(billLedger, never()).paid(any());
+    }
+
+    @Test
+    @DisplayName("Should pay bills in bulk and report each id")
+    void testPayBills() {
+        // Given
+        Bill alreadyPaidBill = new Bill();
+        alreadyPaidBill.setId(2L);
+        alreadyPaidBill.setPatientId(1L);
+        alreadyPaidBill.setAmount(100.0);
+        alreadyPaidBill.setStatus("PAID");
+
+        Bill bill4 = new Bill();
+        bill4.setId(4L);
+        bill4.setPatientId(2L);
+        bill4.setAmount(100.0);
+        bill4.setStatus("UNPAID");
+
+        when(billRepository.lockAllById(List.of(1L, 2L))).thenReturn(List.of(sampleBill, alreadyPaidBill));
+        when(billRepository.lockAllById(List.of(3L, 4L))).thenReturn(List.of(bill4));
+
+        // When
+        List<PaymentResult> result = billingService.payBills(List.of(4L, 1L, 2L, 3L, 1L));
+
+        // Then
+        assertEquals(List.of(
+                new PaymentResult(4L, PaymentResult.Outcome.APPLIED),
+                new PaymentResult(1L, PaymentResult.Outcome.APPLIED),
+                new PaymentResult(2L, PaymentResult.Outcome.ALREADY_PAID),
+                new PaymentResult(3L, PaymentResult.Outcome.MISSING)), result);
+
+        verify(billRepository, times(1)).markAllPaid(List.of(1L));
+        verify(billRepository, times(1)).markAllPaid(List.of(4L));
+        verify(billRepository, never()).save(any(Bill.class));
+        verify(revenueRollups, times(1)).paid(List.of(sampleBill, bill4));
+    }
+
+    @Test
+    @DisplayName("Should skip the update when every bill in a chunk is already paid")
+    void testPayBills_NothingToPay() {
+        // Given
+        when(billRepository.lockAllById(List.of(9L))).thenReturn(List.of());
+
+        // When
+        List<PaymentResult> result = billingService.payBills(List.of(9L));
+
+        // Then
+        assertEquals(List.of(new PaymentResult(9L, PaymentResult.Outcome.MISSING)), result);
+        verify(billRepository, never()).markAllPaid(any());
+    }
+
+    // What Hibernate raises for a MySQL duplicate key, as translated by Spring
+    private static DataIntegrityViolationException duplicate(String constraint) {
+        SQLException sql = new SQLException("Duplicate entry '1' for key 'bill." + constraint + "'", "23000", 1062);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sql, constraint));
     }
 }
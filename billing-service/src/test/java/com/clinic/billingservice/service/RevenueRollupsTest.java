@@ -0,0 +1,223 @@
+package com.clinic.billingservice.service;
+
+import com.clinic.billingservice.entity.Bill;
+import com.clinic.billingservice.entity.RevenueRollup;
+import com.clinic.billingservice.model.BillFacts;
+import com.clinic.billingservice.model.BillTotals;
+import com.clinic.billingservice.model.RevenueSummary;
+import com.clinic.billingservice.model.RollupCheck;
+import com.clinic.billingservice.repository.BillRepository;
+import com.clinic.billingservice.repository.RevenueRollupRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RevenueRollups
+ * Tests rollup deltas for bill changes, summaries before and after the
+ * first verify, and the drift check
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Revenue Rollups Tests")
+class RevenueRollupsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 17);
+
+    @Mock
+    private RevenueRollupRepository rollupRepository;
+
+    @Mock
+    private BillRepository billRepository;
+
+    @InjectMocks
+    private RevenueRollups rollups;
+
+    @Test
+    @DisplayName("Should add new bills to the day, patient and total rows in a fixed order")
+    void testBilled() {
+        // When
+        rollups.billed(List.of(bill(1L, 7L, 500.0, "UNPAID"), bill(2L, 7L, 120.25, "UNPAID")));
+
+        // Then
+        InOrder order = inOrder(rollupRepository);
+        order.verify(rollupRepository).add("day", "2026-10-17", 2, 62025, 0, 0);
+        order.verify(rollupRepository).add("patient", "7", 2, 62025, 0, 0);
+        order.verify(rollupRepository).add("total", "all", 2, 62025, 0, 0);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    @DisplayName("Should move a settled bill's amount into paid")
+    void testPaid() {
+        // When
+        rollups.paid(List.of(bill(1L, 7L, 500.0, "PAID")));
+
+        // Then
+        verify(rollupRepository).add("day", "2026-10-17", 0, 0, 1, 50000);
+        verify(rollupRepository).add("patient", "7", 0, 0, 1, 50000);
+        verify(rollupRepository).add("total", "all", 0, 0, 1, 50000);
+    }
+
+    @Test
+    @DisplayName("Should subtract a deleted paid bill from billed and paid")
+    void testRemoved() {
+        // When
+        rollups.removed(bill(1L, 7L, 500.0, "PAID"));
+
+        // Then
+        verify(rollupRepository).add("day", "2026-10-17", -1, -50000, -1, -50000);
+        verify(rollupRepository).add("patient", "7", -1, -50000, -1, -50000);
+        verify(rollupRepository).add("total", "all", -1, -50000, -1, -50000);
+    }
+
+    @Test
+    @DisplayName("Should leave bills without a billing date out of the daily rows")
+    void testBilled_NoDate() {
+        // Given
+        Bill legacy = bill(1L, 7L, 500.0, "UNPAID");
+        legacy.setBilledOn(null);
+
+        // When
+        rollups.billed(List.of(legacy));
+
+        // Then
+        verify(rollupRepository, never()).add(eq("day"), anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+        verify(rollupRepository).add("patient", "7", 1, 50000, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should split a summary into paid and unpaid")
+    void testSummary() {
+        // Given
+        RevenueRollup rollup = new RevenueRollup("patient", "7");
+        rollup.add(3, 150000, 1, 50000);
+        when(rollupRepository.findById(new RevenueRollup.Key("patient", "7"))).thenReturn(Optional.of(rollup));
+        rollups.verify();
+
+        // When
+        RevenueSummary result = rollups.forPatient(7L);
+
+        // Then
+        assertEquals(3, result.bills());
+        assertEquals(new BigDecimal("1500.00"), result.billed());
+        assertEquals(1, result.paidBills());
+        assertEquals(2, result.unpaidBills());
+        assertEquals(new BigDecimal("1000.00"), result.unpaid());
+    }
+
+    @Test
+    @DisplayName("Should return zero totals for a bucket with no bills")
+    void testSummary_Empty() {
+        // Given
+        when(rollupRepository.findById(any())).thenReturn(Optional.empty());
+        rollups.verify();
+
+        // When
+        RevenueSummary result = rollups.forDay(DAY);
+
+        // Then
+        assertEquals("2026-10-17", result.bucket());
+        assertEquals(0, result.bills());
+        assertEquals(new BigDecimal("0.00"), result.billed());
+    }
+
+    @Test
+    @DisplayName("Should sum summaries from the bills until the rollups are verified")
+    void testSummary_BeforeVerify() {
+        // Given
+        when(billRepository.totalsByStatus()).thenReturn(List.of(
+                new BillTotals("PAID", 1L, 500.0),
+                new BillTotals("UNPAID", 2L, 620.25)));
+
+        // When
+        RevenueSummary result = rollups.total();
+
+        // Then
+        assertFalse(rollups.isVerified());
+        assertEquals("all", result.bucket());
+        assertEquals(3, result.bills());
+        assertEquals(new BigDecimal("1120.25"), result.billed());
+        assertEquals(1, result.paidBills());
+        assertEquals(new BigDecimal("500.00"), result.paid());
+        verify(rollupRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should sum daily summaries from the bills until the rollups are verified")
+    void testDaily_BeforeVerify() {
+        // Given
+        when(billRepository.totalsByDayAndStatus(DAY, DAY.plusDays(1))).thenReturn(List.of(
+                new BillTotals(DAY, "PAID", 1L, 500.0),
+                new BillTotals(DAY, "UNPAID", 1L, 500.0),
+                new BillTotals(DAY.plusDays(1), "UNPAID", 1L, 120.25)));
+
+        // When
+        List<RevenueSummary> result = rollups.daily(DAY, DAY.plusDays(1));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("2026-10-17", result.get(0).bucket());
+        assertEquals(2, result.get(0).bills());
+        assertEquals(1, result.get(0).paidBills());
+        assertEquals(new BigDecimal("120.25"), result.get(1).unpaid());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    @DisplayName("Should correct drifted rollups by the difference only")
+    void testVerify() {
+        // Given
+        when(billRepository.streamFacts()).thenReturn(Stream.of(
+                new BillFacts(1L, 7L, DAY, 500.0, "PAID"),
+                new BillFacts(2L, 8L, DAY, 500.0, "UNPAID")));
+
+        RevenueRollup total = new RevenueRollup("total", "all");
+        total.add(2, 100000, 1, 50000);
+        RevenueRollup day = new RevenueRollup("day", "2026-10-17");
+        day.add(2, 100000, 1, 50000);
+        RevenueRollup patient7 = new RevenueRollup("patient", "7");
+        patient7.add(1, 50000, 0, 0);
+        RevenueRollup stale = new RevenueRollup("patient", "9");
+        stale.add(1, 50000, 0, 0);
+        when(rollupRepository.findAll()).thenReturn(List.of(total, day, patient7, stale));
+
+        // When
+        RollupCheck result = rollups.verify();
+
+        // Then
+        assertTrue(rollups.isVerified());
+        assertEquals(5, result.buckets());
+        assertEquals(3, result.corrected());
+        verify(rollupRepository).add("patient", "7", 0, 0, 1, 50000);
+        verify(rollupRepository).add("patient", "8", 1, 50000, 0, 0);
+        verify(rollupRepository).add("patient", "9", -1, -50000, 0, 0);
+        verify(rollupRepository, never()).add(eq("total"), anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    private static Bill bill(Long id, Long patientId, Double amount, String status) {
+        Bill bill = new Bill();
+        bill.setId(id);
+        bill.setPatientId(patientId);
+        bill.setAmount(amount);
+        bill.setStatus(status);
+        bill.setBilledOn(DAY);
+        return bill;
+    }
+}
@@ -1,57 +1,257 @@
 package com.clinic.doctorservice.controller;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.clinic.doctorservice.config.ReplicaRead;
 import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.event.DoctorChangePublisher;
+import com.clinic.doctorservice.event.DoctorFeed;
+import com.clinic.doctorservice.exception.InvalidPatchException;
+import com.clinic.doctorservice.exception.PreconditionFailedException;
+import com.clinic.doctorservice.model.DoctorPatch;
+import com.clinic.doctorservice.model.DoctorSummary;
+import com.clinic.doctorservice.model.SparseFields;
 import com.clinic.doctorservice.repository.DoctorRepository;
+import com.clinic.doctorservice.repository.RosterOverrideRepository;
+import com.clinic.doctorservice.repository.RosterShiftRepository;
+import com.clinic.doctorservice.search.DoctorIndex;
+import com.clinic.doctorservice.search.RosterIndex;
 
 @RestController
 @RequestMapping("/doctors")
 public class DoctorController {
 
     private final DoctorRepository repo;
+    private final RosterShiftRepository shifts;
+    private final RosterOverrideRepository overrides;
+    private final DoctorChangePublisher changes;
+    private final DoctorIndex index;
+    private final RosterIndex rosterIndex;
+    private final DoctorFeed feed;
+    private final TransactionTemplate tx;
 
-    public DoctorController(DoctorRepository repo) {
+    public DoctorController(DoctorRepository repo,
+                            RosterShiftRepository shifts,
+                            RosterOverrideRepository overrides,
+                            DoctorChangePublisher changes,
+                            DoctorIndex index,
+                            RosterIndex rosterIndex,
+                            DoctorFeed feed,
+                            TransactionTemplate tx) {
         this.repo = repo;
+        this.shifts = shifts;
+        this.overrides = overrides;
+        this.changes = changes;
+        this.index = index;
+        this.rosterIndex = rosterIndex;
+        this.feed = feed;
+        this.tx = tx;
     }
 
     // CREATE
     @PostMapping
     public Doctor addDoctor(@RequestBody Doctor doctor) {
-        return repo.save(doctor);
+        Doctor saved = repo.save(doctor);
+        index.put(saved);
+        feed.doctorChanged(DoctorSummary.of(saved));
+        return saved;
     }
 
-    // READ ALL
+    // READ ALL (list DTOs, not entities; fields=id,name trims each object to those properties)
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @GetMapping
-    public List<Doctor> getAllDoctors() {
-        return repo.findAll();
+    public MappingJacksonValue getAllDoctors(@RequestParam(required = false) String specialization,
+                                             @RequestParam(required = false) Boolean available,
+                                             @RequestParam(required = false) String fields) {
+        Set<String> selected = SparseFields.parse(fields, DoctorSummary.FIELDS);
+        if (specialization == null && available == null) {
+            return SparseFields.filter(repo.findAllSummaries(), selected);
+        }
+        List<DoctorSummary> matches = index.find(specialization, available).stream()
+                .map(DoctorSummary::of)
+                .toList();
+        return SparseFields.filter(matches, selected);
+    }
+
+    // CHANGE FEED (Server-Sent Events: one event per committed create, update or delete)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return feed.subscribe();
+    }
+
+    // READ MANY BY ID
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    @GetMapping(params = "ids")
+    public MappingJacksonValue getDoctorsByIds(@RequestParam List<Long> ids,
+                                               @RequestParam(required = false) String fields) {
+        Set<String> selected = SparseFields.parse(fields, DoctorSummary.FIELDS);
+        return SparseFields.filter(repo.findSummariesByIdIn(ids), selected);
     }
 
     // READ ONE
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public Doctor getDoctor(@PathVariable Long id) {
-        return repo.findById(id)
+    public ResponseEntity<Doctor> getDoctor(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Revalidation only needs the version column, not the whole row
+        if (ifNoneMatch != null) {
+            long version = repo.findVersionById(id)
+                    .orElseThrow(() -> new RuntimeException("Doctor not found"));
+            if (matches(ifNoneMatch, version, true)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+            }
+        }
+
+        Doctor doctor = repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        return ResponseEntity.ok().eTag(eTag(doctor.getVersion())).body(doctor);
     }
 
     // UPDATE
     @PutMapping("/{id}")
-    public Doctor updateDoctor(@PathVariable Long id, @RequestBody Doctor updated) {
+    public ResponseEntity<Doctor> updateDoctor(@PathVariable Long id, @RequestBody Doctor updated,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Doctor doctor = repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        if (ifMatch != null && !matches(ifMatch, doctor.getVersion(), false)) {
+            throw new PreconditionFailedException("Doctor " + id + " has changed; current ETag is " + eTag(doctor.getVersion()));
+        }
 
         doctor.setName(updated.getName());
         doctor.setSpecialization(updated.getSpecialization());
         doctor.setAvailable(updated.isAvailable());
 
-        return repo.save(doctor);
+        Doctor saved = repo.save(doctor);
+        index.put(saved);
+        changes.doctorChanged(id);
+        feed.doctorChanged(DoctorSummary.of(saved));
+        return ResponseEntity.ok().eTag(eTag(saved.getVersion())).body(saved);
     }
 
-    // DELETE
+    // UPDATE SOME FIELDS (one UPDATE of the supplied columns, no read first; the row is read back for the event)
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchDoctor(@PathVariable Long id, @RequestBody DoctorPatch patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (patch.isEmpty()) {
+            throw new InvalidPatchException("No fields to update");
+        }
+        if (patch.getName() != null && patch.getName().isBlank()) {
+            throw new InvalidPatchException("name must not be blank");
+        }
+        Long expectedVersion = expectedVersion(id, ifMatch);
+
+        // The read back costs one primary-key SELECT on top of the UPDATE. Taking the state from the index
+        // instead would mean guessing the version, and the feed and the ETag must carry the one this patch wrote
+        DoctorSummary patched = tx.execute(status -> {
+            if (repo.patch(id, patch, expectedVersion) == 0) {
+                // Only failures pay for a second query, to tell a missing doctor from a stale one
+                long version = repo.findVersionById(id)
+                        .orElseThrow(() -> new RuntimeException("Doctor not found"));
+                throw new PreconditionFailedException("Doctor " + id + " has changed; current ETag is " + eTag(version));
+            }
+            return repo.findSummaryById(id)
+                    .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        });
+        index.put(patched);
+        changes.doctorChanged(id);
+        feed.doctorChanged(patched);
+        return ResponseEntity.noContent().eTag(eTag(patched.version())).build();
+    }
+
+    // DELETE (the doctor's shifts and overrides go with it, so no roster is left for a doctor who is gone)
     @DeleteMapping("/{id}")
     public void deleteDoctor(@PathVariable Long id) {
-        repo.deleteById(id);
+        tx.executeWithoutResult(status -> {
+            shifts.deleteByDoctorId(id);
+            overrides.deleteByDoctorId(id);
+            repo.deleteById(id);
+        });
+        index.remove(id);
+        rosterIndex.remove(id);
+        changes.doctorChanged(id);
+        feed.doctorDeleted(id);
+    }
+
+    /**
+     * The version the conditional update must find, or null for no If-Match
+     * or "*". A list naming several versions is checked against the current
+     * one, which the update then still requires.
+     */
+    private Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<String> tags = tags(ifMatch);
+        if (tags.contains("*")) {
+            return null;
+        }
+        if (tags.size() == 1 && version(tags.get(0)) != null) {
+            return version(tags.get(0));
+        }
+        long version = repo.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Doctor not found"));
+        if (!matches(ifMatch, version, false)) {
+            throw new PreconditionFailedException("Doctor " + id + " has changed; current ETag is " + eTag(version));
+        }
+        return version;
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * True when any tag in an If-Match / If-None-Match list names this
+     * version. If-None-Match uses the weak comparison, which ignores a W/
+     * prefix; If-Match uses the strong one, which no weak tag ever passes
+     * (RFC 9110 section 13.1.1).
+     */
+    private static boolean matches(String header, long version, boolean weak) {
+        String current = eTag(version);
+        for (String tag : tags(header)) {
+            if (weak && tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The entity tags of a header list, as sent
+    private static List<String> tags(String header) {
+        List<String> tags = new ArrayList<>();
+        for (String tag : header.split(",")) {
+            tags.add(tag.trim());
+        }
+        return tags;
+    }
+
+    // The version a tag names, or null when it is not one of ours
+    private static Long version(String tag) {
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,140 @@
+package com.clinic.doctorservice.controller;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.*;
+
+import com.clinic.doctorservice.config.ReplicaRead;
+import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.entity.RosterOverride;
+import com.clinic.doctorservice.entity.RosterShift;
+import com.clinic.doctorservice.exception.InvalidRosterException;
+import com.clinic.doctorservice.model.DoctorRoster;
+import com.clinic.doctorservice.model.FreeWindow;
+import com.clinic.doctorservice.repository.DoctorRepository;
+import com.clinic.doctorservice.repository.RosterOverrideRepository;
+import com.clinic.doctorservice.repository.RosterShiftRepository;
+import com.clinic.doctorservice.search.DoctorIndex;
+import com.clinic.doctorservice.search.RosterIndex;
+
+@RestController
+@RequestMapping("/doctors")
+public class RosterController {
+
+    private final DoctorRepository doctors;
+    private final RosterShiftRepository shifts;
+    private final RosterOverrideRepository overrides;
+    private final DoctorIndex doctorIndex;
+    private final RosterIndex rosterIndex;
+    private final TransactionTemplate tx;
+    private final Duration searchHorizon;
+
+    public RosterController(DoctorRepository doctors,
+                            RosterShiftRepository shifts,
+                            RosterOverrideRepository overrides,
+                            DoctorIndex doctorIndex,
+                            RosterIndex rosterIndex,
+                            TransactionTemplate tx,
+                            @Value("${clinic.roster.search-horizon:28d}") Duration searchHorizon) {
+        this.doctors = doctors;
+        this.shifts = shifts;
+        this.overrides = overrides;
+        this.doctorIndex = doctorIndex;
+        this.rosterIndex = rosterIndex;
+        this.tx = tx;
+        this.searchHorizon = searchHorizon;
+    }
+
+    // WHO IS FREE (available doctors rostered on at the given time, answered from the indexes)
+    @GetMapping("/free")
+    public List<Doctor> getFreeDoctors(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+                                       @RequestParam(required = false) String specialization) {
+        return doctorIndex.find(specialization, true).stream()
+                .filter(doctor -> rosterIndex.isOnDuty(doctor.getId(), at))
+                .toList();
+    }
+
+    // NEXT FREE WINDOW (204 when nothing of that length falls within the search horizon)
+    @GetMapping("/{id}/next-free")
+    public ResponseEntity<FreeWindow> getNextFreeWindow(@PathVariable Long id,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                        @RequestParam(defaultValue = "15") int minutes) {
+        if (minutes < 1) {
+            throw new InvalidRosterException("minutes must be at least 1");
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return rosterIndex.nextFreeWindow(id, start, Duration.ofMinutes(minutes), searchHorizon)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    // READ ROSTER
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    @GetMapping("/{id}/roster")
+    public DoctorRoster getRoster(@PathVariable Long id) {
+        requireDoctor(id);
+        return new DoctorRoster(id, shifts.findByDoctorId(id), overrides.findByDoctorId(id));
+    }
+
+    // REPLACE WEEKLY SHIFTS
+    @PutMapping("/{id}/roster/shifts")
+    public List<RosterShift> replaceShifts(@PathVariable Long id, @RequestBody List<RosterShift> weekly) {
+        requireDoctor(id);
+        for (RosterShift shift : weekly) {
+            if (shift.getDayOfWeek() == null || shift.getStartTime() == null || shift.getEndTime() == null) {
+                throw new InvalidRosterException("dayOfWeek, startTime and endTime are required");
+            }
+            shift.setId(null);
+            shift.setDoctorId(id);
+        }
+
+        List<RosterShift> saved = tx.execute(status -> {
+            shifts.deleteByDoctorId(id);
+            return shifts.saveAll(weekly);
+        });
+        rosterIndex.reload(id);
+        return saved;
+    }
+
+    // ADD OVERRIDE (leave when working is false, extra hours when true)
+    @PostMapping("/{id}/roster/overrides")
+    public RosterOverride addOverride(@PathVariable Long id, @RequestBody RosterOverride override) {
+        requireDoctor(id);
+        if (override.getStartsAt() == null || override.getEndsAt() == null) {
+            throw new InvalidRosterException("startsAt and endsAt are required");
+        }
+        if (!override.getEndsAt().isAfter(override.getStartsAt())) {
+            throw new InvalidRosterException("endsAt must be after startsAt");
+        }
+        override.setId(null);
+        override.setDoctorId(id);
+
+        RosterOverride saved = overrides.save(override);
+        rosterIndex.reload(id);
+        return saved;
+    }
+
+    // DELETE OVERRIDE
+    @DeleteMapping("/{id}/roster/overrides/{overrideId}")
+    public void deleteOverride(@PathVariable Long id, @PathVariable Long overrideId) {
+        RosterOverride override = overrides.findById(overrideId)
+                .filter(found -> found.getDoctorId().equals(id))
+                .orElseThrow(() -> new RuntimeException("Roster override not found"));
+        overrides.delete(override);
+        rosterIndex.reload(id);
+    }
+
+    private void requireDoctor(Long id) {
+        if (!doctors.existsById(id)) {
+            throw new RuntimeException("Doctor not found");
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package com.clinic.doctorservice.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "doctor")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Doctor.CACHE_REGION)
+@DynamicUpdate
 public class Doctor {
 
+    public static final String CACHE_REGION = "doctors";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -14,15 +25,23 @@ public class Doctor {
     private String specialization;
     private boolean available;
 
+    // Bumped on every update; sent as the ETag and checked against If-Match
+    @Version
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
     public Doctor() {}
 
     public Long getId() { return id; }
     public String getName() { return name; }
     public String getSpecialization() { return specialization; }
     public boolean isAvailable() { return available; }
+    public long getVersion() { return version; }
 
     public void setId(Long id) { this.id = id; }
     public void setName(String name) { this.name = name; }
     public void setSpecialization(String specialization) { this.specialization = specialization; }
     public void setAvailable(boolean available) { this.available = available; }
+    public void setVersion(long version) { this.version = version; }
 }
@@ -0,0 +1,42 @@
+package com.clinic.doctorservice.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * A dated exception to the weekly roster: leave or a closure when
+ * working is false, extra hours when it is true. Leave wins where the
+ * two overlap.
+ */
+@Entity
+@Table(name = "roster_override",
+       indexes = @Index(name = "idx_roster_override_doctor_id", columnList = "doctorId"))
+public class RosterOverride {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long doctorId;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private boolean working;
+    private String reason;
+
+    public RosterOverride() {}
+
+    public Long getId() { return id; }
+    public Long getDoctorId() { return doctorId; }
+    public LocalDateTime getStartsAt() { return startsAt; }
+    public LocalDateTime getEndsAt() { return endsAt; }
+    public boolean isWorking() { return working; }
+    public String getReason() { return reason; }
+
+    public void setId(Long id) { this.id = id; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+    public void setStartsAt(LocalDateTime startsAt) { this.startsAt = startsAt; }
+    public void setEndsAt(LocalDateTime endsAt) { this.endsAt = endsAt; }
+    public void setWorking(boolean working) { this.working = working; }
+    public void setReason(String reason) { this.reason = reason; }
+}
@@ -0,0 +1,42 @@
+package com.clinic.doctorservice.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import jakarta.persistence.*;
+
+/**
+ * A weekly recurring working period. An end time at or before the start
+ * time means the shift runs past midnight into the next day.
+ */
+@Entity
+@Table(name = "roster_shift",
+       indexes = @Index(name = "idx_roster_shift_doctor_id", columnList = "doctorId"))
+public class RosterShift {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long doctorId;
+
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    public RosterShift() {}
+
+    public Long getId() { return id; }
+    public Long getDoctorId() { return doctorId; }
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public LocalTime getStartTime() { return startTime; }
+    public LocalTime getEndTime() { return endTime; }
+
+    public void setId(Long id) { this.id = id; }
+    public void setDoctorId(Long doctorId) { this.doctorId = doctorId; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+}
@@ -0,0 +1,191 @@
+package com.clinic.doctorservice.event;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.clinic.doctorservice.exception.FeedFullException;
+import com.clinic.doctorservice.model.DoctorSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans doctor changes out to every open GET /doctors/stream connection as
+ * Server-Sent Events. An event is encoded once and queued for each
+ * subscriber in a small bounded buffer, drained by that subscriber's own
+ * virtual thread, so publishing never waits on a socket. A subscriber that
+ * falls a whole buffer behind is disconnected rather than sent a gappy
+ * feed; its EventSource reconnects and reloads the list.
+ */
+@Component
+public class DoctorFeed {
+
+    public static final String CHANGED = "doctor";
+    public static final String DELETED = "doctor-deleted";
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorFeed.class);
+
+    private final ObjectWriter writer;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter dropped;
+
+    @Autowired
+    public DoctorFeed(ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      @Value("${clinic.doctors.stream.buffer-size:32}") int bufferSize,
+                      @Value("${clinic.doctors.stream.max-subscribers:1000}") int maxSubscribers,
+                      @Value("${clinic.doctors.stream.timeout:30m}") Duration timeout,
+                      @Value("${clinic.doctors.stream.heartbeat:15s}") Duration heartbeat) {
+        this(objectMapper, meterRegistry, bufferSize, maxSubscribers, timeout, heartbeat,
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    DoctorFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry, int bufferSize, int maxSubscribers,
+               Duration timeout, Duration heartbeat, ExecutorService senders) {
+        // List DTOs carry a fields= filter; the feed always writes every property
+        this.writer = objectMapper.writer(new SimpleFilterProvider().setFailOnUnknownId(false));
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.senders = senders;
+        this.dropped = Counter.builder("clinic.doctors.stream.dropped")
+                .description("Subscribers disconnected for falling a full buffer behind")
+                .register(meterRegistry);
+        meterRegistry.gauge("clinic.doctors.stream.subscribers", subscribers, Set::size);
+
+        // Keeps idle connections open through proxies and finds clients that have gone away
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "doctor-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = heartbeat.toMillis();
+        heartbeats.scheduleAtFixedRate(() -> publish(SseEmitter.event().comment("heartbeat")),
+                period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new FeedFullException("Doctor feed is at its limit of " + maxSubscribers + " subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public void doctorChanged(DoctorSummary doctor) {
+        publish(SseEmitter.event().name(CHANGED).data(json(doctor)));
+    }
+
+    public void doctorDeleted(Long id) {
+        publish(SseEmitter.event().name(DELETED).data(json(Map.of("id", id))));
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void publish(SseEmitter.SseEventBuilder event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> encoded = event.build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(encoded);
+        }
+    }
+
+    // Encoded once here rather than once per subscriber by the message converters
+    private String json(Object value) {
+        try {
+            return writer.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        senders.close();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (!buffer.offer(event)) {
+                log.info("Dropping a doctor feed subscriber that is {} events behind", bufferSize);
+                dropped.increment();
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    Set<DataWithMediaType> event;
+                    while ((event = buffer.poll()) != null) {
+                        emitter.send(event);
+                    }
+                    draining.set(false);
+                    // An event offered after the last poll but before the flag cleared is sent here
+                } while (!buffer.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                close();
+            }
+        }
+
+        void close() {
+            if (subscribers.remove(this)) {
+                buffer.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
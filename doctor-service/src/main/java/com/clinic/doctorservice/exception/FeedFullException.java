@@ -0,0 +1,11 @@
+package com.clinic.doctorservice.exception;
+
+/**
+ * The doctor feed already has as many subscribers as it is allowed.
+ */
+public class FeedFullException extends RuntimeException {
+
+    public FeedFullException(String message) {
+        super(message);
+    }
+}
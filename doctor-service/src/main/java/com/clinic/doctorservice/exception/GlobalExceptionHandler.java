@@ -2,6 +2,7 @@ package com.clinic.doctorservice.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -12,6 +13,28 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // A stale If-Match, or a concurrent update that won the race after the check
+    @ExceptionHandler({PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<String> handlePreconditionFailed(RuntimeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler({InvalidPatchException.class, InvalidRosterException.class, InvalidFieldsException.class})
+    public ResponseEntity<String> handleBadRequest(RuntimeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(FeedFullException.class)
+    public ResponseEntity<String> handleFeedFull(FeedFullException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
         return ResponseEntity
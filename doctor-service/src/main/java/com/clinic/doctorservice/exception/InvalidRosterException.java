@@ -0,0 +1,11 @@
+package com.clinic.doctorservice.exception;
+
+/**
+ * A shift or override whose times are missing or do not form a period.
+ */
+public class InvalidRosterException extends RuntimeException {
+
+    public InvalidRosterException(String message) {
+        super(message);
+    }
+}
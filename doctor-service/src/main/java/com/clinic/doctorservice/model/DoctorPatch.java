@@ -0,0 +1,41 @@
+package com.clinic.doctorservice.model;
+
+/**
+ * Fields to change on a doctor; a null field is left as it is.
+ */
+public class DoctorPatch {
+
+    private String name;
+    private String specialization;
+    private Boolean available;
+
+    public DoctorPatch() {}
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+
+    public Boolean getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Boolean available) {
+        this.available = available;
+    }
+
+    public boolean isEmpty() {
+        return name == null && specialization == null && available == null;
+    }
+}
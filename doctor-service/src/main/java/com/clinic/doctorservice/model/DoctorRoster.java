@@ -0,0 +1,48 @@
+package com.clinic.doctorservice.model;
+
+import java.util.List;
+
+import com.clinic.doctorservice.entity.RosterOverride;
+import com.clinic.doctorservice.entity.RosterShift;
+
+/**
+ * A doctor's weekly shifts and dated overrides, as stored.
+ */
+public class DoctorRoster {
+
+    private Long doctorId;
+    private List<RosterShift> shifts;
+    private List<RosterOverride> overrides;
+
+    public DoctorRoster() {}
+
+    public DoctorRoster(Long doctorId, List<RosterShift> shifts, List<RosterOverride> overrides) {
+        this.doctorId = doctorId;
+        this.shifts = shifts;
+        this.overrides = overrides;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public List<RosterShift> getShifts() {
+        return shifts;
+    }
+
+    public void setShifts(List<RosterShift> shifts) {
+        this.shifts = shifts;
+    }
+
+    public List<RosterOverride> getOverrides() {
+        return overrides;
+    }
+
+    public void setOverrides(List<RosterOverride> overrides) {
+        this.overrides = overrides;
+    }
+}
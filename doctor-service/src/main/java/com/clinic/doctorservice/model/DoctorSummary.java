@@ -0,0 +1,22 @@
+package com.clinic.doctorservice.model;
+
+import java.util.Set;
+
+import com.clinic.doctorservice.entity.Doctor;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * A doctor as listed: built straight from a constructor-expression query
+ * (or from the filter index's copies), so list reads never create managed
+ * entities, dirty-checking snapshots or second-level cache entries.
+ */
+@JsonFilter(SparseFields.FILTER)
+public record DoctorSummary(Long id, String name, String specialization, boolean available, long version) {
+
+    public static final Set<String> FIELDS = SparseFields.of(DoctorSummary.class);
+
+    public static DoctorSummary of(Doctor doctor) {
+        return new DoctorSummary(doctor.getId(), doctor.getName(), doctor.getSpecialization(),
+                doctor.isAvailable(), doctor.getVersion());
+    }
+}
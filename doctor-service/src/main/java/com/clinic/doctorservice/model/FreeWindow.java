@@ -0,0 +1,45 @@
+package com.clinic.doctorservice.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * An unbroken period in which a doctor is rostered on and not on leave.
+ */
+public class FreeWindow {
+
+    private Long doctorId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    public FreeWindow() {}
+
+    public FreeWindow(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        this.doctorId = doctorId;
+        this.start = start;
+        this.end = end;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+    }
+}
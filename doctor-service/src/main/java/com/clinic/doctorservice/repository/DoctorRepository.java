@@ -1,7 +1,28 @@
 package com.clinic.doctorservice.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.model.DoctorSummary;
+
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, DoctorRepositoryCustom {
+
+    @Query("select d.version from Doctor d where d.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.clinic.doctorservice.model.DoctorSummary(d.id, d.name, d.specialization, d.available, d.version) "
+            + "from Doctor d order by d.id")
+    List<DoctorSummary> findAllSummaries();
+
+    @Query("select new com.clinic.doctorservice.model.DoctorSummary(d.id, d.name, d.specialization, d.available, d.version) "
+            + "from Doctor d where d.id = :id")
+    Optional<DoctorSummary> findSummaryById(Long id);
 
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+    @Query("select new com.clinic.doctorservice.model.DoctorSummary(d.id, d.name, d.specialization, d.available, d.version) "
+            + "from Doctor d where d.id in :ids order by d.id")
+    List<DoctorSummary> findSummariesByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,13 @@
+package com.clinic.doctorservice.repository;
+
+import com.clinic.doctorservice.model.DoctorPatch;
+
+public interface DoctorRepositoryCustom {
+
+    /**
+     * Applies the supplied fields and bumps the version in one UPDATE, without
+     * reading the row first. With an expected version the row only changes if
+     * it still has that version. Returns the number of rows changed (0 or 1).
+     */
+    int patch(Long id, DoctorPatch patch, Long expectedVersion);
+}
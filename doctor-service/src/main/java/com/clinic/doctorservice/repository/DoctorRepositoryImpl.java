@@ -0,0 +1,75 @@
+package com.clinic.doctorservice.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.model.DoctorPatch;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Partial updates as a single JDBC UPDATE. A Hibernate bulk update would
+ * invalidate the whole second-level cache region; here only the patched
+ * doctor is evicted, and only after commit.
+ */
+public class DoctorRepositoryImpl implements DoctorRepositoryCustom {
+
+    private final JdbcTemplate jdbc;
+    private final Cache entityCache;
+
+    public DoctorRepositoryImpl(JdbcTemplate jdbc, EntityManagerFactory entityManagerFactory) {
+        this.jdbc = jdbc;
+        this.entityCache = entityManagerFactory.getCache();
+    }
+
+    @Override
+    public int patch(Long id, DoctorPatch patch, Long expectedVersion) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (patch.getName() != null) {
+            assignments.add("name = ?");
+            args.add(patch.getName());
+        }
+        if (patch.getSpecialization() != null) {
+            assignments.add("specialization = ?");
+            args.add(patch.getSpecialization());
+        }
+        if (patch.getAvailable() != null) {
+            assignments.add("available = ?");
+            args.add(patch.getAvailable());
+        }
+        assignments.add("version = version + 1");
+
+        String sql = "update doctor set " + String.join(", ", assignments) + " where id = ?";
+        args.add(id);
+        if (expectedVersion != null) {
+            sql += " and version = ?";
+            args.add(expectedVersion);
+        }
+        int updated = jdbc.update(sql, args.toArray());
+        if (updated > 0) {
+            evictAfterCommit(id);
+        }
+        return updated;
+    }
+
+    // A reader that loads the row before commit sees the old version; evicting later stops it staying cached
+    private void evictAfterCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityCache.evict(Doctor.class, id);
+                }
+            });
+        } else {
+            entityCache.evict(Doctor.class, id);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.clinic.doctorservice.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.clinic.doctorservice.entity.RosterOverride;
+
+public interface RosterOverrideRepository extends JpaRepository<RosterOverride, Long> {
+
+    List<RosterOverride> findByDoctorId(Long doctorId);
+
+    @Modifying
+    @Query("delete from RosterOverride o where o.doctorId = :doctorId")
+    int deleteByDoctorId(Long doctorId);
+}
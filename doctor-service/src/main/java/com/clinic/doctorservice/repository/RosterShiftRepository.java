@@ -0,0 +1,18 @@
+package com.clinic.doctorservice.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.clinic.doctorservice.entity.RosterShift;
+
+public interface RosterShiftRepository extends JpaRepository<RosterShift, Long> {
+
+    List<RosterShift> findByDoctorId(Long doctorId);
+
+    @Modifying
+    @Query("delete from RosterShift s where s.doctorId = :doctorId")
+    int deleteByDoctorId(Long doctorId);
+}
@@ -0,0 +1,241 @@
+package com.clinic.doctorservice.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.model.DoctorSummary;
+import com.clinic.doctorservice.repository.DoctorRepository;
+
+/**
+ * In-memory filter index over doctors. Each distinct specialization maps
+ * to a bitset of doctor ids and one more bitset marks the available
+ * doctors, so a filtered listing is a bitset intersection rather than a
+ * row scan. Each instance applies its own writes at once and picks up
+ * writes made through other instances with a periodic refresh. Entries
+ * carry the row version, so a write that arrives late never replaces a
+ * newer copy.
+ */
+@Component
+public class DoctorIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorIndex.class);
+
+    private final DoctorRepository repo;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doctor> doctors = new HashMap<>();
+    // Keyed by the trimmed, lower-cased name, so each specialization is stored once
+    private final Map<String, BitSet> bySpecialization = new HashMap<>();
+    private final BitSet available = new BitSet();
+    private final BitSet all = new BitSet();
+    // Ids too large for a bit; matched by a scan, which in practice never has anything to do
+    private final Set<Long> unindexed = new TreeSet<>();
+    // Deleted ids, so a refresh that read the row just before the delete cannot bring it back
+    private final Set<Long> deleted = new HashSet<>();
+
+    public DoctorIndex(DoctorRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Brings the index in line with the doctor table: rows with a newer
+     * version than the indexed copy replace it, and doctors that are gone
+     * from the table are dropped. Only the listed columns are read, and
+     * entries that have not changed are left alone. Deleted ids the read
+     * no longer returns are forgotten, since no later read can return them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${clinic.doctors.index-refresh:PT30S}",
+               initialDelayString = "${clinic.doctors.index-refresh:PT30S}")
+    public void refresh() {
+        // Ids indexed before the read; anything added after it was committed after it too
+        Set<Long> before;
+        Set<Long> tombstones;
+        lock.readLock().lock();
+        try {
+            before = new HashSet<>(doctors.keySet());
+            tombstones = new HashSet<>(deleted);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int changed = 0;
+        Set<Long> present = new HashSet<>();
+        for (DoctorSummary row : repo.findAllSummaries()) {
+            present.add(row.id());
+            if (put(row)) {
+                changed++;
+            }
+        }
+        before.removeAll(present);
+        before.forEach(this::remove);
+        tombstones.removeAll(present);
+        forget(tombstones);
+        log.debug("Doctor index refreshed: {} doctors, {} changed, {} removed", present.size(), changed, before.size());
+    }
+
+    public void put(Doctor doctor) {
+        put(DoctorSummary.of(doctor));
+    }
+
+    // False when the index already has this version or a newer one
+    public boolean put(DoctorSummary row) {
+        Doctor copy = new Doctor();
+        copy.setId(row.id());
+        copy.setName(row.name());
+        copy.setSpecialization(row.specialization());
+        copy.setAvailable(row.available());
+        copy.setVersion(row.version());
+
+        lock.writeLock().lock();
+        try {
+            Doctor previous = doctors.get(copy.getId());
+            if (deleted.contains(copy.getId())
+                    || previous != null && (previous.getVersion() > copy.getVersion() || same(previous, copy))) {
+                return false;
+            }
+            doctors.put(copy.getId(), copy);
+            if (previous != null) {
+                unlink(previous);
+            }
+            link(copy);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            deleted.add(id);
+            Doctor previous = doctors.remove(id);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void forget(Set<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            deleted.removeAll(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The indexed copy, which reflects every write this instance has made
+    public Optional<Doctor> get(Long id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(doctors.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Doctors in id order matching every filter given; a null filter is
+     * ignored. Specializations compare case-insensitively.
+     */
+    public List<Doctor> find(String specialization, Boolean isAvailable) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) all.clone();
+            if (specialization != null) {
+                BitSet posting = bySpecialization.get(key(specialization));
+                if (posting == null) {
+                    return List.of();
+                }
+                matches.and(posting);
+            }
+            if (isAvailable != null) {
+                if (isAvailable) {
+                    matches.and(available);
+                } else {
+                    matches.andNot(available);
+                }
+            }
+
+            List<Doctor> results = new ArrayList<>(matches.cardinality());
+            for (int bit = matches.nextSetBit(0); bit >= 0; bit = matches.nextSetBit(bit + 1)) {
+                results.add(doctors.get((long) bit));
+            }
+            // Every unindexed id is above the int range, so these still come out in id order
+            for (Long id : unindexed) {
+                Doctor doctor = doctors.get(id);
+                if ((specialization == null || key(doctor.getSpecialization()).equals(key(specialization)))
+                        && (isAvailable == null || doctor.isAvailable() == isAvailable)) {
+                    results.add(doctor);
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(Doctor doctor) {
+        if (!fitsBit(doctor.getId())) {
+            unindexed.add(doctor.getId());
+            return;
+        }
+        int bit = doctor.getId().intValue();
+        bySpecialization.computeIfAbsent(key(doctor.getSpecialization()), k -> new BitSet()).set(bit);
+        available.set(bit, doctor.isAvailable());
+        all.set(bit);
+    }
+
+    private void unlink(Doctor doctor) {
+        if (!fitsBit(doctor.getId())) {
+            unindexed.remove(doctor.getId());
+            return;
+        }
+        int bit = doctor.getId().intValue();
+        String key = key(doctor.getSpecialization());
+        BitSet posting = bySpecialization.get(key);
+        if (posting != null) {
+            posting.clear(bit);
+            if (posting.isEmpty()) {
+                bySpecialization.remove(key);
+            }
+        }
+        available.clear(bit);
+        all.clear(bit);
+    }
+
+    private static String key(String specialization) {
+        return specialization == null ? "" : specialization.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean fitsBit(Long id) {
+        return id >= 0 && id <= Integer.MAX_VALUE;
+    }
+
+    private static boolean same(Doctor a, Doctor b) {
+        return a.getVersion() == b.getVersion() && a.isAvailable() == b.isAvailable()
+                && Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getSpecialization(), b.getSpecialization());
+    }
+}
@@ -0,0 +1,306 @@
+package com.clinic.doctorservice.search;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.clinic.doctorservice.entity.RosterOverride;
+import com.clinic.doctorservice.entity.RosterShift;
+import com.clinic.doctorservice.model.FreeWindow;
+import com.clinic.doctorservice.repository.RosterOverrideRepository;
+import com.clinic.doctorservice.repository.RosterShiftRepository;
+
+/**
+ * In-memory index of doctor rosters. Each doctor's shifts and overrides
+ * are flattened into sorted arrays of merged [start, end) minute
+ * intervals, so "on duty at T" is a few binary searches and the next free
+ * window is a walk over neighbouring intervals. Schedules are immutable
+ * and swapped whole when a roster changes, so reads take no lock. Times
+ * are clinic-local; each instance rebuilds its copy at startup.
+ */
+@Component
+public class RosterIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RosterIndex.class);
+
+    static final long MINUTES_PER_DAY = 24 * 60;
+    static final long MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    // Epoch minute 0 is a Thursday; shifting by three days puts Monday 00:00 at minute-of-week 0
+    private static final long WEEK_ORIGIN = 3 * MINUTES_PER_DAY;
+
+    private final RosterShiftRepository shifts;
+    private final RosterOverrideRepository overrides;
+    private final Map<Long, Schedule> schedules = new ConcurrentHashMap<>();
+
+    public RosterIndex(RosterShiftRepository shifts, RosterOverrideRepository overrides) {
+        this.shifts = shifts;
+        this.overrides = overrides;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, List<RosterShift>> shiftsByDoctor = shifts.findAll().stream()
+                .collect(Collectors.groupingBy(RosterShift::getDoctorId));
+        Map<Long, List<RosterOverride>> overridesByDoctor = overrides.findAll().stream()
+                .collect(Collectors.groupingBy(RosterOverride::getDoctorId));
+
+        Set<Long> doctorIds = new HashSet<>(shiftsByDoctor.keySet());
+        doctorIds.addAll(overridesByDoctor.keySet());
+        for (Long doctorId : doctorIds) {
+            put(doctorId, shiftsByDoctor.getOrDefault(doctorId, List.of()),
+                    overridesByDoctor.getOrDefault(doctorId, List.of()));
+        }
+        log.info("Roster index built for {} doctors", schedules.size());
+    }
+
+    // Re-reads one doctor's roster after it has been changed and committed; read-write so the
+    // finders go to the primary, where a replica may not have the change yet
+    @Transactional
+    public void reload(Long doctorId) {
+        put(doctorId, shifts.findByDoctorId(doctorId), overrides.findByDoctorId(doctorId));
+    }
+
+    public void put(Long doctorId, List<RosterShift> doctorShifts, List<RosterOverride> doctorOverrides) {
+        Schedule schedule = Schedule.of(doctorShifts, doctorOverrides);
+        if (schedule.isEmpty()) {
+            schedules.remove(doctorId);
+        } else {
+            schedules.put(doctorId, schedule);
+        }
+    }
+
+    public void remove(Long doctorId) {
+        schedules.remove(doctorId);
+    }
+
+    /**
+     * True when the doctor is rostered on at the given time, through a
+     * weekly shift or extra hours, and not on leave.
+     */
+    public boolean isOnDuty(Long doctorId, LocalDateTime at) {
+        Schedule schedule = schedules.get(doctorId);
+        return schedule != null && schedule.isOnDuty(minuteOf(at));
+    }
+
+    /**
+     * The first window of at least the given length that starts at or after
+     * {@code from} and before {@code from + horizon}. A window already under
+     * way at {@code from} is returned from {@code from}. The end is cut off
+     * at the horizon, so a doctor rostered round the clock still gets an
+     * answer.
+     */
+    public Optional<FreeWindow> nextFreeWindow(Long doctorId, LocalDateTime from, Duration length, Duration horizon) {
+        Schedule schedule = schedules.get(doctorId);
+        if (schedule == null) {
+            return Optional.empty();
+        }
+        long start = minuteOf(from);
+        long[] window = schedule.nextFreeWindow(start, start + horizon.toMinutes(), Math.max(1, length.toMinutes()));
+        if (window == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new FreeWindow(doctorId, timeOf(window[0]), timeOf(window[1])));
+    }
+
+    static long minuteOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    static LocalDateTime timeOf(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * One doctor's roster as merged, sorted [start, end) intervals. Weekly
+     * shifts are kept as minutes from Monday 00:00 and repeat every week;
+     * overrides are kept as epoch minutes.
+     */
+    static final class Schedule {
+
+        private final long[] weeklyStarts;
+        private final long[] weeklyEnds;
+        private final long[] extraStarts;
+        private final long[] extraEnds;
+        private final long[] leaveStarts;
+        private final long[] leaveEnds;
+
+        private Schedule(long[][] weekly, long[][] extra, long[][] leave) {
+            this.weeklyStarts = weekly[0];
+            this.weeklyEnds = weekly[1];
+            this.extraStarts = extra[0];
+            this.extraEnds = extra[1];
+            this.leaveStarts = leave[0];
+            this.leaveEnds = leave[1];
+        }
+
+        static Schedule of(List<RosterShift> shifts, List<RosterOverride> overrides) {
+            List<long[]> weekly = new ArrayList<>();
+            for (RosterShift shift : shifts) {
+                long start = (shift.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY
+                        + shift.getStartTime().toSecondOfDay() / 60;
+                long end = (shift.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY
+                        + shift.getEndTime().toSecondOfDay() / 60;
+                if (end <= start) {
+                    end += MINUTES_PER_DAY;
+                }
+                // A Sunday night shift wraps round to Monday morning
+                if (end > MINUTES_PER_WEEK) {
+                    weekly.add(new long[] {start, MINUTES_PER_WEEK});
+                    weekly.add(new long[] {0, end - MINUTES_PER_WEEK});
+                } else {
+                    weekly.add(new long[] {start, end});
+                }
+            }
+
+            List<long[]> extra = new ArrayList<>();
+            List<long[]> leave = new ArrayList<>();
+            for (RosterOverride override : overrides) {
+                long[] interval = {minuteOf(override.getStartsAt()), minuteOf(override.getEndsAt())};
+                if (interval[1] > interval[0]) {
+                    (override.isWorking() ? extra : leave).add(interval);
+                }
+            }
+            return new Schedule(merge(weekly), merge(extra), merge(leave));
+        }
+
+        boolean isEmpty() {
+            return weeklyStarts.length == 0 && extraStarts.length == 0;
+        }
+
+        boolean isOnDuty(long minute) {
+            long offset = Math.floorMod(minute + WEEK_ORIGIN, MINUTES_PER_WEEK);
+            boolean working = contains(weeklyStarts, weeklyEnds, offset)
+                    || contains(extraStarts, extraEnds, minute);
+            return working && !contains(leaveStarts, leaveEnds, minute);
+        }
+
+        long[] nextFreeWindow(long from, long limit, long length) {
+            long minute = from;
+            while (minute < limit) {
+                long[] working = workingAt(minute, limit);
+                if (working == null) {
+                    return null;
+                }
+                long start = Math.max(working[0], minute);
+                long end = working[1];
+                if (start >= limit) {
+                    return null;
+                }
+
+                int leave = locate(leaveStarts, leaveEnds, start);
+                if (leave < leaveStarts.length && leaveStarts[leave] <= start) {
+                    minute = leaveEnds[leave];
+                    continue;
+                }
+                if (leave < leaveStarts.length && leaveStarts[leave] < end) {
+                    end = leaveStarts[leave];
+                }
+                if (end - start >= length) {
+                    return new long[] {start, end};
+                }
+                minute = end;
+            }
+            return null;
+        }
+
+        // The working period (shifts plus extra hours, ignoring leave) containing the minute or next after it
+        private long[] workingAt(long minute, long limit) {
+            long[] first = earliest(weeklyAt(minute), extraAt(minute));
+            if (first == null) {
+                return null;
+            }
+            long end = first[1];
+            // Back-to-back or overlapping periods from either source run on as one
+            while (end < limit) {
+                long[] next = earliest(weeklyAt(end), extraAt(end));
+                if (next == null || next[0] > end) {
+                    break;
+                }
+                end = next[1];
+            }
+            return new long[] {first[0], Math.min(end, limit)};
+        }
+
+        private long[] weeklyAt(long minute) {
+            if (weeklyStarts.length == 0) {
+                return null;
+            }
+            long offset = Math.floorMod(minute + WEEK_ORIGIN, MINUTES_PER_WEEK);
+            long weekStart = minute - offset;
+            int i = locate(weeklyStarts, weeklyEnds, offset);
+            if (i == weeklyStarts.length) {
+                weekStart += MINUTES_PER_WEEK;
+                i = 0;
+            }
+            return new long[] {weekStart + weeklyStarts[i], weekStart + weeklyEnds[i]};
+        }
+
+        private long[] extraAt(long minute) {
+            int i = locate(extraStarts, extraEnds, minute);
+            return i == extraStarts.length ? null : new long[] {extraStarts[i], extraEnds[i]};
+        }
+
+        private static long[] earliest(long[] a, long[] b) {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            return a[0] <= b[0] ? a : b;
+        }
+
+        private static boolean contains(long[] starts, long[] ends, long minute) {
+            int i = locate(starts, ends, minute);
+            return i < starts.length && starts[i] <= minute;
+        }
+
+        // Index of the interval containing the minute, else of the first one after it (length when none)
+        private static int locate(long[] starts, long[] ends, long minute) {
+            int i = Arrays.binarySearch(starts, minute);
+            if (i >= 0) {
+                return i;
+            }
+            int before = -i - 2;
+            if (before >= 0 && ends[before] > minute) {
+                return before;
+            }
+            return before + 1;
+        }
+
+        // Sorts by start and joins overlapping or touching intervals, returning {starts, ends}
+        private static long[][] merge(List<long[]> intervals) {
+            intervals.sort(Comparator.comparingLong(interval -> interval[0]));
+            long[] starts = new long[intervals.size()];
+            long[] ends = new long[intervals.size()];
+            int count = 0;
+            for (long[] interval : intervals) {
+                if (count > 0 && interval[0] <= ends[count - 1]) {
+                    ends[count - 1] = Math.max(ends[count - 1], interval[1]);
+                } else {
+                    starts[count] = interval[0];
+                    ends[count] = interval[1];
+                    count++;
+                }
+            }
+            return new long[][] {Arrays.copyOf(starts, count), Arrays.copyOf(ends, count)};
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.clinic.doctorservice.config;
+
+import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.event.DoctorChangePublisher;
+import com.clinic.doctorservice.model.DoctorPatch;
+import com.clinic.doctorservice.repository.DoctorRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for EntityCacheConfig
+ * Tests that Doctor reads are served from the second-level cache, that every
+ * write path evicts or refreshes the cached row and that the cache metrics exist
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:doctor-cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Entity Cache Config Tests")
+class EntityCacheConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private DoctorChangePublisher changePublisher;
+
+    private Statistics statistics;
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        Doctor doctor = new Doctor();
+        doctor.setName("Dr. John Doe");
+        doctor.setSpecialization("Cardiology");
+        doctor.setAvailable(true);
+        id = doctorRepository.save(doctor).getId();
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should serve a second findById from the cache without loading the row")
+    void testFindById_CacheHit() {
+        // When
+        doctorRepository.findById(id);
+        doctorRepository.findById(id);
+
+        // Then
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertTrue(cached());
+    }
+
+    @Test
+    @DisplayName("Should replace the cached doctor on PUT")
+    void testUpdate_RefreshesCache() throws Exception {
+        // Given
+        doctorRepository.findById(id);
+
+        // When
+        mockMvc.perform(put("/doctors/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Dr. Jane Doe\",\"specialization\":\"Neurology\",\"available\":true}"))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        // Then
+        assertEquals("Dr. Jane Doe", doctorRepository.findById(id).orElseThrow().getName());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should evict the cached doctor on PATCH")
+    void testPatch_EvictsCache() throws Exception {
+        // Given
+        doctorRepository.findById(id);
+
+        // When
+        mockMvc.perform(patch("/doctors/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isNoContent());
+
+        // Then
+        assertFalse(cached());
+        Doctor doctor = doctorRepository.findById(id).orElseThrow();
+        assertFalse(doctor.isAvailable());
+        assertEquals(1, doctor.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should evict only when the JDBC patch changes the row")
+    void testRepositoryPatch_Evicts() {
+        // Given
+        doctorRepository.findById(id);
+        DoctorPatch patch = new DoctorPatch();
+        patch.setName("Dr. Jon Doe");
+
+        // When
+        int stale = doctorRepository.patch(id, patch, 5L);
+        boolean cachedAfterStale = cached();
+        int updated = doctorRepository.patch(id, patch, 0L);
+
+        // Then
+        assertEquals(0, stale);
+        assertTrue(cachedAfterStale);
+        assertEquals(1, updated);
+        assertFalse(cached());
+        assertEquals("Dr. Jon Doe", doctorRepository.findById(id).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Should keep the cached doctor until the patch commits")
+    void testRepositoryPatch_EvictsAfterCommit() {
+        // Given
+        doctorRepository.findById(id);
+        DoctorPatch patch = new DoctorPatch();
+        patch.setName("Dr. Jon Doe");
+
+        // When
+        boolean cachedBeforeCommit = new TransactionTemplate(transactionManager).execute(status -> {
+            doctorRepository.patch(id, patch, 0L);
+            return cached();
+        });
+
+        // Then
+        assertTrue(cachedBeforeCommit);
+        assertFalse(cached());
+    }
+
+    @Test
+    @DisplayName("Should register the cache metrics for the doctors region")
+    void testMetrics() {
+        // When
+        doctorRepository.findById(id);
+        doctorRepository.findById(id);
+
+        // Then
+        FunctionCounter hits = meterRegistry.find("cache.gets")
+                .tag("cache", Doctor.CACHE_REGION).tag("result", "hit").functionCounter();
+        assertNotNull(hits);
+        assertTrue(hits.count() >= 1);
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", Doctor.CACHE_REGION).tag("result", "miss").functionCounter());
+        assertNotNull(meterRegistry.find("cache.puts").tag("cache", Doctor.CACHE_REGION).functionCounter());
+        assertNotNull(meterRegistry.find("cache.removals").tag("cache", Doctor.CACHE_REGION).gauge());
+    }
+
+    private boolean cached() {
+        return entityManagerFactory.getCache().contains(Doctor.class, id);
+    }
+}
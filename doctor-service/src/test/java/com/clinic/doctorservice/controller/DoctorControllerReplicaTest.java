@@ -0,0 +1,180 @@
+package com.clinic.doctorservice.controller;
+
+import com.clinic.doctorservice.config.ReplicaRoutingDataSource;
+import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.entity.RosterOverride;
+import com.clinic.doctorservice.event.DoctorChangePublisher;
+import com.clinic.doctorservice.repository.DoctorRepository;
+import com.clinic.doctorservice.repository.RosterOverrideRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for DoctorController and RosterController
+ * Tests that listings marked @ReplicaRead read from the replica, and that
+ * updates and roster changes to rows the replica has not caught up with
+ * still succeed, because their reads go to the primary
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:doctor-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "clinic.datasource.replica.url=jdbc:h2:mem:doctor-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "clinic.datasource.replica.lag-query=select 0 as seconds_behind_source",
+        "clinic.datasource.replica.lag-column=seconds_behind_source",
+        "clinic.datasource.replica.lag-check-interval=1h",
+        "spring.jpa.show-sql=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Doctor Controller Replica Tests")
+class DoctorControllerReplicaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private RosterOverrideRepository overrideRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @MockBean
+    private DoctorChangePublisher changePublisher;
+
+    private Long id;
+
+    // The replica gets the primary's tables but none of the rows written after this point
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("drop all objects");
+        for (String statement : new JdbcTemplate(primary).queryForList("script nodata", String.class)) {
+            if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                replicaJdbc.execute(statement);
+            }
+        }
+
+        Doctor doctor = new Doctor();
+        doctor.setName("Dr. John Doe");
+        doctor.setSpecialization("Cardiology");
+        doctor.setAvailable(true);
+        id = doctorRepository.save(doctor).getId();
+
+        // Reads must reach a database, not the second-level cache the save filled
+        entityManagerFactory.getCache().evictAll();
+        assertThat(onReplica(id)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should list doctors by id from the replica")
+    void testGetByIds_ReadsReplica() throws Exception {
+        // Given
+        long replicaOnly = id + 100;
+        new JdbcTemplate(replica).update(
+                "insert into doctor (id, name, specialization, available, version) values (?, ?, ?, ?, 0)",
+                replicaOnly, "Dr. Replica Only", "Cardiology", true);
+
+        // When / Then
+        mockMvc.perform(get("/doctors").param("ids", String.valueOf(replicaOnly)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Dr. Replica Only"));
+    }
+
+    @Test
+    @DisplayName("Should update a doctor the replica does not have yet")
+    void testUpdate_BeforeReplicaCatchesUp() throws Exception {
+        // When / Then
+        mockMvc.perform(put("/doctors/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Dr. Jane Doe\",\"specialization\":\"Neurology\",\"available\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Dr. Jane Doe"));
+    }
+
+    @Test
+    @DisplayName("Should add and delete roster overrides for a doctor the replica does not have yet")
+    void testRosterOverride_BeforeReplicaCatchesUp() throws Exception {
+        // Given
+        LocalDateTime monday = LocalDateTime.of(2030, 1, 7, 18, 0);
+
+        // When
+        mockMvc.perform(post("/doctors/" + id + "/roster/overrides")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startsAt\":\"" + monday + "\",\"endsAt\":\"" + monday.plusHours(2)
+                                + "\",\"working\":true}"))
+                .andExpect(status().isOk());
+        RosterOverride override = overrideRepository.findByDoctorId(id).get(0);
+        mockMvc.perform(delete("/doctors/" + id + "/roster/overrides/" + override.getId()))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(overrideRepository.findByDoctorId(id)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should delete a doctor together with their roster")
+    void testDelete_RemovesRoster() throws Exception {
+        // Given
+        LocalDateTime monday = LocalDateTime.of(2030, 1, 7, 18, 0);
+        mockMvc.perform(post("/doctors/" + id + "/roster/overrides")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startsAt\":\"" + monday + "\",\"endsAt\":\"" + monday.plusHours(2)
+                                + "\",\"working\":true}"))
+                .andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(delete("/doctors/" + id))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(doctorRepository.existsById(id)).isFalse();
+        assertThat(overrideRepository.findByDoctorId(id)).isEmpty();
+    }
+
+    private boolean onReplica(Long id) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return ReplicaRoutingDataSource.readFromReplica(
+                () -> readOnly.execute(status -> doctorRepository.existsById(id)));
+    }
+}
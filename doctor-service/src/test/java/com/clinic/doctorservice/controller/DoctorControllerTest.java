@@ -1,7 +1,16 @@
 package com.clinic.doctorservice.controller;
 
 import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.event.DoctorChangePublisher;
+import com.clinic.doctorservice.event.DoctorFeed;
+import com.clinic.doctorservice.exception.FeedFullException;
+import com.clinic.doctorservice.model.DoctorPatch;
+import com.clinic.doctorservice.model.DoctorSummary;
 import com.clinic.doctorservice.repository.DoctorRepository;
+import com.clinic.doctorservice.repository.RosterOverrideRepository;
+import com.clinic.doctorservice.repository.RosterShiftRepository;
+import com.clinic.doctorservice.search.DoctorIndex;
+import com.clinic.doctorservice.search.RosterIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,14 +19,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +55,27 @@ class DoctorControllerTest {
     @MockBean
     private DoctorRepository doctorRepository;
 
+    @MockBean
+    private RosterShiftRepository shiftRepository;
+
+    @MockBean
+    private RosterOverrideRepository overrideRepository;
+
+    @MockBean
+    private DoctorChangePublisher changePublisher;
+
+    @MockBean
+    private DoctorIndex doctorIndex;
+
+    @MockBean
+    private RosterIndex rosterIndex;
+
+    @MockBean
+    private DoctorFeed doctorFeed;
+
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -46,9 +85,16 @@ class DoctorControllerTest {
     void setUp() {
         sampleDoctor = new Doctor();
         sampleDoctor.setId(1L);
+        sampleDoctor.setVersion(3L);
         sampleDoctor.setName("Dr. Smith");
         sampleDoctor.setSpecialization("Cardiology");
         sampleDoctor.setAvailable(true);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
     }
 
     @Test
@@ -73,6 +119,8 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$.available").value(true));
 
         verify(doctorRepository, times(1)).save(any(Doctor.class));
+        verify(doctorIndex, times(1)).put(sampleDoctor);
+        verify(doctorFeed, times(1)).doctorChanged(argThat(summary -> summary.id().equals(1L)));
     }
 
     @Test
@@ -86,7 +134,7 @@ class DoctorControllerTest {
         doctor2.setAvailable(false);
 
         List<Doctor> doctors = Arrays.asList(sampleDoctor, doctor2);
-        when(doctorRepository.findAll()).thenReturn(doctors);
+        when(doctorRepository.findAllSummaries()).thenReturn(summaries(doctors));
 
         // When & Then
         mockMvc.perform(get("/doctors")
@@ -98,14 +146,34 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$[0].available").value(true))
                 .andExpect(jsonPath("$[1].available").value(false));
 
-        verify(doctorRepository, times(1)).findAll();
+        verify(doctorRepository, times(1)).findAllSummaries();
+        verify(doctorIndex, never()).find(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should filter doctors through the index")
+    void testGetAllDoctors_Filtered() throws Exception {
+        // Given
+        when(doctorIndex.find("Cardiology", true)).thenReturn(List.of(sampleDoctor));
+
+        // When & Then
+        mockMvc.perform(get("/doctors")
+                        .param("specialization", "Cardiology")
+                        .param("available", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Dr. Smith"));
+
+        verify(doctorIndex, times(1)).find("Cardiology", true);
+        verify(doctorRepository, never()).findAllSummaries();
     }
 
     @Test
     @DisplayName("Should return empty list when no doctors exist")
     void testGetAllDoctors_EmptyList() throws Exception {
         // Given
-        when(doctorRepository.findAll()).thenReturn(Arrays.asList());
+        when(doctorRepository.findAllSummaries()).thenReturn(List.of());
 
         // When & Then
         mockMvc.perform(get("/doctors")
@@ -113,7 +181,80 @@ class DoctorControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(doctorRepository, times(1)).findAll();
+        verify(doctorRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should return only the requested doctors when ids are given")
+    void testGetDoctorsByIds() throws Exception {
+        // Given
+        Doctor doctor3 = new Doctor();
+        doctor3.setId(3L);
+        doctor3.setName("Dr. Brown");
+        doctor3.setSpecialization("Dermatology");
+        doctor3.setAvailable(true);
+
+        when(doctorRepository.findSummariesByIdIn(List.of(1L, 3L)))
+                .thenReturn(summaries(Arrays.asList(sampleDoctor, doctor3)));
+
+        // When & Then
+        mockMvc.perform(get("/doctors")
+                        .param("ids", "1,3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(3));
+
+        verify(doctorRepository, times(1)).findSummariesByIdIn(List.of(1L, 3L));
+        verify(doctorRepository, never()).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should write only the requested fields of filtered doctors")
+    void testGetAllDoctors_SparseFields() throws Exception {
+        // Given
+        when(doctorIndex.find(null, true)).thenReturn(List.of(sampleDoctor));
+
+        // When & Then
+        mockMvc.perform(get("/doctors")
+                        .param("available", "true")
+                        .param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Dr. Smith"))
+                .andExpect(jsonPath("$[0].specialization").doesNotExist())
+                .andExpect(jsonPath("$[0].available").doesNotExist())
+                .andExpect(jsonPath("$[0].version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should accept every property of the doctor list DTO")
+    void testGetAllDoctors_AllFields() throws Exception {
+        // Given
+        when(doctorIndex.find("Cardiology", null)).thenReturn(List.of(sampleDoctor));
+
+        // When & Then
+        mockMvc.perform(get("/doctors")
+                        .param("specialization", "Cardiology")
+                        .param("fields", "id,name,specialization,available,version"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].specialization").value("Cardiology"))
+                .andExpect(jsonPath("$[0].available").value(true))
+                .andExpect(jsonPath("$[0].version").value(3));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown field")
+    void testGetAllDoctors_UnknownField() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/doctors")
+                        .param("fields", "salary"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString(
+                        "'salary'; expected any of [id, name, specialization, available, version]")));
+
+        verify(doctorRepository, never()).findAllSummaries();
     }
 
     @Test
@@ -133,6 +274,131 @@ class DoctorControllerTest {
         verify(doctorRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("Should return ETag with the doctor version")
+    void testGetDoctorById_ETag() throws Exception {
+        // Given
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(sampleDoctor));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    @DisplayName("Should return 304 from the version alone when ETag still matches")
+    void testGetDoctorById_NotModified() throws Exception {
+        // Given
+        when(doctorRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1")
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(doctorRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should return 304 when If-None-Match is a weak tag for the version")
+    void testGetDoctorById_WeakNotModified() throws Exception {
+        // Given
+        when(doctorRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1")
+                        .header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @DisplayName("Should return 304 when If-None-Match is *")
+    void testGetDoctorById_AnyNotModified() throws Exception {
+        // Given
+        when(doctorRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1")
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @DisplayName("Should return full doctor when ETag is stale")
+    void testGetDoctorById_Modified() throws Exception {
+        // Given
+        when(doctorRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(sampleDoctor));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1")
+                        .header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.name").value("Dr. Smith"));
+    }
+
+    @Test
+    @DisplayName("Should update and return the new ETag when If-Match is *")
+    void testUpdateDoctor_AnyIfMatch() throws Exception {
+        // Given
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(sampleDoctor));
+        when(doctorRepository.save(any(Doctor.class))).thenAnswer(invocation -> {
+            Doctor saved = invocation.getArgument(0);
+            saved.setVersion(4L);
+            return saved;
+        });
+
+        // When & Then
+        mockMvc.perform(put("/doctors/1")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleDoctor)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    @DisplayName("Should reject update when If-Match is stale")
+    void testUpdateDoctor_PreconditionFailed() throws Exception {
+        // Given
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(sampleDoctor));
+
+        // When & Then
+        mockMvc.perform(put("/doctors/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleDoctor)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(doctorRepository, never()).save(any(Doctor.class));
+        verify(changePublisher, never()).doctorChanged(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should return 412 when a concurrent update wins")
+    void testUpdateDoctor_ConcurrentUpdate() throws Exception {
+        // Given
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(sampleDoctor));
+        when(doctorRepository.save(any(Doctor.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Doctor.class, 1L));
+
+        // When & Then
+        mockMvc.perform(put("/doctors/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleDoctor)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(changePublisher, never()).doctorChanged(anyLong());
+    }
+
     @Test
     @DisplayName("Should throw exception when doctor not found")
     void testGetDoctorById_NotFound() throws Exception {
@@ -163,19 +429,26 @@ class DoctorControllerTest {
         savedDoctor.setAvailable(false);
 
         when(doctorRepository.findById(1L)).thenReturn(Optional.of(sampleDoctor));
+        savedDoctor.setVersion(4L);
+
         when(doctorRepository.save(any(Doctor.class))).thenReturn(savedDoctor);
 
         // When & Then
         mockMvc.perform(put("/doctors/1")
+                        .header("If-Match", "\"3\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatedDoctor)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
                 .andExpect(jsonPath("$.name").value("Dr. Smith Updated"))
                 .andExpect(jsonPath("$.specialization").value("Cardiology & Surgery"))
                 .andExpect(jsonPath("$.available").value(false));
 
         verify(doctorRepository, times(1)).findById(1L);
         verify(doctorRepository, times(1)).save(any(Doctor.class));
+        verify(doctorIndex, times(1)).put(savedDoctor);
+        verify(changePublisher, times(1)).doctorChanged(1L);
+        verify(doctorFeed, times(1)).doctorChanged(argThat(summary -> summary.name().equals(savedDoctor.getName())));
     }
 
     @Test
@@ -197,6 +470,149 @@ class DoctorControllerTest {
 
         verify(doctorRepository, times(1)).findById(999L);
         verify(doctorRepository, never()).save(any(Doctor.class));
+        verify(changePublisher, never()).doctorChanged(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should patch supplied fields with one update and publish the row it wrote")
+    void testPatchDoctor() throws Exception {
+        // Given
+        when(doctorRepository.patch(eq(1L), any(DoctorPatch.class), eq(3L))).thenReturn(1);
+        when(doctorRepository.findSummaryById(1L)).thenReturn(Optional.of(patched()));
+
+        // When & Then
+        mockMvc.perform(patch("/doctors/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(doctorRepository, times(1)).patch(eq(1L), argThat(patch -> patch.getAvailable() == Boolean.FALSE && patch.getName() == null), eq(3L));
+        verify(doctorRepository, never()).findById(anyLong());
+        verify(doctorRepository, never()).save(any(Doctor.class));
+        verify(doctorIndex, times(1)).put(patched());
+        verify(changePublisher, times(1)).doctorChanged(1L);
+        verify(doctorFeed, times(1)).doctorChanged(patched());
+    }
+
+    @Test
+    @DisplayName("Should patch without a version check when If-Match is absent")
+    void testPatchDoctor_Unconditional() throws Exception {
+        // Given
+        when(doctorRepository.patch(eq(1L), any(DoctorPatch.class), isNull())).thenReturn(1);
+        when(doctorRepository.findSummaryById(1L)).thenReturn(Optional.of(patched()));
+
+        // When & Then
+        mockMvc.perform(patch("/doctors/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(changePublisher, times(1)).doctorChanged(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject patch when If-Match is stale")
+    void testPatchDoctor_PreconditionFailed() throws Exception {
+        // Given
+        when(doctorRepository.patch(eq(1L), any(DoctorPatch.class), eq(2L))).thenReturn(0);
+        when(doctorRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(patch("/doctors/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(doctorRepository, never()).findSummaryById(anyLong());
+        verify(doctorIndex, never()).put(any(DoctorSummary.class));
+        verify(changePublisher, never()).doctorChanged(anyLong());
+        verify(doctorFeed, never()).doctorChanged(any());
+    }
+
+    @Test
+    @DisplayName("Should reject patch when If-Match is a weak tag")
+    void testPatchDoctor_WeakIfMatch() throws Exception {
+        // Given
+        when(doctorRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(patch("/doctors/1")
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(doctorRepository, never()).patch(anyLong(), any(DoctorPatch.class), any());
+    }
+
+    @Test
+    @DisplayName("Should patch the current version when an If-Match list names it")
+    void testPatchDoctor_IfMatchList() throws Exception {
+        // Given
+        when(doctorRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(doctorRepository.patch(eq(1L), any(DoctorPatch.class), eq(3L))).thenReturn(1);
+        when(doctorRepository.findSummaryById(1L)).thenReturn(Optional.of(patched()));
+
+        // When & Then
+        mockMvc.perform(patch("/doctors/1")
+                        .header("If-Match", "\"2\", \"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(changePublisher, times(1)).doctorChanged(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject patch when no tag in an If-Match list is current")
+    void testPatchDoctor_StaleIfMatchList() throws Exception {
+        // Given
+        when(doctorRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        // When & Then
+        mockMvc.perform(patch("/doctors/1")
+                        .header("If-Match", "\"2\", \"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(doctorRepository, never()).patch(anyLong(), any(DoctorPatch.class), any());
+        verify(doctorIndex, never()).put(any(DoctorSummary.class));
+    }
+
+    @Test
+    @DisplayName("Should patch without a version check when If-Match is a list holding *")
+    void testPatchDoctor_AnyIfMatch() throws Exception {
+        // Given
+        when(doctorRepository.patch(eq(1L), any(DoctorPatch.class), isNull())).thenReturn(1);
+        when(doctorRepository.findSummaryById(1L)).thenReturn(Optional.of(patched()));
+
+        // When & Then
+        mockMvc.perform(patch("/doctors/1")
+                        .header("If-Match", "\"2\", *")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\":false}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(doctorRepository, never()).findVersionById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty patch")
+    void testPatchDoctor_Empty() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/doctors/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(doctorRepository, never()).patch(anyLong(), any(DoctorPatch.class), any());
     }
 
     @Test
@@ -210,7 +626,39 @@ class DoctorControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
+        verify(shiftRepository, times(1)).deleteByDoctorId(1L);
+        verify(overrideRepository, times(1)).deleteByDoctorId(1L);
         verify(doctorRepository, times(1)).deleteById(1L);
+        verify(doctorIndex, times(1)).remove(1L);
+        verify(rosterIndex, times(1)).remove(1L);
+        verify(changePublisher, times(1)).doctorChanged(1L);
+        verify(doctorFeed, times(1)).doctorDeleted(1L);
+    }
+
+    @Test
+    @DisplayName("Should open an event stream of doctor changes")
+    void testStreamDoctors() throws Exception {
+        // Given
+        when(doctorFeed.subscribe()).thenReturn(new SseEmitter());
+
+        // When & Then
+        mockMvc.perform(get("/doctors/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(doctorFeed, times(1)).subscribe();
+    }
+
+    @Test
+    @DisplayName("Should return 503 when the event stream is at its subscriber limit")
+    void testStreamDoctors_Full() throws Exception {
+        // Given
+        when(doctorFeed.subscribe()).thenThrow(new FeedFullException("Doctor feed is full"));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable());
     }
 
     @Test
@@ -224,7 +672,7 @@ class DoctorControllerTest {
         doctor2.setAvailable(true);
 
         List<Doctor> cardiologists = Arrays.asList(sampleDoctor, doctor2);
-        when(doctorRepository.findAll()).thenReturn(cardiologists);
+        when(doctorRepository.findAllSummaries()).thenReturn(summaries(cardiologists));
 
         // When & Then
         mockMvc.perform(get("/doctors")
@@ -234,6 +682,15 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$[0].specialization").value("Cardiology"))
                 .andExpect(jsonPath("$[1].specialization").value("Cardiology"));
 
-        verify(doctorRepository, times(1)).findAll();
+        verify(doctorRepository, times(1)).findAllSummaries();
+    }
+
+    private static List<DoctorSummary> summaries(List<Doctor> doctors) {
+        return doctors.stream().map(DoctorSummary::of).toList();
+    }
+
+    // The sample doctor as read back after a patch set available to false
+    private static DoctorSummary patched() {
+        return new DoctorSummary(1L, "Dr. Smith", "Cardiology", false, 4L);
     }
 }
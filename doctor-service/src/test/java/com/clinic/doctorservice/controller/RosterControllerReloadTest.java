@@ -0,0 +1,173 @@
+package com.clinic.doctorservice.controller;
+
+import com.clinic.doctorservice.entity.RosterOverride;
+import com.clinic.doctorservice.entity.RosterShift;
+import com.clinic.doctorservice.repository.DoctorRepository;
+import com.clinic.doctorservice.repository.RosterOverrideRepository;
+import com.clinic.doctorservice.repository.RosterShiftRepository;
+import com.clinic.doctorservice.search.DoctorIndex;
+import com.clinic.doctorservice.search.RosterIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RosterController
+ * Tests that a roster write shows in the roster index at once, even while the
+ * read replica has not caught up with it
+ */
+@SpringJUnitConfig
+@DisplayName("Roster Controller Reload Tests")
+class RosterControllerReloadTest {
+
+    // 2026-10-19 is a Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 10, 19, 0, 0);
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new RoutingAwareTransactionManager();
+        }
+
+        @Bean
+        DoctorRepository doctorRepository() {
+            return mock(DoctorRepository.class);
+        }
+
+        @Bean
+        RosterShiftRepository rosterShiftRepository() {
+            return mock(RosterShiftRepository.class);
+        }
+
+        @Bean
+        RosterOverrideRepository rosterOverrideRepository() {
+            return mock(RosterOverrideRepository.class);
+        }
+
+        @Bean
+        RosterIndex rosterIndex(RosterShiftRepository shifts, RosterOverrideRepository overrides) {
+            return new RosterIndex(shifts, overrides);
+        }
+
+        @Bean
+        RosterController rosterController(DoctorRepository doctors, RosterShiftRepository shifts,
+                                          RosterOverrideRepository overrides, RosterIndex rosterIndex,
+                                          PlatformTransactionManager transactionManager) {
+            return new RosterController(doctors, shifts, overrides, mock(DoctorIndex.class), rosterIndex,
+                    new TransactionTemplate(transactionManager), Duration.ofDays(28));
+        }
+    }
+
+    // Sets the transaction flags the replica routing reads, without a database behind it
+    static class RoutingAwareTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    @Autowired
+    private RosterController rosterController;
+
+    @Autowired
+    private RosterIndex rosterIndex;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private RosterShiftRepository shiftRepository;
+
+    @Autowired
+    private RosterOverrideRepository overrideRepository;
+
+    @BeforeEach
+    void setUp() {
+        reset(doctorRepository, shiftRepository, overrideRepository);
+        rosterIndex.remove(7L);
+        when(doctorRepository.existsById(7L)).thenReturn(true);
+        when(shiftRepository.findByDoctorId(7L)).thenReturn(List.of());
+        when(overrideRepository.findByDoctorId(7L)).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should put new extra hours in the index before the replica has them")
+    void testAddOverride_VisibleAtOnce() {
+        // Given
+        RosterOverride extra = new RosterOverride();
+        extra.setStartsAt(MONDAY.withHour(18));
+        extra.setEndsAt(MONDAY.withHour(20));
+        extra.setWorking(true);
+        when(overrideRepository.save(extra)).thenReturn(extra);
+        when(overrideRepository.findByDoctorId(7L)).thenAnswer(invocation -> fromPrimaryOnly(() -> List.of(extra)));
+
+        // When
+        rosterController.addOverride(7L, extra);
+
+        // Then
+        assertThat(rosterIndex.isOnDuty(7L, MONDAY.withHour(19))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should put replaced weekly shifts in the index before the replica has them")
+    void testReplaceShifts_VisibleAtOnce() {
+        // Given
+        RosterShift shift = new RosterShift();
+        shift.setDayOfWeek(DayOfWeek.MONDAY);
+        shift.setStartTime(LocalTime.of(9, 0));
+        shift.setEndTime(LocalTime.of(13, 0));
+        when(shiftRepository.saveAll(anyList())).thenReturn(List.of(shift));
+        when(shiftRepository.findByDoctorId(7L)).thenAnswer(invocation -> fromPrimaryOnly(() -> List.of(shift)));
+
+        // When
+        rosterController.replaceShifts(7L, List.of(shift));
+
+        // Then
+        assertThat(rosterIndex.isOnDuty(7L, MONDAY.withHour(10))).isTrue();
+    }
+
+    // A lagging replica: only a read-write transaction, which the routing sends to the primary, sees the write
+    private static <T> List<T> fromPrimaryOnly(Supplier<List<T>> written) {
+        boolean primary = TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return primary ? written.get() : List.of();
+    }
+}
@@ -0,0 +1,217 @@
+package com.clinic.doctorservice.controller;
+
+import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.entity.RosterOverride;
+import com.clinic.doctorservice.entity.RosterShift;
+import com.clinic.doctorservice.model.FreeWindow;
+import com.clinic.doctorservice.repository.DoctorRepository;
+import com.clinic.doctorservice.repository.RosterOverrideRepository;
+import com.clinic.doctorservice.repository.RosterShiftRepository;
+import com.clinic.doctorservice.search.DoctorIndex;
+import com.clinic.doctorservice.search.RosterIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit tests for RosterController
+ * Tests roster maintenance and the free-doctor and next-free-window queries
+ */
+@WebMvcTest(RosterController.class)
+@DisplayName("Roster Controller Tests")
+class RosterControllerTest {
+
+    private static final LocalDateTime MONDAY_TEN = LocalDateTime.of(2026, 10, 19, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DoctorRepository doctorRepository;
+
+    @MockBean
+    private RosterShiftRepository shiftRepository;
+
+    @MockBean
+    private RosterOverrideRepository overrideRepository;
+
+    @MockBean
+    private DoctorIndex doctorIndex;
+
+    @MockBean
+    private RosterIndex rosterIndex;
+
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        when(doctorRepository.existsById(1L)).thenReturn(true);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should list available doctors of a specialization who are on duty")
+    void testGetFreeDoctors() throws Exception {
+        // Given
+        when(doctorIndex.find("Cardiology", true)).thenReturn(List.of(doctor(1L), doctor(2L)));
+        when(rosterIndex.isOnDuty(1L, MONDAY_TEN)).thenReturn(false);
+        when(rosterIndex.isOnDuty(2L, MONDAY_TEN)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(get("/doctors/free")
+                        .param("at", "2026-10-19T10:00")
+                        .param("specialization", "Cardiology"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return the next free window")
+    void testGetNextFreeWindow() throws Exception {
+        // Given
+        when(rosterIndex.nextFreeWindow(eq(1L), eq(MONDAY_TEN), eq(Duration.ofMinutes(30)), any(Duration.class)))
+                .thenReturn(Optional.of(new FreeWindow(1L, MONDAY_TEN, MONDAY_TEN.plusHours(3))));
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1/next-free")
+                        .param("from", "2026-10-19T10:00")
+                        .param("minutes", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.start").value("2026-10-19T10:00:00"))
+                .andExpect(jsonPath("$.end").value("2026-10-19T13:00:00"));
+    }
+
+    @Test
+    @DisplayName("Should return 204 when no window falls within the horizon")
+    void testGetNextFreeWindow_None() throws Exception {
+        // Given
+        when(rosterIndex.nextFreeWindow(eq(1L), any(LocalDateTime.class), any(Duration.class), any(Duration.class)))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1/next-free"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Should replace weekly shifts and refresh the index")
+    void testReplaceShifts() throws Exception {
+        // Given
+        when(shiftRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When & Then
+        mockMvc.perform(put("/doctors/1/roster/shifts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"dayOfWeek\":\"MONDAY\",\"startTime\":\"09:00\",\"endTime\":\"17:00\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].doctorId").value(1))
+                .andExpect(jsonPath("$[0].dayOfWeek").value("MONDAY"));
+
+        verify(shiftRepository).deleteByDoctorId(1L);
+        verify(rosterIndex).reload(1L);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a shift without times")
+    void testReplaceShifts_Invalid() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/doctors/1/roster/shifts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"dayOfWeek\":\"MONDAY\"}]"))
+                .andExpect(status().isBadRequest());
+
+        verify(shiftRepository, never()).deleteByDoctorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should add leave and refresh the index")
+    void testAddOverride() throws Exception {
+        // Given
+        when(overrideRepository.save(any(RosterOverride.class))).thenAnswer(invocation -> {
+            RosterOverride saved = invocation.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
+
+        // When & Then
+        mockMvc.perform(post("/doctors/1/roster/overrides")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startsAt\":\"2026-10-19T00:00\",\"endsAt\":\"2026-10-24T00:00\",\"working\":false,\"reason\":\"Leave\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.doctorId").value(1));
+
+        verify(rosterIndex).reload(1L);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when an override ends before it starts")
+    void testAddOverride_Invalid() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/doctors/1/roster/overrides")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startsAt\":\"2026-10-24T00:00\",\"endsAt\":\"2026-10-19T00:00\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(overrideRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should return the stored roster")
+    void testGetRoster() throws Exception {
+        // Given
+        RosterShift shift = new RosterShift();
+        shift.setDoctorId(1L);
+        when(shiftRepository.findByDoctorId(1L)).thenReturn(List.of(shift));
+        when(overrideRepository.findByDoctorId(1L)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/doctors/1/roster"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shifts", hasSize(1)))
+                .andExpect(jsonPath("$.overrides", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should reject roster changes for an unknown doctor")
+    void testReplaceShifts_UnknownDoctor() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/doctors/9/roster/shifts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string("Doctor not found"));
+    }
+
+    private static Doctor doctor(Long id) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setName("Dr. " + id);
+        doctor.setSpecialization("Cardiology");
+        doctor.setAvailable(true);
+        return doctor;
+    }
+}
@@ -0,0 +1,129 @@
+package com.clinic.doctorservice.event;
+
+import com.clinic.doctorservice.controller.DoctorController;
+import com.clinic.doctorservice.exception.FeedFullException;
+import com.clinic.doctorservice.model.DoctorSummary;
+import com.clinic.doctorservice.repository.DoctorRepository;
+import com.clinic.doctorservice.repository.RosterOverrideRepository;
+import com.clinic.doctorservice.repository.RosterShiftRepository;
+import com.clinic.doctorservice.search.DoctorIndex;
+import com.clinic.doctorservice.search.RosterIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Unit tests for DoctorFeed
+ * Tests event delivery, the subscriber limit and dropping subscribers that fall behind
+ */
+@DisplayName("Doctor Feed Tests")
+class DoctorFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService senders = Executors.newSingleThreadExecutor();
+    private final DoctorFeed feed = new DoctorFeed(new ObjectMapper(), meterRegistry, 2, 2,
+            Duration.ofMinutes(1), Duration.ofHours(1), senders);
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+    }
+
+    @Test
+    @DisplayName("Should send changes and deletions to an open stream")
+    void testDelivery() throws Exception {
+        // Given
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new DoctorController(
+                mock(DoctorRepository.class), mock(RosterShiftRepository.class), mock(RosterOverrideRepository.class),
+                mock(DoctorChangePublisher.class), mock(DoctorIndex.class), mock(RosterIndex.class), feed,
+                mock(TransactionTemplate.class))).build();
+        MockHttpServletResponse response = mockMvc.perform(get("/doctors/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        // When
+        feed.doctorChanged(new DoctorSummary(1L, "Dr. Smith", "Cardiology", true, 3L));
+        feed.doctorDeleted(2L);
+
+        // Then
+        String body = awaitContent(response, "doctor-deleted");
+        assertThat(body).contains("event:doctor\ndata:{\"id\":1,\"name\":\"Dr. Smith\",\"specialization\":\"Cardiology\",\"available\":true,\"version\":3}\n\n");
+        assertThat(body).contains("event:doctor-deleted\ndata:{\"id\":2}\n\n");
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers beyond the limit")
+    void testSubscribe_Full() {
+        // Given
+        feed.subscribe();
+        feed.subscribe();
+
+        // When & Then
+        assertThatThrownBy(feed::subscribe).isInstanceOf(FeedFullException.class);
+        assertThat(feed.subscriberCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("clinic.doctors.stream.subscribers").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber that falls a full buffer behind")
+    void testSlowSubscriberDropped() throws Exception {
+        // Given a sender thread that is busy, so nothing drains
+        CountDownLatch busy = new CountDownLatch(1);
+        senders.execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        feed.subscribe();
+
+        // When
+        feed.doctorDeleted(1L);
+        feed.doctorDeleted(2L);
+        feed.doctorDeleted(3L);
+        busy.countDown();
+
+        // Then
+        assertThat(feed.subscriberCount()).isZero();
+        assertThat(meterRegistry.get("clinic.doctors.stream.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not encode events when nobody is listening")
+    void testPublish_NoSubscribers() {
+        // When
+        feed.doctorDeleted(1L);
+
+        // Then
+        assertThat(feed.subscriberCount()).isZero();
+        assertThat(meterRegistry.get("clinic.doctors.stream.dropped").counter().count()).isZero();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+}
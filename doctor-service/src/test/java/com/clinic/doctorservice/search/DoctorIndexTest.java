@@ -0,0 +1,223 @@
+package com.clinic.doctorservice.search;
+
+import com.clinic.doctorservice.entity.Doctor;
+import com.clinic.doctorservice.model.DoctorSummary;
+import com.clinic.doctorservice.repository.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DoctorIndex
+ * Tests specialization and availability filtering and index maintenance
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Doctor Index Tests")
+class DoctorIndexTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private DoctorIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DoctorIndex(doctorRepository);
+        index.put(doctor(1L, "Cardiology", true));
+        index.put(doctor(2L, "Cardiology", false));
+        index.put(doctor(3L, "Neurology", true));
+        index.put(doctor(4L, " cardiology ", true));
+    }
+
+    @Test
+    @DisplayName("Should intersect specialization and availability")
+    void testFind_SpecializationAndAvailable() {
+        // When
+        List<Doctor> results = index.find("Cardiology", true);
+
+        // Then
+        assertThat(results).extracting(Doctor::getId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should filter by availability alone")
+    void testFind_Unavailable() {
+        // When
+        List<Doctor> results = index.find(null, false);
+
+        // Then
+        assertThat(results).extracting(Doctor::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should return nothing for an unknown specialization")
+    void testFind_UnknownSpecialization() {
+        // When
+        List<Doctor> results = index.find("Dermatology", null);
+
+        // Then
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and deletes")
+    void testPutAndRemove() {
+        // When
+        index.put(doctor(1L, "Neurology", false));
+        index.remove(3L);
+
+        // Then
+        assertThat(index.find("Cardiology", null)).extracting(Doctor::getId).containsExactly(2L, 4L);
+        assertThat(index.find("Neurology", null)).extracting(Doctor::getId).containsExactly(1L);
+        assertThat(index.find(null, true)).extracting(Doctor::getId).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should replace the indexed copy with a newer row")
+    void testPut_Summary() {
+        // When
+        boolean changed = index.put(summary(1L, "Cardiology", false, 1));
+
+        // Then
+        List<Doctor> cardiologists = index.find("Cardiology", null);
+        assertThat(cardiologists).extracting(Doctor::getId).containsExactly(1L, 2L, 4L);
+        assertThat(cardiologists.get(0).isAvailable()).isFalse();
+        assertThat(cardiologists.get(0).getName()).isEqualTo("Dr. 1");
+        assertThat(index.find(null, true)).extracting(Doctor::getId).containsExactly(3L, 4L);
+        assertThat(changed).isTrue();
+        assertThat(index.put(summary(1L, "Cardiology", false, 1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the doctor table")
+    void testRefresh_Startup() {
+        // Given
+        when(doctorRepository.findAllSummaries()).thenReturn(List.of(summary(7L, "Oncology", true, 0)));
+        index = new DoctorIndex(doctorRepository);
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.find("oncology", true)).extracting(Doctor::getId).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Should pick up creates, updates and deletes made through other instances")
+    void testRefresh_OtherInstances() {
+        // Given
+        when(doctorRepository.findAllSummaries()).thenReturn(List.of(
+                summary(1L, "Cardiology", false, 1),
+                summary(2L, "Cardiology", false, 0),
+                summary(4L, " cardiology ", true, 0),
+                summary(5L, "Neurology", true, 0)));
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.find("Cardiology", null)).extracting(Doctor::getId).containsExactly(1L, 2L, 4L);
+        assertThat(index.find("Neurology", null)).extracting(Doctor::getId).containsExactly(5L);
+        assertThat(index.find(null, true)).extracting(Doctor::getId).containsExactly(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should keep a newer copy when an older version arrives")
+    void testPut_StaleVersion() {
+        // Given
+        index.put(doctor(1L, "Neurology", false, 2));
+        when(doctorRepository.findAllSummaries()).thenReturn(List.of(
+                summary(1L, "Cardiology", true, 1),
+                summary(2L, "Cardiology", false, 0),
+                summary(3L, "Neurology", true, 0),
+                summary(4L, " cardiology ", true, 0)));
+
+        // When
+        index.put(doctor(1L, "Cardiology", true, 1));
+        index.refresh();
+
+        // Then
+        assertThat(index.get(1L)).map(Doctor::getVersion).contains(2L);
+        assertThat(index.find("Neurology", null)).extracting(Doctor::getId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should not bring back a doctor deleted after the refresh read it")
+    void testRefresh_AfterRemove() {
+        // Given
+        index.remove(3L);
+        when(doctorRepository.findAllSummaries()).thenReturn(List.of(summary(3L, "Neurology", true, 0)));
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.get(3L)).isEmpty();
+        assertThat(index.find("Neurology", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should forget a deleted id once a refresh finds the row gone")
+    void testRefresh_ForgetsDeleted() {
+        // Given
+        index.remove(3L);
+        when(doctorRepository.findAllSummaries()).thenReturn(List.of(
+                summary(1L, "Cardiology", true, 0),
+                summary(2L, "Cardiology", false, 0),
+                summary(4L, " cardiology ", true, 0)));
+
+        // When
+        index.refresh();
+        index.put(doctor(3L, "Neurology", true));
+
+        // Then
+        assertThat(index.find("Neurology", null)).extracting(Doctor::getId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should index ids beyond the int range without failing")
+    void testPut_LargeId() {
+        // Given
+        long id = Integer.MAX_VALUE + 10L;
+
+        // When
+        index.put(doctor(id, "Cardiology", true));
+        index.put(doctor(id, "Cardiology", false, 1));
+
+        // Then
+        assertThat(index.find("Cardiology", null)).extracting(Doctor::getId).containsExactly(1L, 2L, 4L, id);
+        assertThat(index.find(null, false)).extracting(Doctor::getId).containsExactly(2L, id);
+
+        // When
+        index.remove(id);
+
+        // Then
+        assertThat(index.find("Cardiology", null)).extracting(Doctor::getId).containsExactly(1L, 2L, 4L);
+    }
+
+    private static Doctor doctor(Long id, String specialization, boolean available) {
+        return doctor(id, specialization, available, 0);
+    }
+
+    private static Doctor doctor(Long id, String specialization, boolean available, long version) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setName("Dr. " + id);
+        doctor.setSpecialization(specialization);
+        doctor.setAvailable(available);
+        doctor.setVersion(version);
+        return doctor;
+    }
+
+    private static DoctorSummary summary(Long id, String specialization, boolean available, long version) {
+        return new DoctorSummary(id, "Dr. " + id, specialization, available, version);
+    }
+}
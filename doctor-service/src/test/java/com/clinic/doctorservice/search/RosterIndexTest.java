@@ -0,0 +1,200 @@
+package com.clinic.doctorservice.search;
+
+import com.clinic.doctorservice.entity.RosterOverride;
+import com.clinic.doctorservice.entity.RosterShift;
+import com.clinic.doctorservice.model.FreeWindow;
+import com.clinic.doctorservice.repository.RosterOverrideRepository;
+import com.clinic.doctorservice.repository.RosterShiftRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RosterIndex
+ * Tests on-duty checks and next-free-window search over shifts, extra hours and leave
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Roster Index Tests")
+class RosterIndexTest {
+
+    // 2026-10-19 is a Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 10, 19, 0, 0);
+    private static final Duration HORIZON = Duration.ofDays(28);
+
+    @Mock
+    private RosterShiftRepository shiftRepository;
+
+    @Mock
+    private RosterOverrideRepository overrideRepository;
+
+    private RosterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RosterIndex(shiftRepository, overrideRepository);
+        // Doctor 1 works Monday and Wednesday 09:00-13:00 and 14:00-17:00
+        index.put(1L, List.of(
+                shift(DayOfWeek.MONDAY, "09:00", "13:00"),
+                shift(DayOfWeek.MONDAY, "14:00", "17:00"),
+                shift(DayOfWeek.WEDNESDAY, "09:00", "13:00"),
+                shift(DayOfWeek.WEDNESDAY, "14:00", "17:00")), List.of());
+    }
+
+    @Test
+    @DisplayName("Should be on duty inside a shift and off duty between shifts")
+    void testIsOnDuty_WeeklyShifts() {
+        // Then
+        assertThat(index.isOnDuty(1L, MONDAY.withHour(9))).isTrue();
+        assertThat(index.isOnDuty(1L, MONDAY.withHour(12).withMinute(59))).isTrue();
+        assertThat(index.isOnDuty(1L, MONDAY.withHour(13))).isFalse();
+        assertThat(index.isOnDuty(1L, MONDAY.plusDays(1).withHour(10))).isFalse();
+        // The same shifts repeat every week
+        assertThat(index.isOnDuty(1L, MONDAY.plusWeeks(3).withHour(15))).isTrue();
+        assertThat(index.isOnDuty(99L, MONDAY.withHour(10))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should treat leave as off duty and extra hours as on duty")
+    void testIsOnDuty_Overrides() {
+        // Given
+        index.put(1L, List.of(shift(DayOfWeek.MONDAY, "09:00", "17:00")), List.of(
+                override(MONDAY.withHour(11), MONDAY.withHour(12), false),
+                override(MONDAY.plusDays(2).withHour(18), MONDAY.plusDays(2).withHour(20), true)));
+
+        // Then
+        assertThat(index.isOnDuty(1L, MONDAY.withHour(11).withMinute(30))).isFalse();
+        assertThat(index.isOnDuty(1L, MONDAY.withHour(12))).isTrue();
+        assertThat(index.isOnDuty(1L, MONDAY.plusDays(2).withHour(19))).isTrue();
+        // Leave on one Monday leaves the next one untouched
+        assertThat(index.isOnDuty(1L, MONDAY.plusWeeks(1).withHour(11).withMinute(30))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should run an overnight Sunday shift into Monday morning")
+    void testIsOnDuty_OvernightShiftWraps() {
+        // Given
+        index.put(2L, List.of(shift(DayOfWeek.SUNDAY, "22:00", "06:00")), List.of());
+
+        // Then
+        assertThat(index.isOnDuty(2L, MONDAY.minusHours(1))).isTrue();
+        assertThat(index.isOnDuty(2L, MONDAY.withHour(5))).isTrue();
+        assertThat(index.isOnDuty(2L, MONDAY.withHour(6))).isFalse();
+        assertThat(index.isOnDuty(2L, MONDAY.plusDays(6).withHour(23))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return the rest of the current shift when already on duty")
+    void testNextFreeWindow_InsideShift() {
+        // When
+        Optional<FreeWindow> window = index.nextFreeWindow(1L, MONDAY.withHour(10), Duration.ofMinutes(15), HORIZON);
+
+        // Then
+        assertThat(window).isPresent();
+        assertThat(window.get().getStart()).isEqualTo(MONDAY.withHour(10));
+        assertThat(window.get().getEnd()).isEqualTo(MONDAY.withHour(13));
+    }
+
+    @Test
+    @DisplayName("Should skip windows that are too short and days without shifts")
+    void testNextFreeWindow_SkipsShortAndEmpty() {
+        // When
+        Optional<FreeWindow> window = index.nextFreeWindow(1L, MONDAY.withHour(16).withMinute(50),
+                Duration.ofMinutes(30), HORIZON);
+
+        // Then
+        assertThat(window).isPresent();
+        assertThat(window.get().getStart()).isEqualTo(MONDAY.plusDays(2).withHour(9));
+        assertThat(window.get().getEnd()).isEqualTo(MONDAY.plusDays(2).withHour(13));
+    }
+
+    @Test
+    @DisplayName("Should cut windows at leave and resume after it")
+    void testNextFreeWindow_Leave() {
+        // Given: off from Monday 10:00 until Wednesday 12:00
+        index.put(1L, List.of(
+                shift(DayOfWeek.MONDAY, "09:00", "17:00"),
+                shift(DayOfWeek.WEDNESDAY, "09:00", "17:00")),
+                List.of(override(MONDAY.withHour(10), MONDAY.plusDays(2).withHour(12), false)));
+
+        // When
+        Optional<FreeWindow> beforeLeave = index.nextFreeWindow(1L, MONDAY, Duration.ofMinutes(15), HORIZON);
+        Optional<FreeWindow> duringLeave = index.nextFreeWindow(1L, MONDAY.withHour(11), Duration.ofMinutes(15), HORIZON);
+
+        // Then
+        assertThat(beforeLeave.get().getStart()).isEqualTo(MONDAY.withHour(9));
+        assertThat(beforeLeave.get().getEnd()).isEqualTo(MONDAY.withHour(10));
+        assertThat(duringLeave.get().getStart()).isEqualTo(MONDAY.plusDays(2).withHour(12));
+        assertThat(duringLeave.get().getEnd()).isEqualTo(MONDAY.plusDays(2).withHour(17));
+    }
+
+    @Test
+    @DisplayName("Should join extra hours that run on from a shift")
+    void testNextFreeWindow_ExtraHoursExtendShift() {
+        // Given
+        index.put(1L, List.of(shift(DayOfWeek.MONDAY, "09:00", "17:00")),
+                List.of(override(MONDAY.withHour(17), MONDAY.withHour(19), true)));
+
+        // When
+        Optional<FreeWindow> window = index.nextFreeWindow(1L, MONDAY.withHour(16), Duration.ofMinutes(15), HORIZON);
+
+        // Then
+        assertThat(window.get().getEnd()).isEqualTo(MONDAY.withHour(19));
+    }
+
+    @Test
+    @DisplayName("Should find nothing beyond the search horizon")
+    void testNextFreeWindow_Horizon() {
+        // Given: extra hours only, five weeks out
+        index.put(3L, List.of(), List.of(override(MONDAY.plusWeeks(5), MONDAY.plusWeeks(5).plusHours(4), true)));
+
+        // Then
+        assertThat(index.nextFreeWindow(3L, MONDAY, Duration.ofMinutes(15), HORIZON)).isEmpty();
+        assertThat(index.nextFreeWindow(3L, MONDAY, Duration.ofMinutes(15), Duration.ofDays(60))).isPresent();
+        assertThat(index.nextFreeWindow(99L, MONDAY, Duration.ofMinutes(15), HORIZON)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the roster tables")
+    void testRebuild() {
+        // Given
+        RosterShift stored = shift(DayOfWeek.TUESDAY, "08:00", "12:00");
+        stored.setDoctorId(7L);
+        when(shiftRepository.findAll()).thenReturn(List.of(stored));
+        when(overrideRepository.findAll()).thenReturn(List.of());
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertThat(index.isOnDuty(7L, MONDAY.plusDays(1).withHour(9))).isTrue();
+    }
+
+    private static RosterShift shift(DayOfWeek day, String start, String end) {
+        RosterShift shift = new RosterShift();
+        shift.setDayOfWeek(day);
+        shift.setStartTime(LocalTime.parse(start));
+        shift.setEndTime(LocalTime.parse(end));
+        return shift;
+    }
+
+    private static RosterOverride override(LocalDateTime startsAt, LocalDateTime endsAt, boolean working) {
+        RosterOverride override = new RosterOverride();
+        override.setStartsAt(startsAt);
+        override.setEndsAt(endsAt);
+        override.setWorking(working);
+        return override;
+    }
+}
@@ -99,17 +99,36 @@ function showSection(sectionName) {
 // Doctors Management
 // ===========================
 
+// Doctors by id, kept current by the /doctors/stream feed once loaded
+const doctorsById = new Map();
+let doctorStream = null;
+
 async function loadDoctors() {
     try {
         const doctors = await apiRequest(`${API_BASE_URL}/doctors`);
-        const tbody = document.getElementById('doctors-tbody');
-        
-        if (doctors.length === 0) {
-            tbody.innerHTML = '<tr><td colspan="5" class="loading">No doctors found. Add a doctor to get started.</td></tr>';
-            return;
-        }
-        
-        tbody.innerHTML = doctors.map(doctor => `
+        doctorsById.clear();
+        doctors.forEach(doctor => doctorsById.set(doctor.id, doctor));
+        renderDoctors();
+    } catch (error) {
+        document.getElementById('doctors-tbody').innerHTML = 
+            '<tr><td colspan="5" class="loading">Error loading doctors</td></tr>';
+    }
+}
+
+function renderDoctors() {
+    const doctors = [...doctorsById.values()].sort((a, b) => a.id - b.id);
+    const tbody = document.getElementById('doctors-tbody');
+
+    document.getElementById('total-doctors').textContent = doctors.length;
+    document.getElementById('available-doctors').textContent = 
+        doctors.filter(d => d.available).length;
+
+    if (doctors.length === 0) {
+        tbody.innerHTML = '<tr><td colspan="5" class="loading">No doctors found. Add a doctor to get started.</td></tr>';
+        return;
+    }
+    
+    tbody.innerHTML = doctors.map(doctor => `
             <tr>
                 <td>${doctor.id}</td>
                 <td>${doctor.name}</td>
@@ -121,13 +140,36 @@ async function loadDoctors() {
                 </td>
                 <td>
                     <button class="btn btn-info btn-sm" onclick="showEditDoctorForm(${doctor.id})">Edit</button>
+                    <button class="btn btn-warning btn-sm" onclick="setDoctorAvailability(${doctor.id}, ${!doctor.available})">
+                        ${doctor.available ? 'Mark Unavailable' : 'Mark Available'}
+                    </button>
                     <button class="btn btn-danger btn-sm" onclick="deleteDoctor(${doctor.id})">Delete</button>
                 </td>
             </tr>
         `).join('');
-    } catch (error) {
-        document.getElementById('doctors-tbody').innerHTML = 
-            '<tr><td colspan="5" class="loading">Error loading doctors</td></tr>';
+}
+
+// Applies doctor changes as they are committed instead of polling the full list.
+// The server drops a connection that falls behind; EventSource reconnects and
+// the list is reloaded on every (re)open so nothing missed in between is lost.
+function subscribeToDoctors() {
+    doctorStream = new EventSource(`${API_BASE_URL}/doctors/stream`);
+    doctorStream.addEventListener('open', () => loadDoctors());
+    doctorStream.addEventListener('doctor', event => {
+        const doctor = JSON.parse(event.data);
+        doctorsById.set(doctor.id, doctor);
+        renderDoctors();
+    });
+    doctorStream.addEventListener('doctor-deleted', event => {
+        doctorsById.delete(JSON.parse(event.data).id);
+        renderDoctors();
+    });
+}
+
+// After a change of our own the feed delivers it; reload only when it is not connected
+function refreshDoctorsUnlessStreaming() {
+    if (!doctorStream || doctorStream.readyState !== EventSource.OPEN) {
+        loadDoctors();
     }
 }
 
@@ -160,7 +202,7 @@ async function addDoctor(event) {
         
         showToast('Doctor added successfully!', 'success');
         hideAddDoctorForm();
-        loadDoctors();
+        refreshDoctorsUnlessStreaming();
     } catch (error) {
         // Error already handled by apiRequest
     }
@@ -207,7 +249,21 @@ async function updateDoctor(event) {
         
         showToast('Doctor updated successfully!', 'success');
         hideUpdateDoctorForm();
-        loadDoctors();
+        refreshDoctorsUnlessStreaming();
+    } catch (error) {
+        // Error already handled by apiRequest
+    }
+}
+
+async function setDoctorAvailability(id, available) {
+    try {
+        await apiRequest(`${API_BASE_URL}/doctors/${id}`, {
+            method: 'PATCH',
+            body: JSON.stringify({ available })
+        });
+        
+        showToast(available ? 'Doctor marked available' : 'Doctor marked unavailable', 'success');
+        refreshDoctorsUnlessStreaming();
     } catch (error) {
         // Error already handled by apiRequest
     }
@@ -224,7 +280,7 @@ async function deleteDoctor(id) {
         });
         
         showToast('Doctor deleted successfully!', 'success');
-        loadDoctors();
+        refreshDoctorsUnlessStreaming();
     } catch (error) {
         // Error already handled by apiRequest
     }
@@ -237,31 +293,52 @@ async function deleteDoctor(id) {
 async function loadPatients() {
     try {
         const patients = await apiRequest(`${API_BASE_URL}/patients`);
-        const tbody = document.getElementById('patients-tbody');
-        
-        if (patients.length === 0) {
-            tbody.innerHTML = '<tr><td colspan="5" class="loading">No patients found. Add a patient to get started.</td></tr>';
-            return;
-        }
-        
-        tbody.innerHTML = patients.map(patient => `
-            <tr>
-                <td>${patient.id}</td>
-                <td>${patient.name}</td>
-                <td>${patient.age}</td>
-                <td>${patient.gender}</td>
-                <td>
-                    <button class="btn btn-info btn-sm" onclick="showEditPatientForm(${patient.id})">Edit</button>
-                    <button class="btn btn-danger btn-sm" onclick="deletePatient(${patient.id})">Delete</button>
-                </td>
-            </tr>
-        `).join('');
+        renderPatients(patients, 'No patients found. Add a patient to get started.');
     } catch (error) {
         document.getElementById('patients-tbody').innerHTML = 
             '<tr><td colspan="5" class="loading">Error loading patients</td></tr>';
     }
 }
 
+async function searchPatients() {
+    const query = document.getElementById('search-patient-name').value.trim();
+    
+    if (!query) {
+        loadPatients();
+        return;
+    }
+    
+    try {
+        const patients = await apiRequest(`${API_BASE_URL}/patients/search?q=${encodeURIComponent(query)}&limit=50`);
+        renderPatients(patients, 'No patients match that name.');
+    } catch (error) {
+        document.getElementById('patients-tbody').innerHTML = 
+            '<tr><td colspan="5" class="loading">Error searching patients</td></tr>';
+    }
+}
+
+function renderPatients(patients, emptyMessage) {
+    const tbody = document.getElementById('patients-tbody');
+    
+    if (patients.length === 0) {
+        tbody.innerHTML = `<tr><td colspan="5" class="loading">${emptyMessage}</td></tr>`;
+        return;
+    }
+    
+    tbody.innerHTML = patients.map(patient => `
+        <tr>
+            <td>${patient.id}</td>
+            <td>${patient.name}</td>
+            <td>${patient.age}</td>
+            <td>${patient.gender}</td>
+            <td>
+                <button class="btn btn-info btn-sm" onclick="showEditPatientForm(${patient.id})">Edit</button>
+                <button class="btn btn-danger btn-sm" onclick="deletePatient(${patient.id})">Delete</button>
+            </td>
+        </tr>
+    `).join('');
+}
+
 function showAddPatientForm() {
     document.getElementById('add-patient-form').classList.remove('hidden');
     document.getElementById('update-patient-form').classList.add('hidden');
@@ -371,7 +448,7 @@ async function loadAppointments() {
         const tbody = document.getElementById('appointments-tbody');
         
         if (appointments.length === 0) {
-            tbody.innerHTML = '<tr><td colspan="5" class="loading">No appointments found. Book an appointment to get started.</td></tr>';
+            tbody.innerHTML = '<tr><td colspan="6" class="loading">No appointments found. Book an appointment to get started.</td></tr>';
             return;
         }
         
@@ -381,6 +458,7 @@ async function loadAppointments() {
                 <td>${appointment.patientId}</td>
                 <td>${appointment.doctorId}</td>
                 <td>${appointment.appointmentDate}</td>
+                <td>${appointment.startTime || '-'}</td>
                 <td>
                     <button class="btn btn-danger btn-sm" onclick="deleteAppointment(${appointment.id})">Cancel</button>
                 </td>
@@ -388,7 +466,7 @@ async function loadAppointments() {
         `).join('');
     } catch (error) {
         document.getElementById('appointments-tbody').innerHTML = 
-            '<tr><td colspan="5" class="loading">Error loading appointments</td></tr>';
+            '<tr><td colspan="6" class="loading">Error loading appointments</td></tr>';
     }
 }
 
@@ -399,7 +477,7 @@ async function showAddAppointmentForm() {
     try {
         const [patients, doctors] = await Promise.all([
             apiRequest(`${API_BASE_URL}/patients`),
-            apiRequest(`${API_BASE_URL}/doctors`)
+            apiRequest(`${API_BASE_URL}/doctors?available=true`)
         ]);
         
         const patientSelect = document.getElementById('appointment-patient');
@@ -409,8 +487,7 @@ async function showAddAppointmentForm() {
             patients.map(p => `<option value="${p.id}">${p.name} (ID: ${p.id})</option>`).join('');
         
         doctorSelect.innerHTML = '<option value="">Select Doctor</option>' + 
-            doctors.filter(d => d.available)
-                   .map(d => `<option value="${d.id}">${d.name} - ${d.specialization} (ID: ${d.id})</option>`).join('');
+            doctors.map(d => `<option value="${d.id}">${d.name} - ${d.specialization} (ID: ${d.id})</option>`).join('');
     } catch (error) {
         // Error already handled by apiRequest
     }
@@ -421,24 +498,36 @@ function hideAddAppointmentForm() {
     document.getElementById('appointment-patient').value = '';
     document.getElementById('appointment-doctor').value = '';
     document.getElementById('appointment-date').value = '';
+    document.getElementById('appointment-time').value = '';
 }
 
+// Resubmitting the same booking (e.g. after a timeout) reuses its Idempotency-Key
+let pendingBooking = null;
+
 async function addAppointment(event) {
     event.preventDefault();
     
     const appointment = {
         patientId: parseInt(document.getElementById('appointment-patient').value),
         doctorId: parseInt(document.getElementById('appointment-doctor').value),
-        appointmentDate: document.getElementById('appointment-date').value
+        appointmentDate: document.getElementById('appointment-date').value,
+        startTime: document.getElementById('appointment-time').value
     };
     
+    const body = JSON.stringify(appointment);
+    if (!pendingBooking || pendingBooking.body !== body) {
+        pendingBooking = { body, key: crypto.randomUUID() };
+    }
+    
     try {
         await apiRequest(`${API_BASE_URL}/appointments`, {
             method: 'POST',
-            body: JSON.stringify(appointment)
+            headers: { 'Idempotency-Key': pendingBooking.key },
+            body
         });
         
-        showToast('Appointment booked successfully! Notification sent and bill created.', 'success');
+        pendingBooking = null;
+        showToast('Appointment booked successfully! Bill and notification are on their way.', 'success');
         hideAddAppointmentForm();
         loadAppointments();
     } catch (error) {
@@ -590,17 +679,15 @@ async function deleteBill(id) {
 
 async function refreshDashboard() {
     try {
-        const [doctors, patients, appointments] = await Promise.all([
-            apiRequest(`${API_BASE_URL}/doctors`),
+        // Doctor counts are kept current by renderDoctors from the doctor feed
+        refreshDoctorsUnlessStreaming();
+        const [patients, appointmentCount] = await Promise.all([
             apiRequest(`${API_BASE_URL}/patients`),
-            apiRequest(`${API_BASE_URL}/appointments`)
+            apiRequest(`${API_BASE_URL}/appointments/count`)
         ]);
         
-        document.getElementById('total-doctors').textContent = doctors.length;
         document.getElementById('total-patients').textContent = patients.length;
-        document.getElementById('total-appointments').textContent = appointments.length;
-        document.getElementById('available-doctors').textContent = 
-            doctors.filter(d => d.available).length;
+        document.getElementById('total-appointments').textContent = appointmentCount;
         
         showToast('Dashboard refreshed!', 'info');
     } catch (error) {
@@ -614,8 +701,8 @@ async function refreshDashboard() {
 
 window.addEventListener('DOMContentLoaded', () => {
     // Load initial data
-    loadDoctors();
     refreshDashboard();
+    subscribeToDoctors();
     
     // Set minimum date for appointments to today
     const today = new Date().toISOString().split('T')[0];
@@ -1,8 +1,11 @@
 package com.clinic.notificationservice.controller;
 
+import java.util.List;
+
 import org.springframework.web.bind.annotation.*;
 
 import com.clinic.notificationservice.model.Notification;
+import com.clinic.notificationservice.model.NotificationResult;
 import com.clinic.notificationservice.service.NotificationService;
 
 @RestController
@@ -19,4 +22,10 @@ public class NotificationController {
     public void sendNotification(@RequestBody Notification notification) {
         service.send(notification);
     }
+
+    // One result per notification, in request order; callers retry only the ones not sent
+    @PostMapping("/batch")
+    public List<NotificationResult> sendNotifications(@RequestBody List<Notification> notifications) {
+        return service.sendAll(notifications);
+    }
 }
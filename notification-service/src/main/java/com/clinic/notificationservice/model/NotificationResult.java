@@ -0,0 +1,43 @@
+package com.clinic.notificationservice.model;
+
+/**
+ * Outcome of one notification in a batch, by its position in the request.
+ */
+public class NotificationResult {
+
+    private int index;
+    private boolean sent;
+    private String error;
+
+    public NotificationResult() {}
+
+    public NotificationResult(int index, boolean sent, String error) {
+        this.index = index;
+        this.sent = sent;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSent() {
+        return sent;
+    }
+
+    public void setSent(boolean sent) {
+        this.sent = sent;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
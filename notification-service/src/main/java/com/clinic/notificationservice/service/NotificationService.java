@@ -1,12 +1,23 @@
 package com.clinic.notificationservice.service;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
 import org.springframework.stereotype.Service;
 
 import com.clinic.notificationservice.model.Notification;
+import com.clinic.notificationservice.model.NotificationResult;
+
+import jakarta.mail.internet.MimeMessage;
 
 @Service
 public class NotificationService {
@@ -25,13 +36,61 @@ public class NotificationService {
 
     public void send(Notification notification) {
 
+        mailSender.send(toMail(notification));
+
+        log.info("📧 Email sent to patient at {}", DEMO_EMAIL);
+    }
+
+    // One SMTP session for the whole batch instead of one per email. A message that fails
+    // does not stop the rest, and each one's outcome is returned so only failures are retried.
+    public List<NotificationResult> sendAll(List<Notification> notifications) {
+
+        MimeMessage[] mails = notifications.stream()
+                .map(this::toMime)
+                .toArray(MimeMessage[]::new);
+
+        // MimeMessage compares by identity, so each failure maps back to exactly one position
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(mails);
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                failAll(mails, failures, e);
+            }
+        } catch (MailException e) {
+            failAll(mails, failures, e);
+        }
+
+        List<NotificationResult> results = new ArrayList<>(mails.length);
+        for (int i = 0; i < mails.length; i++) {
+            Exception failure = failures.get(mails[i]);
+            results.add(new NotificationResult(i, failure == null,
+                    failure == null ? null : String.valueOf(failure.getMessage())));
+        }
+
+        log.info("📧 {} of {} emails sent to patient at {}",
+                mails.length - failures.size(), mails.length, DEMO_EMAIL);
+        return results;
+    }
+
+    private static void failAll(MimeMessage[] mails, Map<Object, Exception> failures, Exception e) {
+        for (MimeMessage mail : mails) {
+            failures.put(mail, e);
+        }
+    }
+
+    private MimeMessage toMime(Notification notification) {
+        MimeMessage mime = mailSender.createMimeMessage();
+        toMail(notification).copyTo(new MimeMailMessage(mime));
+        return mime;
+    }
+
+    private SimpleMailMessage toMail(Notification notification) {
         SimpleMailMessage mail = new SimpleMailMessage();
         mail.setTo(DEMO_EMAIL);   // STATIC EMAIL
         mail.setSubject("Clinic Appointment Notification");
         mail.setText(notification.getMessage());
-
-        mailSender.send(mail);
-
-        log.info("📧 Email sent to patient at {}", DEMO_EMAIL);
+        return mail;
     }
 }
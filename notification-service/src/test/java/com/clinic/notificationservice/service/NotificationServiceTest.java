@@ -0,0 +1,96 @@
+package com.clinic.notificationservice.service;
+
+import com.clinic.notificationservice.model.Notification;
+import com.clinic.notificationservice.model.NotificationResult;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationService
+ * Tests batch sending and per-message delivery results
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Notification Service Tests")
+class NotificationServiceTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    private final List<Notification> batch = List.of(
+            new Notification("Appointment booked", "patient"),
+            new Notification("Appointment booked", "patient"),
+            new Notification("Appointment cancelled", "patient"));
+
+    @BeforeEach
+    void setUp() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+    }
+
+    @Test
+    @DisplayName("Should send the whole batch in one call and report every message as sent")
+    void testSendAll() {
+        // When
+        List<NotificationResult> results = notificationService.sendAll(batch);
+
+        // Then
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(NotificationResult::isSent));
+    }
+
+    @Test
+    @DisplayName("Should report only the message the server rejected, even among identical ones")
+    void testSendAll_PartialFailure() {
+        // Given
+        doAnswer(invocation -> {
+            MimeMessage[] mails = (MimeMessage[]) invocation.getRawArguments()[0];
+            throw new MailSendException(Map.of(mails[1], new MessagingException("Mailbox full")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        // When
+        List<NotificationResult> results = notificationService.sendAll(batch);
+
+        // Then
+        assertTrue(results.get(0).isSent());
+        assertFalse(results.get(1).isSent());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals("Mailbox full", results.get(1).getError());
+        assertTrue(results.get(2).isSent());
+    }
+
+    @Test
+    @DisplayName("Should report every message as failed when the session cannot be opened")
+    void testSendAll_SessionFailure() {
+        // Given
+        doThrow(new MailAuthenticationException("Bad credentials"))
+                .when(mailSender).send(any(MimeMessage[].class));
+
+        // When
+        List<NotificationResult> results = notificationService.sendAll(batch);
+
+        // Then
+        assertTrue(results.stream().noneMatch(NotificationResult::isSent));
+        assertEquals("Bad credentials", results.get(2).getError());
+    }
+}
@@ -0,0 +1,60 @@
+package com.clinic.patientservice.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.clinic.patientservice.entity.Patient;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Hibernate second-level cache for Patient rows, held in a Caffeine JCache
+ * region sized and expired from clinic.entity-cache.patients. The region is
+ * READ_WRITE, so Hibernate updates or evicts an entry in the same
+ * transaction that changes the row. Hits, misses, puts, removals and
+ * evictions are published as cache.* metrics tagged cache=patients.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(
+            @Value("${clinic.entity-cache.patients.maximum-size:10000}") long maximumSize,
+            @Value("${clinic.entity-cache.patients.expire-after-write:10m}") Duration expireAfterWrite) {
+        // A private manager, so regions never leak between application contexts
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("patient-service-entities"), getClass().getClassLoader());
+
+        CaffeineConfiguration<Object, Object> region = new CaffeineConfiguration<>();
+        region.setMaximumSize(OptionalLong.of(maximumSize));
+        region.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        region.setStatisticsEnabled(true);
+        cacheManager.createCache(Patient.CACHE_REGION, region);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return (MeterRegistry registry) -> JCacheMetrics.monitor(
+                registry, entityCacheManager.getCache(Patient.CACHE_REGION));
+    }
+}
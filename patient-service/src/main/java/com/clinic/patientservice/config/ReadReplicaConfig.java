@@ -0,0 +1,85 @@
+package com.clinic.patientservice.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Splits the data source into a primary pool (spring.datasource) and a
+ * replica pool (clinic.datasource.replica) when a replica URL is set.
+ * Read-only transactions of {@link ReplicaRead} handlers use the replica;
+ * without the URL this class is skipped and Spring Boot's single data
+ * source is used as before.
+ * Copied from appointment-service; see ReplicaRoutingDataSource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "clinic.datasource.replica", name = "url")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            @Value("${clinic.datasource.replica.url}") String url,
+            @Value("${clinic.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${clinic.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${clinic.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        // Start even if the replica is down; reads fall back to the primary meanwhile
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${clinic.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${clinic.datasource.replica.lag-check-interval:5s}") Duration checkInterval,
+            @Value("${clinic.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${clinic.datasource.replica.lag-column:Seconds_Behind_Source}") String lagColumn) {
+        return new ReplicaRoutingDataSource(primary, replica, maxLag, checkInterval, lagQuery, lagColumn);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReplicaReadInterceptor());
+    }
+}
@@ -0,0 +1,18 @@
+package com.clinic.patientservice.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the read-only transactions of a handler method use the read
+ * replica. Only put it on endpoints that can answer from slightly stale
+ * data; every other handler, and anything it calls, reads from the primary.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
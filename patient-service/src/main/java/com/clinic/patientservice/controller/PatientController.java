@@ -1,56 +1,259 @@
 package com.clinic.patientservice.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.clinic.patientservice.config.ReplicaRead;
 import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.event.PatientChangePublisher;
+import com.clinic.patientservice.exception.InvalidPatchException;
+import com.clinic.patientservice.exception.PreconditionFailedException;
+import com.clinic.patientservice.model.PatientPatch;
+import com.clinic.patientservice.model.PatientImportResult;
+import com.clinic.patientservice.model.PatientSummary;
+import com.clinic.patientservice.model.SparseFields;
 import com.clinic.patientservice.repository.PatientRepository;
+import com.clinic.patientservice.search.PatientNameIndex;
+import com.clinic.patientservice.service.PatientTransferService;
 
 @RestController
 @RequestMapping("/patients")
 public class PatientController {
 
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final PatientRepository repo;
+    private final PatientChangePublisher changes;
+    private final PatientNameIndex nameIndex;
+    private final PatientTransferService transfer;
+    private final TransactionTemplate tx;
 
-    public PatientController(PatientRepository repo) {
+    public PatientController(PatientRepository repo,
+                             PatientChangePublisher changes,
+                             PatientNameIndex nameIndex,
+                             PatientTransferService transfer,
+                             TransactionTemplate tx) {
         this.repo = repo;
+        this.changes = changes;
+        this.nameIndex = nameIndex;
+        this.transfer = transfer;
+        this.tx = tx;
     }
 
     // CREATE
     @PostMapping
     public Patient addPatient(@RequestBody Patient patient) {
-        return repo.save(patient);
+        Patient saved = repo.save(patient);
+        nameIndex.put(saved);
+        return saved;
+    }
+
+    // CREATE MANY (NDJSON, streamed and inserted in JDBC batches)
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public PatientImportResult importNdjson(InputStream body) throws IOException {
+        return transfer.importNdjson(body);
+    }
+
+    // CREATE MANY (CSV with a header row naming the columns)
+    @PostMapping(value = "/import", consumes = CSV)
+    public PatientImportResult importCsv(InputStream body) throws IOException {
+        return transfer.importCsv(body);
+    }
+
+    // READ ALL as NDJSON, or CSV when the client accepts text/csv, streamed from a JDBC cursor
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean csv = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(type -> type.getType().equals("text") && type.getSubtype().equals("csv"));
+        StreamingResponseBody body = csv ? transfer::exportCsv : transfer::exportNdjson;
+        return ResponseEntity.ok().header(HttpHeaders.CONTENT_TYPE, csv ? CSV : NDJSON).body(body);
     }
 
-    // READ ALL
+    // READ ALL (list DTOs, not entities; fields=id,name trims each object to those properties)
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @GetMapping
-    public List<Patient> getAllPatients() {
-        return repo.findAll();
+    public MappingJacksonValue getAllPatients(@RequestParam(required = false) String fields) {
+        Set<String> selected = SparseFields.parse(fields, PatientSummary.FIELDS);
+        return SparseFields.filter(repo.findAllSummaries(), selected);
+    }
+
+    // READ MANY BY ID
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    @GetMapping(params = "ids")
+    public MappingJacksonValue getPatientsByIds(@RequestParam List<Long> ids,
+                                                @RequestParam(required = false) String fields) {
+        Set<String> selected = SparseFields.parse(fields, PatientSummary.FIELDS);
+        return SparseFields.filter(repo.findSummariesByIdIn(ids), selected);
+    }
+
+    // SEARCH BY NAME
+    @GetMapping("/search")
+    public List<Patient> searchPatients(@RequestParam String q,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        return nameIndex.search(q, Math.min(limit, MAX_SEARCH_RESULTS));
     }
 
     // READ ONE
+    @ReplicaRead
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
-    public Patient getPatient(@PathVariable Long id) {
-        return repo.findById(id)
+    public ResponseEntity<Patient> getPatient(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Revalidation only needs the version column, not the whole row
+        if (ifNoneMatch != null) {
+            long version = repo.findVersionById(id)
+                    .orElseThrow(() -> new RuntimeException("Patient not found"));
+            if (matches(ifNoneMatch, version, true)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+            }
+        }
+
+        Patient patient = repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Patient not found"));
+        return ResponseEntity.ok().eTag(eTag(patient.getVersion())).body(patient);
     }
 
     // UPDATE
     @PutMapping("/{id}")
-    public Patient updatePatient(@PathVariable Long id, @RequestBody Patient updated) {
+    public ResponseEntity<Patient> updatePatient(@PathVariable Long id, @RequestBody Patient updated,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Patient patient = repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Patient not found"));
+        if (ifMatch != null && !matches(ifMatch, patient.getVersion(), false)) {
+            throw new PreconditionFailedException("Patient " + id + " has changed; current ETag is " + eTag(patient.getVersion()));
+        }
 
         patient.setName(updated.getName());
         patient.setAge(updated.getAge());
         patient.setGender(updated.getGender());
 
-        return repo.save(patient);
+        Patient saved = repo.save(patient);
+        nameIndex.put(saved);
+        changes.patientChanged(id);
+        return ResponseEntity.ok().eTag(eTag(saved.getVersion())).body(saved);
+    }
+
+    // UPDATE SOME FIELDS (one UPDATE of the supplied columns, no read first; the row is read back for the index)
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchPatient(@PathVariable Long id, @RequestBody PatientPatch patch,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (patch.isEmpty()) {
+            throw new InvalidPatchException("No fields to update");
+        }
+        if (patch.getName() != null && patch.getName().isBlank()) {
+            throw new InvalidPatchException("name must not be blank");
+        }
+        if (patch.getAge() != null && (patch.getAge() < 0 || patch.getAge() > 150)) {
+            throw new InvalidPatchException("age must be between 0 and 150");
+        }
+        Long expectedVersion = expectedVersion(id, ifMatch);
+
+        // Read back in the same transaction, so the index gets exactly the row and version this patch wrote
+        PatientSummary patched = tx.execute(status -> {
+            if (repo.patch(id, patch, expectedVersion) == 0) {
+                // Only failures pay for a second query, to tell a missing patient from a stale one
+                long version = repo.findVersionById(id)
+                        .orElseThrow(() -> new RuntimeException("Patient not found"));
+                throw new PreconditionFailedException("Patient " + id + " has changed; current ETag is " + eTag(version));
+            }
+            return repo.findSummaryById(id)
+                    .orElseThrow(() -> new RuntimeException("Patient not found"));
+        });
+        nameIndex.put(patched);
+        changes.patientChanged(id);
+        return ResponseEntity.noContent().eTag(eTag(patched.version())).build();
     }
 
-    // DELETE
     @DeleteMapping("/{id}")
     public void deletePatient(@PathVariable Long id) {
         repo.deleteById(id);
+        nameIndex.remove(id);
+        changes.patientChanged(id);
+    }
+
+    /**
+     * The version the conditional update must find, or null for no If-Match
+     * or "*". A list naming several versions is checked against the current
+     * one, which the update then still requires.
+     */
+    private Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<String> tags = tags(ifMatch);
+        if (tags.contains("*")) {
+            return null;
+        }
+        if (tags.size() == 1 && version(tags.get(0)) != null) {
+            return version(tags.get(0));
+        }
+        long version = repo.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Patient not found"));
+        if (!matches(ifMatch, version, false)) {
+            throw new PreconditionFailedException("Patient " + id + " has changed; current ETag is " + eTag(version));
+        }
+        return version;
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * True when any tag in an If-Match / If-None-Match list names this
+     * version. If-None-Match uses the weak comparison, which ignores a W/
+     * prefix; If-Match uses the strong one, which no weak tag ever passes
+     * (RFC 9110 section 13.1.1).
+     */
+    private static boolean matches(String header, long version, boolean weak) {
+        String current = eTag(version);
+        for (String tag : tags(header)) {
+            if (weak && tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The entity tags of a header list, as sent
+    private static List<String> tags(String header) {
+        List<String> tags = new ArrayList<>();
+        for (String tag : header.split(",")) {
+            tags.add(tag.trim());
+        }
+        return tags;
+    }
+
+    // The version a tag names, or null when it is not one of ours
+    private static Long version(String tag) {
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
@@ -1,11 +1,28 @@
 package com.clinic.patientservice.entity;
 
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "patient")
+@Table(name = "patient",
+       indexes = @Index(name = "idx_patient_updated", columnList = "updatedAt"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Patient.CACHE_REGION)
+@DynamicUpdate
 public class Patient {
 
+    public static final String CACHE_REGION = "patients";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -14,15 +31,31 @@ public class Patient {
     private int age;
     private String gender;
 
+    // Bumped on every update; sent as the ETag and checked against If-Match
+    @Version
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    // Database time of the last insert or update, so every instance stamps on the same clock;
+    // the name index refresh reads only rows stamped since its last run
+    @UpdateTimestamp(source = SourceType.DB)
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
     public Patient() {}
 
     public Long getId() { return id; }
     public String getName() { return name; }
     public int getAge() { return age; }
     public String getGender() { return gender; }
+    public long getVersion() { return version; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
 
     public void setId(Long id) { this.id = id; }
     public void setName(String name) { this.name = name; }
     public void setAge(int age) { this.age = age; }
     public void setGender(String gender) { this.gender = gender; }
+    public void setVersion(long version) { this.version = version; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
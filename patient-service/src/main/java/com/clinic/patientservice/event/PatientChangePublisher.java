@@ -0,0 +1,51 @@
+package com.clinic.patientservice.event;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tells every appointment-service instance that a patient record changed so
+ * its cached copy is dropped. Delivery is best effort and off the request
+ * thread; appointment-service also expires entries on its own.
+ */
+@Component
+public class PatientChangePublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientChangePublisher.class);
+
+    private final DiscoveryClient discoveryClient;
+    // Not load-balanced: each instance holds its own cache, so all of them are called
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PatientChangePublisher(DiscoveryClient discoveryClient) {
+        this.discoveryClient = discoveryClient;
+    }
+
+    public void patientChanged(Long id) {
+        executor.execute(() -> {
+            for (ServiceInstance instance : discoveryClient.getInstances("APPOINTMENT-SERVICE")) {
+                try {
+                    restTemplate.delete(instance.getUri() + "/cache/patients/" + id);
+                } catch (RestClientException e) {
+                    log.warn("Could not evict patient {} on {}: {}", id, instance.getUri(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.clinic.patientservice.exception;
+
+/**
+ * A fields= parameter naming a property the list does not have.
+ */
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
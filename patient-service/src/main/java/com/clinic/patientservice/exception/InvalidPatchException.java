@@ -0,0 +1,11 @@
+package com.clinic.patientservice.exception;
+
+/**
+ * A PATCH body that changes nothing or sets a field to an unusable value.
+ */
+public class InvalidPatchException extends RuntimeException {
+
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.clinic.patientservice.exception;
+
+/**
+ * An If-Match header named a version of the patient that is no longer current.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
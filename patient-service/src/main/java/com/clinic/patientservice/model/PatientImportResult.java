@@ -0,0 +1,36 @@
+package com.clinic.patientservice.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PatientImportResult {
+
+    private long imported;
+    private long rejectedCount;
+    // Only the first few rejections are listed, so huge files cannot blow up the response
+    private List<RejectedPatient> rejected = new ArrayList<>();
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public List<RejectedPatient> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<RejectedPatient> rejected) {
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,41 @@
+package com.clinic.patientservice.model;
+
+/**
+ * Fields to change on a patient; a null field is left as it is.
+ */
+public class PatientPatch {
+
+    private String name;
+    private Integer age;
+    private String gender;
+
+    public PatientPatch() {}
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public boolean isEmpty() {
+        return name == null && age == null && gender == null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.clinic.patientservice.model;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * A patient as listed: built straight from a constructor-expression query,
+ * so list reads never create managed entities, dirty-checking snapshots
+ * or second-level cache entries.
+ */
+@JsonFilter(SparseFields.FILTER)
+public record PatientSummary(Long id, String name, int age, String gender, long version) {
+
+    public static final Set<String> FIELDS = SparseFields.of(PatientSummary.class);
+}
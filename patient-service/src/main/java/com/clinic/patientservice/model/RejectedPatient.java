@@ -0,0 +1,30 @@
+package com.clinic.patientservice.model;
+
+public class RejectedPatient {
+
+    private long line;
+    private String reason;
+
+    public RejectedPatient() {}
+
+    public RejectedPatient(long line, String reason) {
+        this.line = line;
+        this.reason = reason;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
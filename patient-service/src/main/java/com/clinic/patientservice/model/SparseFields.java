@@ -0,0 +1,65 @@
+package com.clinic.patientservice.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.clinic.patientservice.exception.InvalidFieldsException;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * The fields= parameter of list endpoints: a comma-separated subset of a
+ * list DTO's properties. DTOs carrying {@code @JsonFilter(SparseFields.FILTER)}
+ * are written through a filter that keeps only those properties; without
+ * the parameter every property is written.
+ * Copied from appointment-service.
+ */
+public final class SparseFields {
+
+    public static final String FILTER = "fields";
+
+    private static final FilterProvider ALL = new SimpleFilterProvider()
+            .addFilter(FILTER, SimpleBeanPropertyFilter.serializeAll());
+
+    private SparseFields() {}
+
+    /**
+     * The requested property names, or null when the parameter is absent or blank.
+     */
+    public static Set<String> parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new InvalidFieldsException("Unknown field '" + name + "'; expected any of " + allowed);
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? null : selected;
+    }
+
+    public static MappingJacksonValue filter(Object body, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(fields == null ? ALL : new SimpleFilterProvider()
+                .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
+    }
+
+    // Property names of a list DTO record, in declaration order
+    public static Set<String> of(Class<? extends Record> type) {
+        Set<String> names = new LinkedHashSet<>();
+        Arrays.stream(type.getRecordComponents()).forEach(component -> names.add(component.getName()));
+        return Collections.unmodifiableSet(names);
+    }
+}
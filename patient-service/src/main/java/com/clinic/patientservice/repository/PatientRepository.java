@@ -1,7 +1,47 @@
 package com.clinic.patientservice.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.model.PatientSummary;
+
+public interface PatientRepository extends JpaRepository<Patient, Long>, PatientRepositoryCustom {
+
+    @Query("select p.version from Patient p where p.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("select new com.clinic.patientservice.model.PatientSummary(p.id, p.name, p.age, p.gender, p.version) "
+            + "from Patient p where p.id = :id")
+    Optional<PatientSummary> findSummaryById(Long id);
+
+    @Query("select new com.clinic.patientservice.model.PatientSummary(p.id, p.name, p.age, p.gender, p.version) "
+            + "from Patient p order by p.id")
+    List<PatientSummary> findAllSummaries();
+
+    @Query("select new com.clinic.patientservice.model.PatientSummary(p.id, p.name, p.age, p.gender, p.version) "
+            + "from Patient p where p.id > :afterId order by p.id")
+    List<PatientSummary> findSummariesAfter(Long afterId, Limit limit);
+
+    @Query("select new com.clinic.patientservice.model.PatientSummary(p.id, p.name, p.age, p.gender, p.version) "
+            + "from Patient p where p.updatedAt >= :since and p.id > :afterId order by p.id")
+    List<PatientSummary> findSummariesUpdatedSince(LocalDateTime since, Long afterId, Limit limit);
+
+    @Query("select max(p.updatedAt) from Patient p")
+    Optional<LocalDateTime> findLastUpdate();
+
+    @Query("select p.id from Patient p where p.id > :afterId order by p.id")
+    List<Long> findIdsAfter(Long afterId, Limit limit);
+
+    @Query("select p.id from Patient p where p.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
 
-public interface PatientRepository extends JpaRepository<Patient, Long> {
+    @Query("select new com.clinic.patientservice.model.PatientSummary(p.id, p.name, p.age, p.gender, p.version) "
+            + "from Patient p where p.id in :ids order by p.id")
+    List<PatientSummary> findSummariesByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,34 @@
+package com.clinic.patientservice.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.model.PatientPatch;
+
+public interface PatientRepositoryCustom {
+
+    /**
+     * Inserts all patients as one JDBC batch and assigns their generated ids.
+     */
+    List<Patient> insertAll(List<Patient> patients);
+
+    /**
+     * Walks every patient in id order through a forward-only JDBC cursor,
+     * handing each one to the consumer without holding the result set in memory.
+     * Opens its own read-only transaction, because exports stream after the
+     * controller method has returned; it reads from the replica when run
+     * inside ReplicaRoutingDataSource.readFromReplica.
+     */
+    @Transactional(readOnly = true)
+    void streamAll(Consumer<Patient> consumer);
+
+    /**
+     * Applies the supplied fields and bumps the version in one UPDATE, without
+     * reading the row first. With an expected version the row only changes if
+     * it still has that version. Returns the number of rows changed (0 or 1).
+     */
+    int patch(Long id, PatientPatch patch, Long expectedVersion);
+}
@@ -0,0 +1,138 @@
+package com.clinic.patientservice.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.model.PatientPatch;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * JDBC paths for bulk transfer, which JPA handles poorly: Hibernate cannot
+ * batch IDENTITY inserts, and a JPA query hydrates its whole result list.
+ * With rewriteBatchedStatements on the MySQL URL a batch becomes a single
+ * multi-row INSERT; with useCursorFetch a positive fetch size makes the
+ * streaming read a server-side cursor. Patches also go straight to JDBC:
+ * a Hibernate bulk update would invalidate the whole second-level cache
+ * region, where here only the patched row is evicted, once the update
+ * has committed.
+ */
+public class PatientRepositoryImpl implements PatientRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "insert into patient (name, age, gender, version, updated_at) values (?, ?, ?, 0, current_timestamp)";
+
+    private static final String SELECT_SQL =
+            "select id, name, age, gender, version from patient order by id";
+
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate streamingJdbc;
+    private final Cache entityCache;
+
+    public PatientRepositoryImpl(JdbcTemplate jdbc,
+                                 EntityManagerFactory entityManagerFactory,
+                                 @Value("${clinic.patients.export.fetch-size:500}") int streamFetchSize) {
+        this.jdbc = jdbc;
+        this.entityCache = entityManagerFactory.getCache();
+        this.streamingJdbc = new JdbcTemplate(jdbc.getDataSource());
+        this.streamingJdbc.setFetchSize(streamFetchSize);
+    }
+
+    @Override
+    public List<Patient> insertAll(List<Patient> patients) {
+        return jdbc.execute((ConnectionCallback<List<Patient>>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Patient patient : patients) {
+                    ps.setString(1, patient.getName());
+                    ps.setInt(2, patient.getAge());
+                    ps.setString(3, patient.getGender());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next()) {
+                        patients.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return patients;
+        });
+    }
+
+    @Override
+    public void streamAll(Consumer<Patient> consumer) {
+        streamingJdbc.query(SELECT_SQL, (RowCallbackHandler) rs -> consumer.accept(map(rs)));
+    }
+
+    @Override
+    public int patch(Long id, PatientPatch patch, Long expectedVersion) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (patch.getName() != null) {
+            assignments.add("name = ?");
+            args.add(patch.getName());
+        }
+        if (patch.getAge() != null) {
+            assignments.add("age = ?");
+            args.add(patch.getAge());
+        }
+        if (patch.getGender() != null) {
+            assignments.add("gender = ?");
+            args.add(patch.getGender());
+        }
+        assignments.add("version = version + 1");
+        assignments.add("updated_at = current_timestamp");
+
+        String sql = "update patient set " + String.join(", ", assignments) + " where id = ?";
+        args.add(id);
+        if (expectedVersion != null) {
+            sql += " and version = ?";
+            args.add(expectedVersion);
+        }
+        int updated = jdbc.update(sql, args.toArray());
+        if (updated > 0) {
+            evictAfterCommit(id);
+        }
+        return updated;
+    }
+
+    // Evicting before commit would let a concurrent load put the old row back until the next write
+    private void evictAfterCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityCache.evict(Patient.class, id);
+                }
+            });
+        } else {
+            entityCache.evict(Patient.class, id);
+        }
+    }
+
+    private static Patient map(ResultSet rs) throws SQLException {
+        Patient patient = new Patient();
+        patient.setId(rs.getLong("id"));
+        patient.setName(rs.getString("name"));
+        patient.setAge(rs.getInt("age"));
+        patient.setGender(rs.getString("gender"));
+        patient.setVersion(rs.getLong("version"));
+        return patient;
+    }
+}
@@ -0,0 +1,435 @@
+package com.clinic.patientservice.search;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.model.PatientSummary;
+import com.clinic.patientservice.repository.PatientRepository;
+
+/**
+ * In-memory name index so patients can be searched without scanning the
+ * patient table. Name tokens sit in a sorted map, so a prefix query is a
+ * range lookup; when no name matches that way, a trigram index supplies
+ * typo-tolerant matches. Each instance applies its own writes at once and
+ * picks up writes made through other instances with a periodic refresh
+ * driven by the patient's updated_at column.
+ * Entries carry the row version, so a write that arrives late never
+ * replaces a newer copy.
+ */
+@Component
+public class PatientNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientNameIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_PAGE = 5000;
+    // Re-read window behind the watermark, for transactions that commit after a later one
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+    // Dice coefficient below which a fuzzy match is not worth showing
+    private static final double MIN_SIMILARITY = 0.3;
+    // Most names scored per query, so a one-letter query or a common trigram stays cheap
+    private static final int MAX_CANDIDATES = 1000;
+
+    // Trigrams are kept so neither scoring nor unlinking has to recompute them
+    private record Entry(Patient patient, String name, String[] tokens, Set<String> trigrams) {}
+
+    private record Match(Entry entry, double score) {}
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingDouble(Match::score)
+            .thenComparing(match -> -match.entry().name().length())
+            .thenComparing(match -> -match.entry().patient().getId());
+
+    private final PatientRepository repo;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> tokens = new TreeMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+    // Deleted ids, so a refresh that read the row just before the delete cannot bring it back
+    private final Set<Long> deleted = new HashSet<>();
+    // Latest updated_at the last refresh saw; null until the first full load
+    private volatile LocalDateTime watermark;
+
+    public PatientNameIndex(PatientRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Brings the index in line with the patient table. The first run loads
+     * every patient; later runs read only rows updated since the last one
+     * (less an overlap for transactions that committed late), and walk the
+     * ids for deletions only when the row count and the index disagree.
+     * Rows no newer than the indexed copy are skipped before anything is
+     * built for them. Deleted ids that are gone from the table are then
+     * forgotten, since no later read can return them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${clinic.patients.index-refresh:PT30S}",
+               initialDelayString = "${clinic.patients.index-refresh:PT30S}")
+    public void refresh() {
+        Set<Long> tombstones;
+        lock.readLock().lock();
+        try {
+            tombstones = new HashSet<>(deleted);
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Read before the scan, so a row updated during it is read again next time
+        LocalDateTime high = repo.findLastUpdate().orElse(null);
+        LocalDateTime since = watermark == null ? null : watermark.minus(REFRESH_OVERLAP);
+
+        long afterId = 0;
+        int changed = 0;
+        List<PatientSummary> page;
+        do {
+            page = since == null
+                    ? repo.findSummariesAfter(afterId, Limit.of(REBUILD_PAGE))
+                    : repo.findSummariesUpdatedSince(since, afterId, Limit.of(REBUILD_PAGE));
+            for (PatientSummary row : page) {
+                if (put(row)) {
+                    changed++;
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == REBUILD_PAGE);
+        if (high != null) {
+            watermark = high;
+        }
+
+        int removed = repo.count() == size() ? 0 : reconcile();
+        if (!tombstones.isEmpty()) {
+            tombstones.removeAll(repo.findExistingIds(tombstones));
+            forget(tombstones);
+        }
+        log.debug("Patient name index refreshed: {} changed, {} removed", changed, removed);
+    }
+
+    /**
+     * Walks the patient ids to drop patients deleted through other
+     * instances and load any row the update scan cannot see (one never
+     * stamped with updated_at). Returns the number of patients dropped.
+     */
+    private int reconcile() {
+        // Ids indexed before the walk; anything added after it was committed after it too
+        Set<Long> gone;
+        lock.readLock().lock();
+        try {
+            gone = new HashSet<>(entries.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> missing = new ArrayList<>();
+        long afterId = 0;
+        List<Long> page;
+        do {
+            page = repo.findIdsAfter(afterId, Limit.of(REBUILD_PAGE));
+            for (Long id : page) {
+                if (!gone.remove(id)) {
+                    missing.add(id);
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1);
+            }
+        } while (page.size() == REBUILD_PAGE);
+
+        gone.forEach(this::remove);
+        for (int from = 0; from < missing.size(); from += REBUILD_PAGE) {
+            repo.findSummariesByIdIn(missing.subList(from, Math.min(from + REBUILD_PAGE, missing.size())))
+                    .forEach(this::put);
+        }
+        return gone.size();
+    }
+
+    public void put(Patient patient) {
+        put(new PatientSummary(patient.getId(), patient.getName(), patient.getAge(), patient.getGender(),
+                patient.getVersion()));
+    }
+
+    // False when the index already has this version or a newer one
+    public boolean put(PatientSummary row) {
+        lock.readLock().lock();
+        try {
+            if (stale(row)) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Patient copy = new Patient();
+        copy.setId(row.id());
+        copy.setName(row.name());
+        copy.setAge(row.age());
+        copy.setGender(row.gender());
+        copy.setVersion(row.version());
+        String name = normalize(row.name());
+        Entry entry = new Entry(copy, name, tokenize(name), trigrams(name));
+
+        lock.writeLock().lock();
+        try {
+            // Checked again: another write may have landed while the entry was built
+            if (stale(row)) {
+                return false;
+            }
+            Entry previous = entries.put(copy.getId(), entry);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (String token : entry.tokens()) {
+                tokens.computeIfAbsent(token, key -> new HashSet<>()).add(copy.getId());
+            }
+            for (String trigram : entry.trigrams()) {
+                trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(copy.getId());
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // True when the row is deleted, or the index already holds this version or a newer one; call under the lock
+    private boolean stale(PatientSummary row) {
+        if (deleted.contains(row.id())) {
+            return true;
+        }
+        Entry previous = entries.get(row.id());
+        if (previous == null) {
+            return false;
+        }
+        Patient indexed = previous.patient();
+        return indexed.getVersion() > row.version()
+                || indexed.getVersion() == row.version() && indexed.getAge() == row.age()
+                        && Objects.equals(indexed.getName(), row.name())
+                        && Objects.equals(indexed.getGender(), row.gender());
+    }
+
+    private void forget(Set<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            deleted.removeAll(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            deleted.add(id);
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} patients, best first. Every query word must start
+     * a word of the name; exact words and shorter names rank higher. Falls
+     * back to trigram similarity when no name matches that way.
+     */
+    public List<Patient> search(String query, int limit) {
+        String normalized = normalize(query);
+        String[] words = tokenize(normalized);
+        if (words.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING);
+            for (Long id : prefixCandidates(words)) {
+                Entry entry = entries.get(id);
+                double score = prefixScore(entry, words, normalized);
+                if (score > 0) {
+                    offer(best, new Match(entry, score), limit);
+                }
+            }
+            if (best.isEmpty()) {
+                fuzzyMatches(normalized, best, limit);
+            }
+
+            List<Patient> results = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                results.add(best.poll().entry().patient());
+            }
+            return results.reversed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to MAX_CANDIDATES ids whose name has a word starting with the most
+     * selective query word. Postings are read in token order, so names with
+     * the word itself come before names where it is only a prefix.
+     */
+    private Set<Long> prefixCandidates(String[] words) {
+        Collection<Set<Long>> smallest = null;
+        int smallestSize = Integer.MAX_VALUE;
+        for (String word : words) {
+            Collection<Set<Long>> postings = tokens.subMap(word, true, word + Character.MAX_VALUE, false).values();
+            int size = 0;
+            for (Set<Long> posting : postings) {
+                size += posting.size();
+            }
+            if (size < smallestSize) {
+                smallest = postings;
+                smallestSize = size;
+            }
+            if (size == 0) {
+                return Set.of();
+            }
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (Set<Long> posting : smallest) {
+            for (Long id : posting) {
+                ids.add(id);
+                if (ids.size() == MAX_CANDIDATES) {
+                    return ids;
+                }
+            }
+        }
+        return ids;
+    }
+
+    // 0 when some query word starts no name word; otherwise 1-2 per word plus 1 if the name starts with the query
+    private static double prefixScore(Entry entry, String[] words, String query) {
+        double score = 0;
+        for (String word : words) {
+            double best = 0;
+            for (String token : entry.tokens()) {
+                if (token.equals(word)) {
+                    best = 2;
+                    break;
+                }
+                if (token.startsWith(word)) {
+                    best = 1;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return entry.name().startsWith(query) ? score + 1 : score;
+    }
+
+    private void fuzzyMatches(String query, PriorityQueue<Match> best, int limit) {
+        Set<String> queryTrigrams = trigrams(query);
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<Long> posting = trigrams.get(trigram);
+            if (posting != null) {
+                for (Long id : posting) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+        Stream<Map.Entry<Long, Integer>> candidates = shared.entrySet().stream();
+        if (shared.size() > MAX_CANDIDATES) {
+            // Only the names sharing the most trigrams are scored
+            candidates = candidates
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                    .limit(MAX_CANDIDATES);
+        }
+        candidates.forEach(candidate -> {
+            Entry entry = entries.get(candidate.getKey());
+            double similarity = 2.0 * candidate.getValue() / (queryTrigrams.size() + entry.trigrams().size());
+            if (similarity >= MIN_SIMILARITY) {
+                offer(best, new Match(entry, similarity), limit);
+            }
+        });
+    }
+
+    private static void offer(PriorityQueue<Match> best, Match match, int limit) {
+        best.offer(match);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private void unlink(Entry entry) {
+        Long id = entry.patient().getId();
+        for (String token : entry.tokens()) {
+            detach(tokens, token, id);
+        }
+        for (String trigram : entry.trigrams()) {
+            detach(trigrams, trigram, id);
+        }
+    }
+
+    private static void detach(Map<String, Set<Long>> index, String key, Long id) {
+        Set<Long> posting = index.get(key);
+        if (posting != null && posting.remove(id) && posting.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase()).replaceAll(" ").trim();
+    }
+
+    private static String[] tokenize(String normalized) {
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    // Trigrams of each word padded with spaces, so short words and word starts still produce some
+    static Set<String> trigrams(String normalized) {
+        Set<String> result = new HashSet<>();
+        for (String word : tokenize(normalized)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,166 @@
+package com.clinic.patientservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.clinic.patientservice.config.ReplicaRoutingDataSource;
+import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.model.PatientImportResult;
+import com.clinic.patientservice.model.RejectedPatient;
+import com.clinic.patientservice.repository.PatientRepository;
+import com.clinic.patientservice.search.PatientNameIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Bulk patient transfer in NDJSON or CSV (with a header row). Imports are
+ * parsed one record at a time and inserted in JDBC batches of batch-size
+ * rows; exports are written row by row from a JDBC cursor. Neither holds
+ * more than one batch in memory. Each import batch commits on its own, so
+ * a file that fails part-way keeps the batches before the failure.
+ */
+@Service
+public class PatientTransferService {
+
+    private static final int MAX_LISTED_REJECTIONS = 100;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private static final CsvSchema CSV_COLUMNS = CsvSchema.builder()
+            .addNumberColumn("id")
+            .addColumn("name")
+            .addNumberColumn("age")
+            .addColumn("gender")
+            .addNumberColumn("version")
+            .build()
+            .withHeader();
+
+    private final PatientRepository repo;
+    private final PatientNameIndex nameIndex;
+    private final ObjectReader ndjsonReader;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectReader csvReader;
+    private final ObjectWriter csvWriter;
+    private final int batchSize;
+
+    public PatientTransferService(PatientRepository repo,
+                                  PatientNameIndex nameIndex,
+                                  ObjectMapper objectMapper,
+                                  @Value("${clinic.patients.import.batch-size:1000}") int batchSize) {
+        this.repo = repo;
+        this.nameIndex = nameIndex;
+        this.ndjsonReader = objectMapper.readerFor(Patient.class);
+        this.ndjsonWriter = objectMapper.writerFor(Patient.class).withRootValueSeparator("\n");
+        CsvMapper csvMapper = new CsvMapper();
+        this.csvReader = csvMapper.readerFor(Patient.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.csvWriter = csvMapper.writerFor(Patient.class).with(CSV_COLUMNS);
+        this.batchSize = batchSize;
+    }
+
+    public PatientImportResult importNdjson(InputStream in) throws IOException {
+        return importAll(ndjsonReader.readValues(in));
+    }
+
+    public PatientImportResult importCsv(InputStream in) throws IOException {
+        return importAll(csvReader.readValues(in));
+    }
+
+    public void exportNdjson(OutputStream out) throws IOException {
+        exportAll(ndjsonWriter, out);
+    }
+
+    public void exportCsv(OutputStream out) throws IOException {
+        exportAll(csvWriter, out);
+    }
+
+    private PatientImportResult importAll(MappingIterator<Patient> rows) throws IOException {
+        PatientImportResult result = new PatientImportResult();
+        List<Patient> batch = new ArrayList<>(batchSize);
+        try (rows) {
+            while (rows.hasNextValue()) {
+                try {
+                    Patient patient = rows.nextValue();
+                    String problem = validate(patient);
+                    if (problem != null) {
+                        reject(result, rows.getCurrentLocation().getLineNr(), problem);
+                        continue;
+                    }
+                    patient.setId(null);
+                    batch.add(patient);
+                } catch (JsonMappingException e) {
+                    // Well-formed record with unusable values; the iterator skips past it
+                    reject(result, rows.getCurrentLocation().getLineNr(), e.getOriginalMessage());
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    insert(batch, result);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Malformed input cannot be resynchronised; keep the rows before it
+            reject(result, e.getLocation() == null ? -1 : e.getLocation().getLineNr(), e.getOriginalMessage());
+        }
+        insert(batch, result);
+        return result;
+    }
+
+    private void insert(List<Patient> batch, PatientImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        repo.insertAll(batch).forEach(nameIndex::put);
+        result.setImported(result.getImported() + batch.size());
+        batch.clear();
+    }
+
+    private void exportAll(ObjectWriter writer, OutputStream out) throws IOException {
+        try (SequenceWriter sequence = writer.writeValues(out)) {
+            ReplicaRoutingDataSource.readFromReplica(() -> repo.streamAll(patient -> {
+                try {
+                    sequence.write(patient);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+
+    private static String validate(Patient patient) {
+        if (patient.getName() == null || patient.getName().isBlank()) {
+            return "name is required";
+        }
+        if (patient.getName().length() > MAX_TEXT_LENGTH) {
+            return "name is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (patient.getGender() != null && patient.getGender().length() > MAX_TEXT_LENGTH) {
+            return "gender is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (patient.getAge() < 0 || patient.getAge() > 150) {
+            return "age must be between 0 and 150";
+        }
+        return null;
+    }
+
+    private static void reject(PatientImportResult result, long line, String reason) {
+        result.setRejectedCount(result.getRejectedCount() + 1);
+        if (result.getRejected().size() < MAX_LISTED_REJECTIONS) {
+            result.getRejected().add(new RejectedPatient(line, reason));
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.clinic.patientservice.config;
+
+import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.event.PatientChangePublisher;
+import com.clinic.patientservice.model.PatientPatch;
+import com.clinic.patientservice.repository.PatientRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for EntityCacheConfig
+ * Tests that Patient reads are served from the second-level cache, that every
+ * write path evicts or refreshes the cached row and that the cache metrics exist
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:patient-cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Entity Cache Config Tests")
+class EntityCacheConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private PatientChangePublisher changePublisher;
+
+    private Statistics statistics;
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = new Patient();
+        patient.setName("John Doe");
+        patient.setAge(30);
+        patient.setGender("Male");
+        id = patientRepository.save(patient).getId();
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should serve a second findById from the cache without loading the row")
+    void testFindById_CacheHit() {
+        // When
+        patientRepository.findById(id);
+        patientRepository.findById(id);
+
+        // Then
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertTrue(cached());
+    }
+
+    @Test
+    @DisplayName("Should replace the cached patient on PUT")
+    void testUpdate_RefreshesCache() throws Exception {
+        // Given
+        patientRepository.findById(id);
+
+        // When
+        mockMvc.perform(put("/patients/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Jane Doe\",\"age\":31,\"gender\":\"Female\"}"))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        // Then
+        assertEquals("Jane Doe", patientRepository.findById(id).orElseThrow().getName());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should evict the cached patient on PATCH")
+    void testPatch_EvictsCache() throws Exception {
+        // Given
+        patientRepository.findById(id);
+
+        // When
+        mockMvc.perform(patch("/patients/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":31}"))
+                .andExpect(status().isNoContent());
+
+        // Then
+        assertFalse(cached());
+        Patient patient = patientRepository.findById(id).orElseThrow();
+        assertEquals(31, patient.getAge());
+        assertEquals(1, patient.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should evict only when the JDBC patch changes the row")
+    void testRepositoryPatch_Evicts() {
+        // Given
+        patientRepository.findById(id);
+        PatientPatch patch = new PatientPatch();
+        patch.setName("Jon Doe");
+
+        // When
+        int stale = patientRepository.patch(id, patch, 5L);
+        boolean cachedAfterStale = cached();
+        int updated = patientRepository.patch(id, patch, 0L);
+
+        // Then
+        assertEquals(0, stale);
+        assertTrue(cachedAfterStale);
+        assertEquals(1, updated);
+        assertFalse(cached());
+        assertEquals("Jon Doe", patientRepository.findById(id).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Should keep the cached patient until the patch commits")
+    void testRepositoryPatch_EvictsAfterCommit() {
+        // Given
+        patientRepository.findById(id);
+        PatientPatch patch = new PatientPatch();
+        patch.setName("Jon Doe");
+
+        // When
+        boolean cachedBeforeCommit = new TransactionTemplate(transactionManager).execute(status -> {
+            patientRepository.patch(id, patch, 0L);
+            return cached();
+        });
+
+        // Then
+        assertTrue(cachedBeforeCommit);
+        assertFalse(cached());
+    }
+
+    @Test
+    @DisplayName("Should register the cache metrics for the patients region")
+    void testMetrics() {
+        // When
+        patientRepository.findById(id);
+        patientRepository.findById(id);
+
+        // Then
+        FunctionCounter hits = meterRegistry.find("cache.gets")
+                .tag("cache", Patient.CACHE_REGION).tag("result", "hit").functionCounter();
+        assertNotNull(hits);
+        assertTrue(hits.count() >= 1);
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", Patient.CACHE_REGION).tag("result", "miss").functionCounter());
+        assertNotNull(meterRegistry.find("cache.puts").tag("cache", Patient.CACHE_REGION).functionCounter());
+        assertNotNull(meterRegistry.find("cache.removals").tag("cache", Patient.CACHE_REGION).gauge());
+    }
+
+    private boolean cached() {
+        return entityManagerFactory.getCache().contains(Patient.class, id);
+    }
+}
@@ -0,0 +1,128 @@
+package com.clinic.patientservice.controller;
+
+import com.clinic.patientservice.config.ReplicaRoutingDataSource;
+import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.event.PatientChangePublisher;
+import com.clinic.patientservice.repository.PatientRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for PatientController
+ * Tests that listings marked @ReplicaRead read from the replica, and that
+ * updating a patient the replica has not caught up with still succeeds,
+ * because the update reads the row from the primary
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:patient-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "clinic.datasource.replica.url=jdbc:h2:mem:patient-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "clinic.datasource.replica.lag-query=select 0 as seconds_behind_source",
+        "clinic.datasource.replica.lag-column=seconds_behind_source",
+        "clinic.datasource.replica.lag-check-interval=1h",
+        "spring.jpa.show-sql=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Patient Controller Replica Tests")
+class PatientControllerReplicaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @MockBean
+    private PatientChangePublisher changePublisher;
+
+    // The replica gets the primary's tables but none of the rows written after this point
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("drop all objects");
+        for (String statement : new JdbcTemplate(primary).queryForList("script nodata", String.class)) {
+            if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                replicaJdbc.execute(statement);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should list patients by id from the replica")
+    void testGetByIds_ReadsReplica() throws Exception {
+        // Given
+        new JdbcTemplate(replica).update(
+                "insert into patient (id, name, age, gender, version) values (?, ?, ?, ?, 0)",
+                1000L, "Replica Only", 40, "Female");
+
+        // When / Then
+        mockMvc.perform(get("/patients").param("ids", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Replica Only"));
+    }
+
+    @Test
+    @DisplayName("Should update a patient the replica does not have yet")
+    void testUpdate_BeforeReplicaCatchesUp() throws Exception {
+        // Given
+        Patient patient = new Patient();
+        patient.setName("John Doe");
+        patient.setAge(30);
+        patient.setGender("Male");
+        Long id = patientRepository.save(patient).getId();
+        // Reads must reach a database, not the second-level cache the save filled
+        entityManagerFactory.getCache().evictAll();
+        assertThat(onReplica(id)).isFalse();
+
+        // When / Then
+        mockMvc.perform(put("/patients/" + id)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Jane Doe\",\"age\":31,\"gender\":\"Female\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Jane Doe"));
+    }
+
+    private boolean onReplica(Long id) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return ReplicaRoutingDataSource.readFromReplica(
+                () -> readOnly.execute(status -> patientRepository.existsById(id)));
+    }
+}
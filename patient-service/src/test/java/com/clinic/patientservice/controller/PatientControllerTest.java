@@ -1,7 +1,13 @@
 package com.clinic.patientservice.controller;
 
 import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.event.PatientChangePublisher;
 import com.clinic.patientservice.repository.PatientRepository;
+import com.clinic.patientservice.model.PatientPatch;
+import com.clinic.patientservice.model.PatientSummary;
+import com.clinic.patientservice.model.PatientImportResult;
+import com.clinic.patientservice.search.PatientNameIndex;
+import com.clinic.patientservice.service.PatientTransferService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,14 +16,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +54,18 @@ class PatientControllerTest {
     @MockBean
     private PatientRepository patientRepository;
 
+    @MockBean
+    private PatientChangePublisher changePublisher;
+
+    @MockBean
+    private PatientNameIndex nameIndex;
+
+    @MockBean
+    private PatientTransferService transferService;
+
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -46,9 +75,16 @@ class PatientControllerTest {
     void setUp() {
         samplePatient = new Patient();
         samplePatient.setId(1L);
+        samplePatient.setVersion(3L);
         samplePatient.setName("John Doe");
         samplePatient.setAge(30);
         samplePatient.setGender("Male");
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
     }
 
     @Test
@@ -73,6 +109,7 @@ class PatientControllerTest {
                 .andExpect(jsonPath("$.gender").value("Male"));
 
         verify(patientRepository, times(1)).save(any(Patient.class));
+        verify(nameIndex, times(1)).put(samplePatient);
     }
 
     @Test
@@ -86,7 +123,7 @@ class PatientControllerTest {
         patient2.setGender("Female");
 
         List<Patient> patients = Arrays.asList(samplePatient, patient2);
-        when(patientRepository.findAll()).thenReturn(patients);
+        when(patientRepository.findAllSummaries()).thenReturn(summaries(patients));
 
         // When & Then
         mockMvc.perform(get("/patients")
@@ -98,14 +135,14 @@ class PatientControllerTest {
                 .andExpect(jsonPath("$[0].age").value(30))
                 .andExpect(jsonPath("$[1].age").value(28));
 
-        verify(patientRepository, times(1)).findAll();
+        verify(patientRepository, times(1)).findAllSummaries();
     }
 
     @Test
     @DisplayName("Should return empty list when no patients exist")
     void testGetAllPatients_EmptyList() throws Exception {
         // Given
-        when(patientRepository.findAll()).thenReturn(Arrays.asList());
+        when(patientRepository.findAllSummaries()).thenReturn(List.of());
 
         // When & Then
         mockMvc.perform(get("/patients")
@@ -113,7 +150,179 @@ class PatientControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(patientRepository, times(1)).findAll();
+        verify(patientRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should return only the requested patients when ids are given")
+    void testGetPatientsByIds() throws Exception {
+        // Given
+        Patient patient3 = new Patient();
+        patient3.setId(3L);
+        patient3.setName("Alice Brown");
+        patient3.setAge(45);
+        patient3.setGender("Female");
+
+        when(patientRepository.findSummariesByIdIn(List.of(1L, 3L)))
+                .thenReturn(summaries(Arrays.asList(samplePatient, patient3)));
+
+        // When & Then
+        mockMvc.perform(get("/patients")
+                        .param("ids", "1,3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(3));
+
+        verify(patientRepository, times(1)).findSummariesByIdIn(List.of(1L, 3L));
+        verify(patientRepository, never()).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should write only the requested fields")
+    void testGetAllPatients_SparseFields() throws Exception {
+        // Given
+        when(patientRepository.findAllSummaries()).thenReturn(summaries(List.of(samplePatient)));
+
+        // When & Then
+        mockMvc.perform(get("/patients")
+                        .param("fields", "id, name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("John Doe"))
+                .andExpect(jsonPath("$[0].age").doesNotExist())
+                .andExpect(jsonPath("$[0].gender").doesNotExist())
+                .andExpect(jsonPath("$[0].version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should accept every property of the patient list DTO")
+    void testGetAllPatients_AllFields() throws Exception {
+        // Given
+        when(patientRepository.findAllSummaries()).thenReturn(summaries(List.of(samplePatient)));
+
+        // When & Then
+        mockMvc.perform(get("/patients")
+                        .param("fields", "id,name,age,gender,version"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].age").value(30))
+                .andExpect(jsonPath("$[0].gender").value("Male"))
+                .andExpect(jsonPath("$[0].version").value(3));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown field")
+    void testGetAllPatients_UnknownField() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/patients")
+                        .param("fields", "id,ssn"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("'ssn'; expected any of [id, name, age, gender, version]")));
+
+        verify(patientRepository, never()).findAllSummaries();
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON patients through the transfer service")
+    void testImportNdjson() throws Exception {
+        // Given
+        PatientImportResult importResult = new PatientImportResult();
+        importResult.setImported(2);
+        when(transferService.importNdjson(any(InputStream.class))).thenReturn(importResult);
+
+        // When & Then
+        mockMvc.perform(post("/patients/import")
+                        .contentType(PatientController.NDJSON)
+                        .content("{\"name\":\"Ann\",\"age\":30}\n{\"name\":\"Bob\",\"age\":40}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejectedCount").value(0));
+
+        verify(transferService, times(1)).importNdjson(any(InputStream.class));
+        verify(transferService, never()).importCsv(any(InputStream.class));
+    }
+
+    @Test
+    @DisplayName("Should import CSV patients through the transfer service")
+    void testImportCsv() throws Exception {
+        // Given
+        when(transferService.importCsv(any(InputStream.class))).thenReturn(new PatientImportResult());
+
+        // When & Then
+        mockMvc.perform(post("/patients/import")
+                        .contentType(PatientController.CSV)
+                        .content("name,age,gender\nAnn,30,Female\n"))
+                .andExpect(status().isOk());
+
+        verify(transferService, times(1)).importCsv(any(InputStream.class));
+    }
+
+    @Test
+    @DisplayName("Should stream NDJSON export by default")
+    void testExport_Ndjson() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/patients/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", PatientController.NDJSON));
+        verify(transferService, times(1)).exportNdjson(any(OutputStream.class));
+        verify(patientRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should stream CSV export when CSV is accepted")
+    void testExport_Csv() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/patients/export")
+                        .accept(PatientController.CSV))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", PatientController.CSV));
+        verify(transferService, times(1)).exportCsv(any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("Should search patients by name through the index")
+    void testSearchPatients() throws Exception {
+        // Given
+        when(nameIndex.search("joh", 10)).thenReturn(List.of(samplePatient));
+
+        // When & Then
+        mockMvc.perform(get("/patients/search")
+                        .param("q", "joh")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("John Doe"));
+
+        verify(nameIndex, times(1)).search("joh", 10);
+        verify(patientRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should cap the search limit")
+    void testSearchPatients_LimitCapped() throws Exception {
+        // Given
+        when(nameIndex.search("doe", 50)).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/patients/search")
+                        .param("q", "doe")
+                        .param("limit", "1000")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        verify(nameIndex, times(1)).search("doe", 50);
     }
 
     @Test
@@ -134,6 +343,131 @@ class PatientControllerTest {
         verify(patientRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("Should return ETag with the patient version")
+    void testGetPatientById_ETag() throws Exception {
+        // Given
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(samplePatient));
+
+        // When & Then
+        mockMvc.perform(get("/patients/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    @DisplayName("Should return 304 from the version alone when ETag still matches")
+    void testGetPatientById_NotModified() throws Exception {
+        // Given
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(get("/patients/1")
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(patientRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should return 304 when If-None-Match is a weak tag for the version")
+    void testGetPatientById_WeakNotModified() throws Exception {
+        // Given
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(get("/patients/1")
+                        .header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @DisplayName("Should return 304 when If-None-Match is *")
+    void testGetPatientById_AnyNotModified() throws Exception {
+        // Given
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(get("/patients/1")
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @DisplayName("Should return full patient when ETag is stale")
+    void testGetPatientById_Modified() throws Exception {
+        // Given
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(samplePatient));
+
+        // When & Then
+        mockMvc.perform(get("/patients/1")
+                        .header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.name").value("John Doe"));
+    }
+
+    @Test
+    @DisplayName("Should update and return the new ETag when If-Match is *")
+    void testUpdatePatient_AnyIfMatch() throws Exception {
+        // Given
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(samplePatient));
+        when(patientRepository.save(any(Patient.class))).thenAnswer(invocation -> {
+            Patient saved = invocation.getArgument(0);
+            saved.setVersion(4L);
+            return saved;
+        });
+
+        // When & Then
+        mockMvc.perform(put("/patients/1")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(samplePatient)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    @DisplayName("Should reject update when If-Match is stale")
+    void testUpdatePatient_PreconditionFailed() throws Exception {
+        // Given
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(samplePatient));
+
+        // When & Then
+        mockMvc.perform(put("/patients/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(samplePatient)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(patientRepository, never()).save(any(Patient.class));
+        verify(changePublisher, never()).patientChanged(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should return 412 when a concurrent update wins")
+    void testUpdatePatient_ConcurrentUpdate() throws Exception {
+        // Given
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(samplePatient));
+        when(patientRepository.save(any(Patient.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Patient.class, 1L));
+
+        // When & Then
+        mockMvc.perform(put("/patients/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(samplePatient)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(changePublisher, never()).patientChanged(anyLong());
+    }
+
     @Test
     @DisplayName("Should throw exception when patient not found")
     void testGetPatientById_NotFound() throws Exception {
@@ -164,19 +498,25 @@ class PatientControllerTest {
         savedPatient.setGender("Male");
 
         when(patientRepository.findById(1L)).thenReturn(Optional.of(samplePatient));
+        savedPatient.setVersion(4L);
+
         when(patientRepository.save(any(Patient.class))).thenReturn(savedPatient);
 
         // When & Then
         mockMvc.perform(put("/patients/1")
+                        .header("If-Match", "\"3\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatedPatient)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
                 .andExpect(jsonPath("$.name").value("John Doe Updated"))
                 .andExpect(jsonPath("$.age").value(31))
                 .andExpect(jsonPath("$.gender").value("Male"));
 
         verify(patientRepository, times(1)).findById(1L);
         verify(patientRepository, times(1)).save(any(Patient.class));
+        verify(nameIndex, times(1)).put(savedPatient);
+        verify(changePublisher, times(1)).patientChanged(1L);
     }
 
     @Test
@@ -198,6 +538,147 @@ class PatientControllerTest {
 
         verify(patientRepository, times(1)).findById(999L);
         verify(patientRepository, never()).save(any(Patient.class));
+        verify(nameIndex, never()).put(any(Patient.class));
+        verify(changePublisher, never()).patientChanged(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should patch supplied fields with one update and index the row it wrote")
+    void testPatchPatient() throws Exception {
+        // Given
+        when(patientRepository.patch(eq(1L), any(PatientPatch.class), eq(3L))).thenReturn(1);
+        when(patientRepository.findSummaryById(1L)).thenReturn(Optional.of(patched()));
+
+        // When & Then
+        mockMvc.perform(patch("/patients/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":31}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(patientRepository, times(1)).patch(eq(1L), argThat(patch -> patch.getAge() == 31 && patch.getName() == null), eq(3L));
+        verify(patientRepository, never()).findById(anyLong());
+        verify(patientRepository, never()).save(any(Patient.class));
+        verify(nameIndex, times(1)).put(patched());
+        verify(changePublisher, times(1)).patientChanged(1L);
+    }
+
+    @Test
+    @DisplayName("Should patch without a version check when If-Match is absent")
+    void testPatchPatient_Unconditional() throws Exception {
+        // Given
+        when(patientRepository.patch(eq(1L), any(PatientPatch.class), isNull())).thenReturn(1);
+        when(patientRepository.findSummaryById(1L)).thenReturn(Optional.of(patched()));
+
+        // When & Then
+        mockMvc.perform(patch("/patients/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":31}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(changePublisher, times(1)).patientChanged(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject patch when If-Match is stale")
+    void testPatchPatient_PreconditionFailed() throws Exception {
+        // Given
+        when(patientRepository.patch(eq(1L), any(PatientPatch.class), eq(2L))).thenReturn(0);
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(patch("/patients/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":31}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(nameIndex, never()).put(any(PatientSummary.class));
+        verify(changePublisher, never()).patientChanged(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject patch when If-Match is a weak tag")
+    void testPatchPatient_WeakIfMatch() throws Exception {
+        // Given
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        // When & Then
+        mockMvc.perform(patch("/patients/1")
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":31}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(patientRepository, never()).patch(anyLong(), any(PatientPatch.class), any());
+    }
+
+    @Test
+    @DisplayName("Should patch the current version when an If-Match list names it")
+    void testPatchPatient_IfMatchList() throws Exception {
+        // Given
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(patientRepository.patch(eq(1L), any(PatientPatch.class), eq(3L))).thenReturn(1);
+        when(patientRepository.findSummaryById(1L)).thenReturn(Optional.of(patched()));
+
+        // When & Then
+        mockMvc.perform(patch("/patients/1")
+                        .header("If-Match", "\"2\", \"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":31}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(changePublisher, times(1)).patientChanged(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject patch when no tag in an If-Match list is current")
+    void testPatchPatient_StaleIfMatchList() throws Exception {
+        // Given
+        when(patientRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        // When & Then
+        mockMvc.perform(patch("/patients/1")
+                        .header("If-Match", "\"2\", \"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":31}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(patientRepository, never()).patch(anyLong(), any(PatientPatch.class), any());
+        verify(nameIndex, never()).put(any(PatientSummary.class));
+    }
+
+    @Test
+    @DisplayName("Should patch without a version check when If-Match is a list holding *")
+    void testPatchPatient_AnyIfMatch() throws Exception {
+        // Given
+        when(patientRepository.patch(eq(1L), any(PatientPatch.class), isNull())).thenReturn(1);
+        when(patientRepository.findSummaryById(1L)).thenReturn(Optional.of(patched()));
+
+        // When & Then
+        mockMvc.perform(patch("/patients/1")
+                        .header("If-Match", "\"2\", *")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":31}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        verify(patientRepository, never()).findVersionById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty patch")
+    void testPatchPatient_Empty() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/patients/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(patientRepository, never()).patch(anyLong(), any(PatientPatch.class), any());
     }
 
     @Test
@@ -212,6 +693,8 @@ class PatientControllerTest {
                 .andExpect(status().isOk());
 
         verify(patientRepository, times(1)).deleteById(1L);
+        verify(nameIndex, times(1)).remove(1L);
+        verify(changePublisher, times(1)).patientChanged(1L);
     }
 
     @Test
@@ -237,7 +720,7 @@ class PatientControllerTest {
         other.setGender("Other");
 
         List<Patient> patients = Arrays.asList(male, female, other);
-        when(patientRepository.findAll()).thenReturn(patients);
+        when(patientRepository.findAllSummaries()).thenReturn(summaries(patients));
 
         // When & Then
         mockMvc.perform(get("/patients")
@@ -248,7 +731,7 @@ class PatientControllerTest {
                 .andExpect(jsonPath("$[1].gender").value("Female"))
                 .andExpect(jsonPath("$[2].gender").value("Other"));
 
-        verify(patientRepository, times(1)).findAll();
+        verify(patientRepository, times(1)).findAllSummaries();
     }
 
     @Test
@@ -277,4 +760,15 @@ class PatientControllerTest {
 
         verify(patientRepository, times(1)).save(any(Patient.class));
     }
+
+    private static List<PatientSummary> summaries(List<Patient> patients) {
+        return patients.stream()
+                .map(patient -> new PatientSummary(patient.getId(), patient.getName(), patient.getAge(),
+                        patient.getGender(), patient.getVersion()))
+                .toList();
+    }
+
+    private static PatientSummary patched() {
+        return new PatientSummary(1L, "John Doe", 31, "Male", 4L);
+    }
 }
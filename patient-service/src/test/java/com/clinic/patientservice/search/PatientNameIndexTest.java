@@ -0,0 +1,282 @@
+package com.clinic.patientservice.search;
+
+import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.model.PatientSummary;
+import com.clinic.patientservice.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PatientNameIndex
+ * Tests prefix and fuzzy name lookup, ranking and index maintenance
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Patient Name Index Tests")
+class PatientNameIndexTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    private PatientNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PatientNameIndex(patientRepository);
+        index.put(patient(1L, "John Doe"));
+        index.put(patient(2L, "Johnny Smith"));
+        index.put(patient(3L, "Jane Johnson"));
+        index.put(patient(4L, "José Álvarez"));
+    }
+
+    @Test
+    @DisplayName("Should match name prefixes and rank exact words first")
+    void testSearch_Prefix() {
+        // When
+        List<Patient> results = index.search("john", 10);
+
+        // Then
+        assertThat(results).extracting(Patient::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should require every query word to match")
+    void testSearch_MultipleWords() {
+        // When
+        List<Patient> results = index.search("jo sm", 10);
+
+        // Then
+        assertThat(results).extracting(Patient::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should ignore case and accents")
+    void testSearch_Normalized() {
+        // When
+        List<Patient> results = index.search("JOSE alv", 10);
+
+        // Then
+        assertThat(results).extracting(Patient::getName).containsExactly("José Álvarez");
+    }
+
+    @Test
+    @DisplayName("Should fall back to fuzzy matches for typos")
+    void testSearch_Fuzzy() {
+        // When
+        List<Patient> results = index.search("smiht", 10);
+
+        // Then
+        assertThat(results).extracting(Patient::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should return at most limit results")
+    void testSearch_Limit() {
+        // When
+        List<Patient> results = index.search("j", 2);
+
+        // Then
+        assertThat(results).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should keep exact words when a prefix matches more names than are scored")
+    void testSearch_CappedCandidates() {
+        // Given
+        for (long id = 10; id < 2010; id++) {
+            index.put(patient(id, "Johnsonn " + id));
+        }
+
+        // When
+        List<Patient> results = index.search("john", 1);
+
+        // Then
+        assertThat(results).extracting(Patient::getId).containsExactly(1L);
+        assertThat(index.search("johnsonn 2009", 5)).extracting(Patient::getId).containsExactly(2009L);
+    }
+
+    @Test
+    @DisplayName("Should reflect renames and deletes")
+    void testPutAndRemove() {
+        // When
+        index.put(patient(1L, "Richard Roe"));
+        index.remove(2L);
+
+        // Then
+        assertThat(index.search("john", 10)).extracting(Patient::getId).containsExactly(3L);
+        assertThat(index.search("richard", 10)).extracting(Patient::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should replace the indexed copy with a row read back after a patch")
+    void testPut_Summary() {
+        // When
+        boolean changed = index.put(summary(1L, "Jon Dough", 1));
+
+        // Then
+        assertThat(changed).isTrue();
+        List<Patient> results = index.search("dough", 10);
+        assertThat(results).extracting(Patient::getId).containsExactly(1L);
+        assertThat(results.get(0).getAge()).isEqualTo(30);
+        assertThat(results.get(0).getVersion()).isEqualTo(1L);
+        assertThat(index.search("doe", 10)).extracting(Patient::getName).doesNotContain("John Doe");
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the patient table page by page")
+    void testRefresh_Startup() {
+        // Given
+        List<PatientSummary> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            firstPage.add(summary(id, "Patient " + id, 0));
+        }
+        when(patientRepository.findSummariesAfter(eq(0L), any(Limit.class))).thenReturn(firstPage);
+        when(patientRepository.findSummariesAfter(eq(5000L), any(Limit.class)))
+                .thenReturn(List.of(summary(5001L, "Zoe Last", 0)));
+        when(patientRepository.count()).thenReturn(5001L);
+        index = new PatientNameIndex(patientRepository);
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.search("zoe", 10)).extracting(Patient::getId).containsExactly(5001L);
+        assertThat(index.search("patient 4999", 10)).extracting(Patient::getId).containsExactly(4999L);
+    }
+
+    @Test
+    @DisplayName("Should pick up creates, renames and deletes made through other instances")
+    void testRefresh_OtherInstances() {
+        // Given
+        when(patientRepository.findSummariesAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                summary(1L, "Richard Roe", 1),
+                summary(3L, "Jane Johnson", 0),
+                summary(4L, "José Álvarez", 0),
+                summary(5L, "Johan Berg", 0)));
+        when(patientRepository.count()).thenReturn(4L);
+        when(patientRepository.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 3L, 4L, 5L));
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.search("joh", 10)).extracting(Patient::getId).containsExactly(5L, 3L);
+        assertThat(index.search("richard", 10)).extracting(Patient::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should read only rows updated since the last refresh once loaded")
+    void testRefresh_SinceWatermark() {
+        // Given
+        LocalDateTime loadedAt = LocalDateTime.of(2026, 10, 17, 9, 0);
+        when(patientRepository.findLastUpdate())
+                .thenReturn(Optional.of(loadedAt))
+                .thenReturn(Optional.of(loadedAt.plusSeconds(30)));
+        when(patientRepository.findSummariesAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                summary(1L, "John Doe", 0),
+                summary(2L, "Johnny Smith", 0),
+                summary(3L, "Jane Johnson", 0),
+                summary(4L, "José Álvarez", 0)));
+        when(patientRepository.findSummariesUpdatedSince(eq(loadedAt.minusMinutes(1)), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(summary(2L, "Johnny Walker", 1)));
+        when(patientRepository.count()).thenReturn(4L);
+        index.refresh();
+
+        // When
+        index.refresh();
+
+        // Then
+        verify(patientRepository, times(1)).findSummariesAfter(anyLong(), any(Limit.class));
+        verify(patientRepository, never()).findIdsAfter(anyLong(), any(Limit.class));
+        assertThat(index.search("walker", 10)).extracting(Patient::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should keep a newer copy when an older version arrives")
+    void testPut_StaleVersion() {
+        // Given
+        index.put(patient(1L, "Richard Roe", 2));
+        when(patientRepository.findSummariesAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                summary(1L, "John Doe", 1),
+                summary(2L, "Johnny Smith", 0),
+                summary(3L, "Jane Johnson", 0),
+                summary(4L, "José Álvarez", 0)));
+        when(patientRepository.count()).thenReturn(4L);
+
+        // When
+        index.put(patient(1L, "John Doe", 1));
+        index.refresh();
+
+        // Then
+        assertThat(index.search("richard", 10)).extracting(Patient::getVersion).containsExactly(2L);
+        assertThat(index.search("doe", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not bring back a patient deleted after the refresh read it")
+    void testRefresh_AfterRemove() {
+        // Given
+        index.remove(2L);
+        when(patientRepository.findSummariesAfter(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(summary(2L, "Johnny Smith", 0)));
+        when(patientRepository.count()).thenReturn(3L);
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.search("smith", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should forget a deleted id once a refresh finds the row gone")
+    void testRefresh_ForgetsDeleted() {
+        // Given
+        index.remove(2L);
+        when(patientRepository.count()).thenReturn(3L);
+        when(patientRepository.findExistingIds(any())).thenReturn(List.of());
+
+        // When
+        index.refresh();
+        index.put(patient(2L, "Johnny Smith"));
+
+        // Then
+        assertThat(index.search("smith", 10)).extracting(Patient::getId).containsExactly(2L);
+    }
+
+    private static Patient patient(Long id, String name) {
+        return patient(id, name, 0);
+    }
+
+    private static Patient patient(Long id, String name, long version) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setName(name);
+        patient.setAge(30);
+        patient.setGender("Male");
+        patient.setVersion(version);
+        return patient;
+    }
+
+    private static PatientSummary summary(Long id, String name, long version) {
+        return new PatientSummary(id, name, 30, "Male", version);
+    }
+}
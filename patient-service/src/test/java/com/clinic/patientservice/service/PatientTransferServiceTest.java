@@ -0,0 +1,186 @@
+package com.clinic.patientservice.service;
+
+import com.clinic.patientservice.entity.Patient;
+import com.clinic.patientservice.model.PatientImportResult;
+import com.clinic.patientservice.repository.PatientRepository;
+import com.clinic.patientservice.search.PatientNameIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PatientTransferService
+ * Tests streaming NDJSON and CSV import in batches, row rejection and export
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Patient Transfer Service Tests")
+class PatientTransferServiceTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PatientNameIndex nameIndex;
+
+    private PatientTransferService service;
+
+    private final List<List<String>> insertedBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new PatientTransferService(patientRepository, nameIndex, new ObjectMapper(), 2);
+    }
+
+    private void recordInserts() {
+        AtomicLong ids = new AtomicLong();
+        when(patientRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Patient> batch = invocation.getArgument(0);
+            insertedBatches.add(batch.stream().map(Patient::getName).toList());
+            batch.forEach(patient -> patient.setId(ids.incrementAndGet()));
+            return batch;
+        });
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON in batches of the configured size")
+    void testImportNdjson_Batches() throws Exception {
+        // Given
+        recordInserts();
+        String body = """
+                {"name":"Ann","age":30,"gender":"Female"}
+                {"name":"Bob","age":40,"gender":"Male"}
+                {"id":99,"name":"Cid","age":50,"gender":"Male"}
+                """;
+
+        // When
+        PatientImportResult result = service.importNdjson(stream(body));
+
+        // Then
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejectedCount()).isZero();
+        assertThat(insertedBatches).containsExactly(List.of("Ann", "Bob"), List.of("Cid"));
+        verify(nameIndex, times(3)).put(any(Patient.class));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rows by line and keep going")
+    void testImportNdjson_RejectsRows() throws Exception {
+        // Given
+        recordInserts();
+        String body = """
+                {"name":"Ann","age":30,"gender":"Female"}
+                {"name":"","age":40,"gender":"Male"}
+                {"name":"Bob","age":"old","gender":"Male"}
+                {"name":"Cid","age":200,"gender":"Male"}
+                {"name":"Dee","age":20,"gender":"Female"}
+                """;
+
+        // When
+        PatientImportResult result = service.importNdjson(stream(body));
+
+        // Then
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejectedCount()).isEqualTo(3);
+        assertThat(result.getRejected()).extracting("line").containsExactly(2L, 3L, 4L);
+        assertThat(insertedBatches).containsExactly(List.of("Ann", "Dee"));
+    }
+
+    @Test
+    @DisplayName("Should keep rows before malformed NDJSON and stop there")
+    void testImportNdjson_Malformed() throws Exception {
+        // Given
+        recordInserts();
+        String body = """
+                {"name":"Ann","age":30,"gender":"Female"}
+                {"name":"Bob", oops
+                {"name":"Cid","age":50,"gender":"Male"}
+                """;
+
+        // When
+        PatientImportResult result = service.importNdjson(stream(body));
+
+        // Then
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejectedCount()).isEqualTo(1);
+        assertThat(result.getRejected().get(0).getLine()).isEqualTo(2L);
+        assertThat(insertedBatches).containsExactly(List.of("Ann"));
+    }
+
+    @Test
+    @DisplayName("Should import CSV by header, ignoring unknown columns")
+    void testImportCsv() throws Exception {
+        // Given
+        recordInserts();
+        String body = """
+                name,age,gender,insurer
+                Ann,30,Female,Acme
+                "Doe, Jane",41,Female,Acme
+                ,20,Male,Acme
+                """;
+
+        // When
+        PatientImportResult result = service.importCsv(stream(body));
+
+        // Then
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejectedCount()).isEqualTo(1);
+        assertThat(insertedBatches).containsExactly(List.of("Ann", "Doe, Jane"));
+    }
+
+    @Test
+    @DisplayName("Should export every patient as NDJSON and CSV")
+    void testExport() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Patient> consumer = invocation.getArgument(0);
+            consumer.accept(patient(1L, "Ann", 30, "Female"));
+            consumer.accept(patient(2L, "Doe, Jane", 41, "Female"));
+            return null;
+        }).when(patientRepository).streamAll(any());
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        // When
+        service.exportNdjson(ndjson);
+        service.exportCsv(csv);
+
+        // Then
+        assertThat(ndjson.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":1,\"name\":\"Ann\",\"age\":30,\"gender\":\"Female\",\"version\":0}\n"
+                + "{\"id\":2,\"name\":\"Doe, Jane\",\"age\":41,\"gender\":\"Female\",\"version\":0}");
+        assertThat(csv.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,age,gender,version\n"
+                + "1,Ann,30,Female,0\n"
+                + "2,\"Doe, Jane\",41,Female,0\n");
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Patient patient(Long id, String name, int age, String gender) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setName(name);
+        patient.setAge(age);
+        patient.setGender(gender);
+        return patient;
+    }
+}